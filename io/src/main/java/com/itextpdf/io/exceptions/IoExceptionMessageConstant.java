@@ -44,12 +44,16 @@ public final class IoExceptionMessageConstant {
             "Bytes can be assigned to ByteArrayOutputStream only.";
     public static final String BYTES_CAN_BE_RESET_IN_BYTE_ARRAY_OUTPUT_STREAM_ONLY =
             "Bytes can be reset in ByteArrayOutputStream only.";
+    public static final String CACHE_LIMITS_SHALL_NOT_BE_NEGATIVE = "Cache limits shall not be negative.";
     public static final String CANNOT_FIND_FRAME = "Cannot find frame number {0} (zero-based)";
     public static final String CANNOT_GET_TIFF_IMAGE_COLOR = "Cannot get TIFF image color.";
     public static final String CANNOT_HANDLE_BOX_SIZES_HIGHER_THAN_2_32 = "Cannot handle box sizes higher than 2^32.";
     public static final String CANNOT_INFLATE_TIFF_IMAGE = "Cannot inflate TIFF image.";
     public static final String CANNOT_OPEN_OUTPUT_DIRECTORY = "Cannot open output directory for <filename>";
+    public static final String CANNOT_READ_DISCARDED_BYTES =
+            "Cannot read byte at position {0}, the bytes before position {1} have already been discarded.";
     public static final String CANNOT_READ_TIFF_IMAGE = "Cannot read TIFF image.";
+    public static final String CANNOT_SPILL_BYTES_TO_TEMPORARY_FILE = "Cannot spill bytes to temporary file.";
     public static final String CANNOT_WRITE_BYTE = "Cannot write byte.";
     public static final String CANNOT_WRITE_BYTES = "Cannot write bytes.";
     public static final String CANNOT_WRITE_FLOAT_NUMBER = "Cannot write float number.";
@@ -154,6 +158,7 @@ public final class IoExceptionMessageConstant {
     public static final String RECONSTRUCT_POINT_FAILED = "Reconstructing woff2 glyph's point exception";
     public static final String RECONSTRUCT_TABLE_DIRECTORY_FAILED = "Reconstructing woff2 table directory exception";
     public static final String SCANLINE_MUST_BEGIN_WITH_EOL_CODE_WORD = "Scanline must begin with EOL code word.";
+    public static final String STREAM_IS_TOO_LARGE_FOR_BYTE_ARRAY = "Stream of {0} bytes is too large to be represented as byte array.";
     public static final String TABLE_DOES_NOT_EXIST = "Table {0} does not exist.";
     public static final String TABLE_DOES_NOT_EXISTS_IN = "Table {0} does not exist in {1}";
     public static final String THIS_IMAGE_CAN_NOT_BE_AN_IMAGE_MASK = "This image can not be an image mask.";
@@ -157,10 +157,7 @@ public class CMapEncoding {
             array[offset++] = (byte)((cid & 0xff00) >> 8);
             array[offset++] = (byte)(cid & 0xff);
         } else {
-            byte[] bytes = cid2Code.lookup(cid);
-            for (int i = 0; i < bytes.length; i++) {
-                array[offset++] = bytes[i];
-            }
+            offset = cid2Code.fillCode(cid, array, offset);
         }
         return offset;
     }
@@ -170,8 +167,7 @@ public class CMapEncoding {
             buffer.append((byte)((cid & 0xff00) >> 8));
             buffer.append((byte)(cid & 0xff));
         } else {
-            byte[] bytes = cid2Code.lookup(cid);
-            buffer.append(bytes);
+            cid2Code.fillCode(cid, buffer);
         }
     }
 
@@ -179,7 +175,7 @@ public class CMapEncoding {
         if (isDirect) {
             return 2;
         } else {
-            return cid2Code.lookup(cid).length;
+            return cid2Code.getCodeLength(cid);
         }
     }
 
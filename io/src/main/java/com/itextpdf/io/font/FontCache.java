@@ -34,6 +34,7 @@ import com.itextpdf.io.font.cmap.CMapParser;
 import com.itextpdf.io.font.cmap.CMapUniCid;
 import com.itextpdf.io.font.constants.FontResources;
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.LruCache;
 import com.itextpdf.io.util.ResourceUtil;
 
 import java.io.InputStream;
@@ -44,7 +45,6 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class FontCache {
 
@@ -57,7 +57,14 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static final LruCache<FontCacheKey, FontProgram> fontCache = new LruCache<>();
+
+    /**
+     * The maximum number of parsed CMaps which are shared between the fonts and encodings.
+     */
+    private static final int MAX_CACHED_CMAPS = 64;
+
+    private static final LruCache<String, AbstractCMap> cmapCache = new LruCache<>(MAX_CACHED_CMAPS, Long.MAX_VALUE);
 
     static {
         try {
@@ -127,30 +134,40 @@ public class FontCache {
 
     /**
      * Parses CMap with a given name producing it in a form of cid to unicode mapping.
+     * <p>
+     * The parsed CMaps are cached and shared, so the returned object shall not be modified.
+     *
      * @param uniMap a CMap name. It is expected that CMap identified by this name defines unicode to cid mapping.
      * @return an object for convenient mapping from cid to unicode. If no CMap was found for provided name an exception is thrown.
      */
     public static CMapCidUni getCid2UniCmap(String uniMap) {
-        CMapCidUni cidUni = new CMapCidUni();
-        return parseCmap(uniMap, cidUni);
+        String key = getCmapKey(CMapCidUni.class, uniMap);
+        CMapCidUni cached = (CMapCidUni) cmapCache.get(key);
+        return cached != null ? cached : cacheCmap(key, parseCmap(uniMap, new CMapCidUni()));
     }
 
     public static CMapUniCid getUni2CidCmap(String uniMap) {
-        return parseCmap(uniMap, new CMapUniCid());
+        String key = getCmapKey(CMapUniCid.class, uniMap);
+        CMapUniCid cached = (CMapUniCid) cmapCache.get(key);
+        return cached != null ? cached : cacheCmap(key, parseCmap(uniMap, new CMapUniCid()));
     }
 
     public static CMapByteCid getByte2CidCmap(String cmap) {
-        CMapByteCid uniCid = new CMapByteCid();
-        return parseCmap(cmap, uniCid);
+        String key = getCmapKey(CMapByteCid.class, cmap);
+        CMapByteCid cached = (CMapByteCid) cmapCache.get(key);
+        return cached != null ? cached : cacheCmap(key, parseCmap(cmap, new CMapByteCid()));
     }
 
     public static CMapCidToCodepoint getCidToCodepointCmap(String cmap) {
-        CMapCidToCodepoint cidByte = new CMapCidToCodepoint();
-        return parseCmap(cmap, cidByte);
+        String key = getCmapKey(CMapCidToCodepoint.class, cmap);
+        CMapCidToCodepoint cached = (CMapCidToCodepoint) cmapCache.get(key);
+        return cached != null ? cached : cacheCmap(key, parseCmap(cmap, new CMapCidToCodepoint()));
     }
 
     public static CMapCodepointToCid getCodepointToCidCmap(String uniMap) {
-        return parseCmap(uniMap, new CMapCodepointToCid());
+        String key = getCmapKey(CMapCodepointToCid.class, uniMap);
+        CMapCodepointToCid cached = (CMapCodepointToCid) cmapCache.get(key);
+        return cached != null ? cached : cacheCmap(key, parseCmap(uniMap, new CMapCodepointToCid()));
     }
 
     /**
@@ -176,12 +193,83 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
+        return fontCache.putIfAbsent(key, font, getWeight(font, key), isPinned(font));
+    }
+
+    /**
+     * Sets the limits for the fonts saved via {@link #saveFont(FontProgram, String)}. When the limits are exceeded,
+     * the least recently used fonts are evicted. The standard Type 1 fonts and the predefined CID fonts are never
+     * evicted and are not taken into account by the limits. By default the number of saved fonts is not limited.
+     * <p>
+     * The size of a font is estimated by the length of the font program bytes, if it was created from bytes,
+     * or by the length of the font file, if it was loaded from a path.
+     *
+     * @param maxFontsCount the maximum number of saved fonts
+     * @param maxFontsSize  the maximum total size of saved fonts in bytes
+     */
+    public static void setSavedFontsLimits(int maxFontsCount, long maxFontsSize) {
+        fontCache.setLimits(maxFontsCount, maxFontsSize);
+    }
+
+    /**
+     * Gets the number of saved fonts, including the ones which are never evicted.
+     *
+     * @return the number of saved fonts
+     */
+    public static int getSavedFontsCount() {
+        return fontCache.size();
+    }
+
+    /**
+     * Gets the estimated total size in bytes of saved fonts which can be evicted.
+     *
+     * @return the estimated size of saved fonts
+     */
+    public static long getSavedFontsSize() {
+        return fontCache.getWeight();
+    }
+
+    /**
+     * Gets the number of font lookups which have found a saved font.
+     *
+     * @return the number of cache hits
+     */
+    public static long getSavedFontsHitCount() {
+        return fontCache.getHitCount();
+    }
+
+    /**
+     * Gets the number of font lookups which haven't found a saved font.
+     *
+     * @return the number of cache misses
+     */
+    public static long getSavedFontsMissCount() {
+        return fontCache.getMissCount();
+    }
+
+    /**
+     * Gets the number of saved fonts which have been evicted due to the limits.
+     *
+     * @return the number of evicted fonts
+     */
+    public static long getSavedFontsEvictionCount() {
+        return fontCache.getEvictionCount();
+    }
+
+    private static long getWeight(FontProgram font, FontCacheKey key) {
+        long length = key.getFontProgramLength();
+        if (length == 0) {
+            if (font instanceof TrueTypeFont) {
+                length = ((TrueTypeFont) font).getFontFileLength();
+            } else if (font instanceof Type1Font) {
+                length = ((Type1Font) font).getFontFileLength();
+            }
         }
-        fontCache.put(key, font);
-        return font;
+        return length;
+    }
+
+    private static boolean isPinned(FontProgram font) {
+        return font instanceof CidFont || font instanceof Type1Font && ((Type1Font) font).isBuiltInFont();
     }
 
     private static void loadRegistry() throws java.io.IOException {
@@ -244,6 +332,16 @@ public class FontCache {
         return h;
     }
 
+    private static String getCmapKey(Class<? extends AbstractCMap> cmapClass, String name) {
+        // different kinds of mappings are cached separately for the same CMap resource
+        return cmapClass.getSimpleName() + "/" + name;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends AbstractCMap> T cacheCmap(String key, T cmap) {
+        return (T) cmapCache.putIfAbsent(key, cmap, 1, false);
+    }
+
     private static <T extends AbstractCMap> T parseCmap(String name, T cmap) {
         try {
             CMapParser.parseCid(name, cmap, new CMapLocationResource());
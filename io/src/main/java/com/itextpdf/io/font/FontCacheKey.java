@@ -42,6 +42,15 @@ public abstract class FontCacheKey {
         return new FontCacheTtcKey(fontProgram, ttcIndex);
     }
 
+    /**
+     * Gets the length of the font program bytes the key was created from.
+     *
+     * @return the length of the font program bytes or zero if the key was created from the font name
+     */
+    int getFontProgramLength() {
+        return 0;
+    }
+
     private static class FontCacheStringKey extends FontCacheKey {
         private String fontName;
 
@@ -91,6 +100,11 @@ public abstract class FontCacheKey {
             return Arrays.equals(firstFontBytes, that.firstFontBytes);
         }
 
+        @Override
+        int getFontProgramLength() {
+            return fontLength;
+        }
+
         @Override
         public int hashCode() {
             return hashcode;
@@ -128,6 +142,11 @@ public abstract class FontCacheKey {
             return ttcKey.equals(that.ttcKey);
         }
 
+        @Override
+        int getFontProgramLength() {
+            return ttcKey.getFontProgramLength();
+        }
+
         @Override
         public int hashCode() {
             int result = ttcKey.hashCode();
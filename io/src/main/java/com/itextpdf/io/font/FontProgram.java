@@ -26,8 +26,8 @@ import com.itextpdf.io.font.constants.FontMacStyleFlags;
 import com.itextpdf.io.font.constants.FontStretches;
 import com.itextpdf.io.font.constants.FontWeights;
 import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.util.IntObjectHashMap;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public abstract class FontProgram {
@@ -56,8 +56,9 @@ public abstract class FontProgram {
 
     // In case Type1: char code to glyph.
     // In case TrueType: glyph index to glyph.
-    protected Map<Integer, Glyph> codeToGlyph = new HashMap<>();
-    protected Map<Integer, Glyph> unicodeToGlyph = new HashMap<>();
+    // The maps are IntObjectHashMap instances unless replaced by a subclass, so that lookups don't box the keys.
+    protected Map<Integer, Glyph> codeToGlyph = new IntObjectHashMap<>();
+    protected Map<Integer, Glyph> unicodeToGlyph = new IntObjectHashMap<>();
     protected boolean isFontSpecific;
 
     protected FontNames fontNames;
@@ -130,12 +131,12 @@ public abstract class FontProgram {
     }
 
     public Glyph getGlyph(int unicode) {
-        return unicodeToGlyph.get(unicode);
+        return getGlyph(unicodeToGlyph, unicode);
     }
 
     // char code in case Type1 or index in case OpenType
     public Glyph getGlyphByCode(int charCode) {
-        return codeToGlyph.get(charCode);
+        return getGlyph(codeToGlyph, charCode);
     }
 
     public boolean hasKernPairs() {
@@ -151,7 +152,7 @@ public abstract class FontProgram {
      * @return the kerning to be applied
      */
     public int getKerning(int first, int second) {
-        return getKerning(unicodeToGlyph.get(first), unicodeToGlyph.get(second));
+        return getKerning(getGlyph(unicodeToGlyph, first), getGlyph(unicodeToGlyph, second));
     }
 
     /**
@@ -312,7 +313,7 @@ public abstract class FontProgram {
     }
 
     protected void fixSpaceIssue() {
-        Glyph space = unicodeToGlyph.get(32);
+        Glyph space = getGlyph(unicodeToGlyph, 32);
         if (space != null) {
             codeToGlyph.put(space.getCode(), space);
         }
@@ -323,4 +324,19 @@ public abstract class FontProgram {
         String name = getFontNames().getFontName();
         return name != null && name.length() > 0 ? name : super.toString();
     }
+
+    /**
+     * Gets the glyph from the map without boxing the key, if the map is an {@link IntObjectHashMap}.
+     *
+     * @param glyphs the map of glyphs
+     * @param key    the unicode or the code of the glyph
+     *
+     * @return the glyph or {@code null} if there is no glyph for the key
+     */
+    static Glyph getGlyph(Map<Integer, Glyph> glyphs, int key) {
+        if (glyphs instanceof IntObjectHashMap) {
+            return ((IntObjectHashMap<Glyph>) glyphs).get(key);
+        }
+        return glyphs.get(key);
+    }
 }
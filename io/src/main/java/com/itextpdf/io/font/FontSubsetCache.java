@@ -0,0 +1,208 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.util.LruCache;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Cache of the subsets of a font program, which allows to reuse them in all the documents the font is embedded into.
+ * <p>
+ * A cached subset is reused for a set of glyphs if it contains all of them and isn't much larger than needed.
+ * If a few glyphs are missing in a cached subset, the subset is extended with them, i.e. a new subset
+ * containing the union of the glyphs replaces it, so that the glyph sets of similar documents converge to
+ * a common subset.
+ */
+final class FontSubsetCache {
+
+    /**
+     * The minimal number of glyphs which a subset may contain above the needed ones.
+     */
+    private static final int MIN_EXTRA_GLYPHS = 32;
+
+    /**
+     * The minimal number of new glyphs with which a cached subset may be extended.
+     */
+    private static final int MIN_NEW_GLYPHS = 16;
+
+    /**
+     * The bytes of the cached subsets by their glyphs, the subsets are weighed by their length.
+     */
+    private final LruCache<SubsetGlyphs, byte[]> subsets;
+
+    private long hitCount;
+    private long missCount;
+
+    FontSubsetCache(int maxSize) {
+        this.subsets = new LruCache<>(maxSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the cached subset which can be used for the glyphs.
+     *
+     * @param glyphs the glyphs which shall be in the subset
+     * @param subset whether the font tables which aren't needed for a subset shall be removed
+     * @return the bytes of the subset font program or {@code null} if there is no suitable subset
+     */
+    synchronized byte[] get(Set<Integer> glyphs, boolean subset) {
+        SubsetGlyphs found = null;
+        for (SubsetGlyphs cachedSubset : subsets.getKeys()) {
+            if (cachedSubset.subset == subset && countMissingGlyphs(cachedSubset, glyphs) == 0
+                    && countExtraGlyphs(cachedSubset, glyphs) <= getMaxExtraGlyphs(glyphs)
+                    && (found == null || cachedSubset.glyphsCount < found.glyphsCount)) {
+                found = cachedSubset;
+            }
+        }
+        // the lookup marks the found subset as the most recently used one
+        byte[] bytes = found == null ? null : subsets.get(found);
+        if (bytes == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the glyphs the subset shall be created for, when there is no suitable cached subset.
+     * These are either the specified glyphs or their union with the glyphs of a cached subset which
+     * misses only a few of them.
+     *
+     * @param glyphs the glyphs which shall be in the subset
+     * @param subset whether the font tables which aren't needed for a subset shall be removed
+     * @return the glyphs to create the subset for
+     */
+    synchronized Set<Integer> getGlyphsToSubset(Set<Integer> glyphs, boolean subset) {
+        SubsetGlyphs extended = null;
+        int extendedMissingGlyphs = 0;
+        for (SubsetGlyphs cachedSubset : subsets.getKeys()) {
+            if (cachedSubset.subset != subset) {
+                continue;
+            }
+            int missingGlyphs = countMissingGlyphs(cachedSubset, glyphs);
+            if (missingGlyphs <= Math.max(MIN_NEW_GLYPHS, cachedSubset.glyphsCount / 8)
+                    && cachedSubset.glyphsCount + missingGlyphs - glyphs.size() <= getMaxExtraGlyphs(glyphs)
+                    && (extended == null || missingGlyphs < extendedMissingGlyphs)) {
+                extended = cachedSubset;
+                extendedMissingGlyphs = missingGlyphs;
+            }
+        }
+        if (extended == null) {
+            return glyphs;
+        }
+        Set<Integer> union = new TreeSet<>(glyphs);
+        for (int glyph = extended.glyphs.nextSetBit(0); glyph >= 0; glyph = extended.glyphs.nextSetBit(glyph + 1)) {
+            union.add(glyph);
+        }
+        return union;
+    }
+
+    /**
+     * Adds the subset to the cache. The cached subsets which contain only some of its glyphs are replaced by it.
+     *
+     * @param glyphs the glyphs of the subset
+     * @param subset whether the font tables which aren't needed for a subset were removed
+     * @param bytes  the bytes of the subset font program
+     */
+    synchronized void put(Set<Integer> glyphs, boolean subset, byte[] bytes) {
+        SubsetGlyphs added = new SubsetGlyphs(glyphs, subset);
+        for (SubsetGlyphs cachedSubset : subsets.getKeys()) {
+            if (cachedSubset.subset == subset && countMissingGlyphs(added, cachedSubset.glyphs) == 0) {
+                subsets.remove(cachedSubset);
+            }
+        }
+        subsets.putIfAbsent(added, bytes, bytes.length, false);
+    }
+
+    synchronized int size() {
+        return subsets.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private static int getMaxExtraGlyphs(Set<Integer> glyphs) {
+        return Math.max(MIN_EXTRA_GLYPHS, glyphs.size());
+    }
+
+    private static int countMissingGlyphs(SubsetGlyphs cachedSubset, Set<Integer> glyphs) {
+        int missing = 0;
+        for (int glyph : glyphs) {
+            if (glyph < 0 || !cachedSubset.glyphs.get(glyph)) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+
+    private static int countMissingGlyphs(SubsetGlyphs cachedSubset, BitSet glyphs) {
+        BitSet missing = (BitSet) glyphs.clone();
+        missing.andNot(cachedSubset.glyphs);
+        return missing.cardinality();
+    }
+
+    private static int countExtraGlyphs(SubsetGlyphs cachedSubset, Set<Integer> glyphs) {
+        // all the glyphs are in the cached subset
+        return cachedSubset.glyphsCount - glyphs.size();
+    }
+
+    private static final class SubsetGlyphs {
+        private final BitSet glyphs;
+        private final int glyphsCount;
+        private final boolean subset;
+
+        SubsetGlyphs(Set<Integer> glyphs, boolean subset) {
+            this.glyphs = new BitSet();
+            for (int glyph : glyphs) {
+                this.glyphs.set(glyph);
+            }
+            this.glyphsCount = this.glyphs.cardinality();
+            this.subset = subset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SubsetGlyphs that = (SubsetGlyphs) o;
+            return subset == that.subset && glyphs.equals(that.glyphs);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * glyphs.hashCode() + (subset ? 1 : 0);
+        }
+    }
+}
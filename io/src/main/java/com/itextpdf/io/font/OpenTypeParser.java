@@ -28,6 +28,7 @@ import com.itextpdf.io.font.constants.FontStretches;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.IntObjectHashMap;
 
 import java.io.Closeable;
 import java.io.File;
@@ -502,28 +503,39 @@ class OpenTypeParser implements Closeable {
      * @throws java.io.IOException the font file could not be read
      */
     protected IntHashtable readKerning(int unitsPerEm) throws java.io.IOException {
+        return readKerning(unitsPerEm, raf);
+    }
+
+    /**
+     * Reads the kerning information from the 'kern' table using the specified view of the font file.
+     *
+     * @param unitsPerEm {@link HeaderTable#unitsPerEm}.
+     * @param source the view of the font file to read the table from
+     * @throws java.io.IOException the font file could not be read
+     */
+    IntHashtable readKerning(int unitsPerEm, RandomAccessFileOrArray source) throws java.io.IOException {
         int table_location[];
         table_location = tables.get("kern");
         IntHashtable kerning = new IntHashtable();
         if (table_location == null) {
             return kerning;
         }
-        raf.seek(table_location[0] + 2);
-        int nTables = raf.readUnsignedShort();
+        source.seek(table_location[0] + 2);
+        int nTables = source.readUnsignedShort();
         int checkpoint = table_location[0] + 4;
         int length = 0;
         for (int k = 0; k < nTables; k++) {
             checkpoint += length;
-            raf.seek(checkpoint);
-            raf.skipBytes(2);
-            length = raf.readUnsignedShort();
-            int coverage = raf.readUnsignedShort();
+            source.seek(checkpoint);
+            source.skipBytes(2);
+            length = source.readUnsignedShort();
+            int coverage = source.readUnsignedShort();
             if ((coverage & 0xfff7) == 0x0001) {
-                int nPairs = raf.readUnsignedShort();
-                raf.skipBytes(6);
+                int nPairs = source.readUnsignedShort();
+                source.skipBytes(6);
                 for (int j = 0; j < nPairs; ++j) {
-                    int pair = raf.readInt();
-                    final int value = FontProgram.convertGlyphSpaceToTextSpace(raf.readShort()) / unitsPerEm;
+                    int pair = source.readInt();
+                    final int value = FontProgram.convertGlyphSpaceToTextSpace(source.readShort()) / unitsPerEm;
                     kerning.put(pair, value);
                 }
             }
@@ -932,7 +944,7 @@ class OpenTypeParser implements Closeable {
      * @throws java.io.IOException the font file could not be read
      */
     private Map<Integer, int[]> readFormat0() throws java.io.IOException {
-        Map<Integer, int[]> h = new LinkedHashMap<>();
+        IntObjectHashMap<int[]> h = new IntObjectHashMap<>();
         raf.skipBytes(4);
         for (int k = 0; k < 256; ++k) {
             int[] r = new int[2];
@@ -951,7 +963,7 @@ class OpenTypeParser implements Closeable {
      * @throws java.io.IOException the font file could not be read
      */
     private Map<Integer, int[]> readFormat4(boolean fontSpecific) throws java.io.IOException {
-        Map<Integer, int[]> h = new LinkedHashMap<>();
+        IntObjectHashMap<int[]> h = new IntObjectHashMap<>();
         int table_lenght = raf.readUnsignedShort();
         raf.skipBytes(2);
         int segCount = raf.readUnsignedShort() / 2;
@@ -1013,7 +1025,7 @@ class OpenTypeParser implements Closeable {
      * @throws java.io.IOException the font file could not be read
      */
     private Map<Integer, int[]> readFormat6() throws java.io.IOException {
-        Map<Integer, int[]> h = new LinkedHashMap<>();
+        IntObjectHashMap<int[]> h = new IntObjectHashMap<>();
         raf.skipBytes(4);
         int start_code = raf.readUnsignedShort();
         int code_count = raf.readUnsignedShort();
@@ -1027,7 +1039,7 @@ class OpenTypeParser implements Closeable {
     }
 
     private Map<Integer, int[]> readFormat12() throws java.io.IOException {
-        Map<Integer, int[]> h = new LinkedHashMap<>();
+        IntObjectHashMap<int[]> h = new IntObjectHashMap<>();
         raf.skipBytes(2);
         @SuppressWarnings("unused")
         int table_length = raf.readInt();
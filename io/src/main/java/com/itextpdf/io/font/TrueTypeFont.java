@@ -32,9 +32,9 @@ import com.itextpdf.io.font.otf.GlyphSubstitutionTableReader;
 import com.itextpdf.io.font.otf.OpenTypeGdefTableReader;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.IntObjectHashMap;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -68,6 +68,24 @@ public class TrueTypeFont extends FontProgram {
 
     private byte[] fontStreamBytes;
 
+    /**
+     * Whether the table 'kern' has been read. It is read on the first access to the kerning.
+     */
+    private volatile boolean kerningRead;
+
+    /**
+     * Whether the tables 'GDEF', 'GSUB' and 'GPOS' have been read. They are read on the first access to any of them.
+     */
+    private volatile boolean layoutTablesRead;
+
+    /**
+     * The lock which is held while the font file is read after the font has been created. The sources of the font
+     * file, e.g. the memory-mapped ones, don't support concurrent reads, even via independent views.
+     */
+    private final Object fontFileLock = new Object();
+
+    private volatile FontSubsetCache subsetCache;
+
     private TrueTypeFont(OpenTypeParser fontParser) throws java.io.IOException {
         this.fontParser = fontParser;
         this.fontParser.loadTables(true);
@@ -76,6 +94,8 @@ public class TrueTypeFont extends FontProgram {
 
     protected TrueTypeFont() {
         fontNames = new FontNames();
+        kerningRead = true;
+        layoutTablesRead = true;
     }
 
     public TrueTypeFont(String path) throws java.io.IOException {
@@ -96,6 +116,7 @@ public class TrueTypeFont extends FontProgram {
 
     @Override
     public boolean hasKernPairs() {
+        ensureKerningRead();
         return kerning.size() > 0;
     }
 
@@ -111,6 +132,7 @@ public class TrueTypeFont extends FontProgram {
         if (first == null || second == null) {
             return 0;
         }
+        ensureKerningRead();
         return kerning.get((first.getCode() << 16) + second.getCode());
     }
 
@@ -134,19 +156,21 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public byte[] getFontStreamBytes() {
-        if (fontStreamBytes != null)
-            return fontStreamBytes;
-        try {
-            if (fontParser.isCff()) {
-                fontStreamBytes = fontParser.readCffFont();
-            } else {
-                fontStreamBytes = fontParser.getFullFont();
+        synchronized (fontFileLock) {
+            if (fontStreamBytes != null)
+                return fontStreamBytes;
+            try {
+                if (fontParser.isCff()) {
+                    fontStreamBytes = fontParser.readCffFont();
+                } else {
+                    fontStreamBytes = fontParser.getFullFont();
+                }
+            } catch (java.io.IOException e) {
+                fontStreamBytes = null;
+                throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
             }
-        } catch (java.io.IOException e) {
-            fontStreamBytes = null;
-            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+            return fontStreamBytes;
         }
-        return fontStreamBytes;
     }
 
     @Override
@@ -176,23 +200,50 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public GlyphSubstitutionTableReader getGsubTable() {
+        ensureLayoutTablesRead();
         return gsubTable;
     }
 
     public GlyphPositioningTableReader getGposTable() {
+        ensureLayoutTablesRead();
         return gposTable;
     }
 
     public OpenTypeGdefTableReader getGdefTable() {
+        ensureLayoutTablesRead();
         return gdefTable;
     }
 
     public byte[] getSubset(Set<Integer> glyphs, boolean subset) {
-        try {
-            return fontParser.getSubset(glyphs, subset);
-        } catch (java.io.IOException e) {
-            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
-        }
+        return getCachedSubset(glyphs, subset);
+    }
+
+    /**
+     * Creates a subset of the CFF font program, which contains the glyphs with the specified CIDs.
+     * This call is only meaningful for fonts that return true for {@link #isCff()}.
+     *
+     * @param glyphs a set of glyph CIDs
+     *
+     * @return the bytes of the subset CFF font program
+     */
+    public byte[] getCffSubset(Set<Integer> glyphs) {
+        return getCachedSubset(glyphs, true);
+    }
+
+    /**
+     * Sets the maximum number of subsets of this font program which are cached and reused for
+     * {@link #getSubset(Set, boolean)} and {@link #getCffSubset(Set)} calls. As font programs are shared between
+     * the documents via {@link FontCache}, this allows to avoid subsetting the font again for each document
+     * which uses similar glyphs.
+     * <p>
+     * A cached subset is used if it contains all the requested glyphs and isn't much larger than needed.
+     * A cached subset which misses a few of the requested glyphs is replaced by the subset containing
+     * the glyphs of both. The subsets are not cached by default.
+     *
+     * @param maxSize the maximum number of cached subsets, zero disables the caching
+     */
+    public void setSubsetCacheMaxSize(int maxSize) {
+        subsetCache = maxSize > 0 ? new FontSubsetCache(maxSize) : null;
     }
 
     /**
@@ -221,9 +272,9 @@ public class TrueTypeFont extends FontProgram {
     protected void readGdefTable() throws java.io.IOException {
         int[] gdef = fontParser.tables.get("GDEF");
         if (gdef != null) {
-            gdefTable = new OpenTypeGdefTableReader(fontParser.raf, gdef[0]);
+            gdefTable = new OpenTypeGdefTableReader(fontParser.raf.createView(), gdef[0]);
         } else {
-            gdefTable = new OpenTypeGdefTableReader(fontParser.raf, 0);
+            gdefTable = new OpenTypeGdefTableReader(fontParser.raf.createView(), 0);
         }
         gdefTable.readTable();
     }
@@ -231,14 +282,14 @@ public class TrueTypeFont extends FontProgram {
     protected void readGsubTable() throws java.io.IOException {
         int[] gsub = fontParser.tables.get("GSUB");
         if (gsub != null) {
-            gsubTable = new GlyphSubstitutionTableReader(fontParser.raf, gsub[0], gdefTable, codeToGlyph, fontMetrics.getUnitsPerEm());
+            gsubTable = new GlyphSubstitutionTableReader(fontParser.raf.createView(), gsub[0], gdefTable, codeToGlyph, fontMetrics.getUnitsPerEm());
         }
     }
 
     protected void readGposTable() throws java.io.IOException {
         int[] gpos = fontParser.tables.get("GPOS");
         if (gpos != null) {
-            gposTable = new GlyphPositioningTableReader(fontParser.raf, gpos[0], gdefTable, codeToGlyph,  fontMetrics.getUnitsPerEm());
+            gposTable = new GlyphPositioningTableReader(fontParser.raf.createView(), gpos[0], gdefTable, codeToGlyph,  fontMetrics.getUnitsPerEm());
         }
     }
 
@@ -249,7 +300,6 @@ public class TrueTypeFont extends FontProgram {
         OpenTypeParser.WindowsMetrics os_2 = fontParser.getOs_2Table();
         OpenTypeParser.PostTable post = fontParser.getPostTable();
         isFontSpecific = fontParser.getCmapTable().fontSpecific;
-        kerning = fontParser.readKerning(head.unitsPerEm);
         bBoxes = fontParser.readBbox(head.unitsPerEm);
 
         // font names group
@@ -300,15 +350,19 @@ public class TrueTypeFont extends FontProgram {
         Map<Integer, int[]> cmap = getActiveCmap();
         int[] glyphWidths = fontParser.getGlyphWidthsByIndex();
         int numOfGlyphs = fontMetrics.getNumberOfGlyphs();
-        unicodeToGlyph = new LinkedHashMap<>(cmap.size());
-        codeToGlyph = new LinkedHashMap<>(numOfGlyphs);
+        IntObjectHashMap<Glyph> unicodeGlyphs = new IntObjectHashMap<>(cmap.size());
+        IntObjectHashMap<Glyph> codeGlyphs = new IntObjectHashMap<>(numOfGlyphs);
+        this.unicodeToGlyph = unicodeGlyphs;
+        this.codeToGlyph = codeGlyphs;
         avgWidth = 0;
         CFFFontSubset cffFontSubset = null;
         if (isCff()) {
-            cffFontSubset = new CFFFontSubset(getFontStreamBytes());
+            // the font stream bytes are not kept, they are only needed if the font gets embedded
+            cffFontSubset = new CFFFontSubset(fontStreamBytes != null ? fontStreamBytes : fontParser.readCffFont());
         }
-        for (int charCode : cmap.keySet()) {
-            int index = cmap.get(charCode)[0];
+        for (Map.Entry<Integer, int[]> cmapEntry : cmap.entrySet()) {
+            int charCode = (int) cmapEntry.getKey();
+            int index = cmapEntry.getValue()[0];
             if (index >= numOfGlyphs) {
                 Logger LOGGER = LoggerFactory.getLogger(TrueTypeFont.class);
                 LOGGER.warn(MessageFormatUtil.format(IoLogMessageConstant.FONT_HAS_INVALID_GLYPH,
@@ -328,32 +382,28 @@ public class TrueTypeFont extends FontProgram {
                 glyph = new Glyph(cid, glyphWidths[index], charCode, glyphBBox);
             }
 
-            unicodeToGlyph.put(charCode, glyph);
+            unicodeGlyphs.put(charCode, glyph);
             // This is done on purpose to keep the mapping to glyphs with smaller unicode values, in contrast with
             // larger values which often represent different forms of other characters.
-            if (!codeToGlyph.containsKey(cid)) {
-                codeToGlyph.put(cid, glyph);
+            if (!codeGlyphs.containsKey(cid)) {
+                codeGlyphs.put(cid, glyph);
             }
             avgWidth += glyph.getWidth();
         }
         fixSpaceIssue();
         for (int index = 0; index < glyphWidths.length; index++) {
-            if (codeToGlyph.containsKey(index)) {
+            if (codeGlyphs.containsKey(index)) {
                 continue;
             }
             Glyph glyph = new Glyph(index, glyphWidths[index], -1);
-            codeToGlyph.put(index, glyph);
+            codeGlyphs.put(index, glyph);
             avgWidth += glyph.getWidth();
         }
 
-        if (codeToGlyph.size() != 0) {
-            avgWidth /= codeToGlyph.size();
+        if (codeGlyphs.size() != 0) {
+            avgWidth /= codeGlyphs.size();
         }
 
-        readGdefTable();
-        readGsubTable();
-        readGposTable();
-
         isVertical = false;
     }
 
@@ -387,11 +437,32 @@ public class TrueTypeFont extends FontProgram {
         return Objects.equals(fontParser.fileName, fontProgram);
     }
 
+    /**
+     * Closes the font file. The kerning and the layout tables which haven't been accessed yet are read
+     * before that, so they stay available after the font file is closed.
+     *
+     * @throws java.io.IOException if the font file cannot be closed
+     */
     public void close() throws java.io.IOException {
-        if (fontParser != null) {
-            fontParser.close();
+        synchronized (fontFileLock) {
+            if (fontParser != null) {
+                ensureKerningRead();
+                ensureLayoutTablesRead();
+                fontParser.close();
+            }
+            fontParser = null;
+        }
+    }
+
+    /**
+     * Gets the length of the font file or of the font program bytes which the font was parsed from.
+     *
+     * @return the length in bytes, or 0 if the font file has already been closed
+     */
+    long getFontFileLength() {
+        synchronized (fontFileLock) {
+            return fontParser == null ? 0 : fontParser.raf.length();
         }
-        fontParser = null;
     }
 
     /**
@@ -458,4 +529,65 @@ public class TrueTypeFont extends FontProgram {
         }
         return s;
     }
+
+    private void ensureKerningRead() {
+        if (!kerningRead) {
+            synchronized (fontFileLock) {
+                if (!kerningRead) {
+                    try {
+                        kerning = fontParser.readKerning(fontParser.getHeadTable().unitsPerEm,
+                                fontParser.raf.createView());
+                    } catch (java.io.IOException e) {
+                        throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+                    }
+                    kerningRead = true;
+                }
+            }
+        }
+    }
+
+    private void ensureLayoutTablesRead() {
+        if (!layoutTablesRead) {
+            synchronized (fontFileLock) {
+                if (!layoutTablesRead) {
+                    try {
+                        readGdefTable();
+                        readGsubTable();
+                        readGposTable();
+                    } catch (java.io.IOException e) {
+                        throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+                    }
+                    layoutTablesRead = true;
+                }
+            }
+        }
+    }
+
+    private byte[] getCachedSubset(Set<Integer> glyphs, boolean subset) {
+        FontSubsetCache cache = subsetCache;
+        try {
+            if (cache == null) {
+                return createSubset(glyphs, subset);
+            }
+            byte[] cached = cache.get(glyphs, subset);
+            if (cached != null) {
+                return cached;
+            }
+            Set<Integer> subsetGlyphs = cache.getGlyphsToSubset(glyphs, subset);
+            byte[] bytes = createSubset(subsetGlyphs, subset);
+            cache.put(subsetGlyphs, subset, bytes);
+            return bytes;
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+    }
+
+    private byte[] createSubset(Set<Integer> glyphs, boolean subset) throws java.io.IOException {
+        if (isCff()) {
+            return new CFFFontSubset(getFontStreamBytes(), mapGlyphsCidsToGids(glyphs)).Process();
+        }
+        synchronized (fontFileLock) {
+            return fontParser.getSubset(glyphs, subset);
+        }
+    }
 }
@@ -221,6 +221,15 @@ public class Type1Font extends FontProgram {
         return Objects.equals(fontParser.getAfmPath(), fontProgram);
     }
 
+    /**
+     * Gets the total length of the font metrics and the font program which the font was parsed from.
+     *
+     * @return the length in bytes, or 0 for the standard Type 1 fonts
+     */
+    long getFontFileLength() {
+        return fontParser == null ? 0 : fontParser.getFontFileLength();
+    }
+
     protected void process() throws java.io.IOException {
         RandomAccessFileOrArray raf = fontParser.getMetricsFile();
         String line;
@@ -32,6 +32,7 @@ import com.itextpdf.io.util.ResourceUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
+import java.io.File;
 import java.io.InputStream;
 
 class Type1Parser {
@@ -137,6 +138,24 @@ class Type1Parser {
         return afmPath;
     }
 
+    /**
+     * Gets the total length of the font metrics and the font program data or files.
+     *
+     * @return the length in bytes, or 0 for the standard Type 1 fonts
+     */
+    public long getFontFileLength() {
+        if (isBuiltInFont) {
+            return 0;
+        }
+        long length = afmData != null ? afmData.length : getFileLength(afmPath);
+        if (pfbData != null) {
+            length += pfbData.length;
+        } else if (pfbPath != null) {
+            length += getFileLength(pfbPath);
+        }
+        return length;
+    }
+
     private boolean isAfmFile(RandomAccessFileOrArray raf) throws java.io.IOException {
         StringBuilder builder = new StringBuilder(AFM_HEADER.length());
         for (int i = 0; i < AFM_HEADER.length(); i++) {
@@ -150,4 +169,8 @@ class Type1Parser {
         raf.seek(0);
         return AFM_HEADER.equals(builder.toString());
     }
+
+    private static long getFileLength(String path) {
+        return path == null ? 0 : new File(path).length();
+    }
 }
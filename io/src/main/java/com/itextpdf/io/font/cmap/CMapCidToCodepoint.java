@@ -22,9 +22,11 @@
  */
 package com.itextpdf.io.font.cmap;
 
+import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.util.IntHashtable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,12 +45,61 @@ public class CMapCidToCodepoint extends AbstractCMap {
         }
     }
 
+    /**
+     * Gets the code which is mapped to the CID. As the parsed CMaps are shared, a copy of the code is returned.
+     *
+     * @param cid the CID
+     * @return the bytes of the code or an empty array if the CID is not mapped
+     */
     public byte[] lookup(int cid) {
         byte[] ser = map.get(cid);
         if (ser == null) {
             return EMPTY;
         } else {
-            return ser;
+            return ser.clone();
+        }
+    }
+
+    /**
+     * Gets the length of the code which is mapped to the CID.
+     *
+     * @param cid the CID
+     * @return the number of bytes of the code or 0 if the CID is not mapped
+     */
+    public int getCodeLength(int cid) {
+        byte[] ser = map.get(cid);
+        return ser == null ? 0 : ser.length;
+    }
+
+    /**
+     * Copies the code which is mapped to the CID to the array. Unlike {@link #lookup(int)}, no intermediate
+     * copy of the code is created.
+     *
+     * @param cid    the CID
+     * @param array  the array to copy the code to
+     * @param offset the position in the array to copy the code to
+     * @return the position in the array after the copied code
+     */
+    public int fillCode(int cid, byte[] array, int offset) {
+        byte[] ser = map.get(cid);
+        if (ser == null) {
+            return offset;
+        }
+        System.arraycopy(ser, 0, array, offset, ser.length);
+        return offset + ser.length;
+    }
+
+    /**
+     * Appends the code which is mapped to the CID to the buffer. Unlike {@link #lookup(int)}, no intermediate
+     * copy of the code is created.
+     *
+     * @param cid    the CID
+     * @param buffer the buffer to append the code to
+     */
+    public void fillCode(int cid, ByteBuffer buffer) {
+        byte[] ser = map.get(cid);
+        if (ser != null) {
+            buffer.append(ser);
         }
     }
 
@@ -69,11 +120,17 @@ public class CMapCidToCodepoint extends AbstractCMap {
     /**
      * Returns a list containing sequential pairs of code space beginning and endings:
      * (begincodespacerange1, endcodespacerange1, begincodespacerange2, endcodespacerange1, ...)
+     * <p>
+     * As the parsed CMaps are shared, an unmodifiable list of the copies of the ranges is returned.
      *
      * @return list of {@code byte[]} that contain code space ranges
      */
     public List<byte[]> getCodeSpaceRanges() {
-        return codeSpaceRanges;
+        List<byte[]> ranges = new ArrayList<>(codeSpaceRanges.size());
+        for (byte[] range : codeSpaceRanges) {
+            ranges.add(range == null ? null : range.clone());
+        }
+        return Collections.unmodifiableList(ranges);
     }
 
     @Override
@@ -23,6 +23,7 @@
 package com.itextpdf.io.font.otf;
 
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.IntObjectHashMap;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 
 import java.util.ArrayList;
@@ -58,6 +59,9 @@ public abstract class OpenTypeFontTableReader {
 	}
 
     public Glyph getGlyph(int index) {
+        if (indexGlyphMap instanceof IntObjectHashMap) {
+            return ((IntObjectHashMap<Glyph>) indexGlyphMap).get(index);
+        }
         return indexGlyphMap.get(index);
     }
 
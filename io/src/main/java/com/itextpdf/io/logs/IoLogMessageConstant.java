@@ -430,6 +430,8 @@ public final class IoLogMessageConstant {
                     + "this means that element was added to the Canvas instance that was created not with constructor "
                     + "taking PdfPage as argument. Not processed property: {0}";
 
+    public static final String UNABLE_TO_DELETE_TEMPORARY_FILE = "Unable to delete temporary file {0}.";
+
     public static final String UNABLE_TO_INVERT_GRADIENT_TRANSFORMATION = "Unable to invert gradient transformation, "
             + "ignoring it";
 
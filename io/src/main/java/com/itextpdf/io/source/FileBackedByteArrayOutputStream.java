@@ -0,0 +1,239 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.logs.IoLogMessageConstant;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ByteArrayOutputStream} which keeps its content on heap until it exceeds the given threshold.
+ * After that the content is moved to a temporary file, while a heap buffer of at most
+ * {@link #SPILLED_BUFFER_SIZE} bytes is used to batch the subsequent writes.
+ * The temporary file is opened only while it is written or read, so spilled streams do not hold
+ * file descriptors. The file is deleted when the stream is closed or reset, so the stream shall be closed
+ * once its content is not needed anymore.
+ */
+public class FileBackedByteArrayOutputStream extends ByteArrayOutputStream {
+
+    /**
+     * The maximum size of the heap buffer which batches the writes once the content has been spilled.
+     */
+    public static final int SPILLED_BUFFER_SIZE = 64 * 1024;
+
+    private final int inMemoryThreshold;
+    private final File directory;
+    private File tempFile;
+    private long spilledBytes;
+
+    /**
+     * Creates a new {@link FileBackedByteArrayOutputStream} instance.
+     *
+     * @param inMemoryThreshold the maximum number of bytes which are kept on heap
+     * @param directory the directory for the temporary file, if {@code null} the default temporary directory is used
+     */
+    public FileBackedByteArrayOutputStream(int inMemoryThreshold, File directory) {
+        super(Math.min(inMemoryThreshold, 32));
+        this.inMemoryThreshold = Math.max(inMemoryThreshold, 1);
+        this.directory = directory;
+    }
+
+    /**
+     * Checks whether the content of the stream has been moved to the temporary file.
+     *
+     * @return true if the content is backed by a file, false otherwise
+     */
+    public synchronized boolean isSpilled() {
+        return tempFile != null;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (count + 1 > getBufferLimit()) {
+            spillBuffer();
+        }
+        super.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        if (count + len <= getBufferLimit()) {
+            super.write(b, off, len);
+            return;
+        }
+        spillBuffer();
+        if (len >= getBufferLimit()) {
+            writeToFile(ByteBuffer.wrap(b, off, len));
+        } else {
+            super.write(b, off, len);
+        }
+    }
+
+    @Override
+    public synchronized void writeTo(java.io.OutputStream out) throws java.io.IOException {
+        if (tempFile != null) {
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < spilledBytes) {
+                    position += channel.transferTo(position, spilledBytes - position, Channels.newChannel(out));
+                }
+            }
+        }
+        out.write(buf, 0, count);
+    }
+
+    @Override
+    public synchronized byte[] toByteArray() {
+        if (tempFile == null) {
+            return super.toByteArray();
+        }
+        byte[] bytes = new byte[size()];
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, (int) spilledBytes);
+            long position = 0;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.CANNOT_SPILL_BYTES_TO_TEMPORARY_FILE, e);
+        }
+        System.arraycopy(buf, 0, bytes, (int) spilledBytes, count);
+        return bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if the content is larger than {@link Integer#MAX_VALUE} bytes,
+     * use {@link #getSize()} for such streams
+     */
+    @Override
+    public synchronized int size() {
+        long size = getSize();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(MessageFormatUtil.format(
+                    IoExceptionMessageConstant.STREAM_IS_TOO_LARGE_FOR_BYTE_ARRAY, size));
+        }
+        return (int) size;
+    }
+
+    /**
+     * Gets the number of bytes written to the stream, including the spilled ones.
+     *
+     * @return the size of the content in bytes
+     */
+    public synchronized long getSize() {
+        return spilledBytes + count;
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        deleteTempFile();
+    }
+
+    @Override
+    public synchronized ByteArrayOutputStream assignBytes(byte[] bytes, int count) {
+        reset();
+        if (count > inMemoryThreshold) {
+            write(bytes, 0, count);
+            return this;
+        }
+        return super.assignBytes(bytes, count);
+    }
+
+    @Override
+    public synchronized ByteArrayOutputStream assignBytes(byte[] bytes) {
+        return assignBytes(bytes, bytes.length);
+    }
+
+    /**
+     * Closes the stream and deletes the temporary file if it has been created.
+     */
+    @Override
+    public synchronized void close() {
+        deleteTempFile();
+        count = 0;
+    }
+
+    private int getBufferLimit() {
+        return tempFile == null ? inMemoryThreshold : Math.min(inMemoryThreshold, SPILLED_BUFFER_SIZE);
+    }
+
+    private void spillBuffer() {
+        if (tempFile == null) {
+            try {
+                tempFile = File.createTempFile("itext-stream", ".tmp", directory);
+            } catch (java.io.IOException e) {
+                throw new IOException(IoExceptionMessageConstant.CANNOT_SPILL_BYTES_TO_TEMPORARY_FILE, e);
+            }
+        }
+        if (count > 0) {
+            writeToFile(ByteBuffer.wrap(buf, 0, count));
+            count = 0;
+        }
+        if (buf.length > getBufferLimit()) {
+            // the content is on disk now, so the large heap buffer is not needed anymore
+            buf = new byte[getBufferLimit()];
+        }
+    }
+
+    private void writeToFile(ByteBuffer buffer) {
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                spilledBytes += channel.write(buffer, spilledBytes);
+            }
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.CANNOT_SPILL_BYTES_TO_TEMPORARY_FILE, e);
+        }
+    }
+
+    private void deleteTempFile() {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile.toPath());
+        } catch (java.io.IOException e) {
+            Logger logger = LoggerFactory.getLogger(FileBackedByteArrayOutputStream.class);
+            logger.error(MessageFormatUtil.format(IoLogMessageConstant.UNABLE_TO_DELETE_TEMPORARY_FILE, tempFile), e);
+        } finally {
+            tempFile = null;
+            spilledBytes = 0;
+        }
+    }
+}
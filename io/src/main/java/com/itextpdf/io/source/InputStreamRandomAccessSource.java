@@ -0,0 +1,167 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.io.InputStream;
+
+/**
+ * A {@link IRandomAccessSource} which reads an {@link InputStream} sequentially, without reading
+ * it fully into memory. Only a limited number of bytes preceding the furthest read position is retained,
+ * so the source supports going back only within that window, which is enough for the look-ahead done by
+ * {@link PdfTokenizer}. Reading the bytes which have already been discarded results in an exception.
+ */
+public class InputStreamRandomAccessSource implements IRandomAccessSource {
+
+    /**
+     * The default number of already read bytes which are retained for going back.
+     */
+    public static final int DEFAULT_RETAINED_BYTES = 1 << 20;
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final InputStream inputStream;
+
+    private final int retainedBytes;
+
+    private byte[] buffer;
+
+    /**
+     * Position in the input stream of the first byte in {@link #buffer}.
+     */
+    private long bufferStart;
+
+    private int bufferLength;
+
+    private boolean endReached;
+
+    /**
+     * Creates a new {@link InputStreamRandomAccessSource} which retains {@link #DEFAULT_RETAINED_BYTES} bytes.
+     *
+     * @param inputStream the stream to read
+     */
+    public InputStreamRandomAccessSource(InputStream inputStream) {
+        this(inputStream, DEFAULT_RETAINED_BYTES);
+    }
+
+    /**
+     * Creates a new {@link InputStreamRandomAccessSource}.
+     *
+     * @param inputStream the stream to read
+     * @param retainedBytes the number of already read bytes which are retained for going back
+     */
+    public InputStreamRandomAccessSource(InputStream inputStream, int retainedBytes) {
+        this.inputStream = inputStream;
+        this.retainedBytes = Math.max(retainedBytes, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(long position) throws java.io.IOException {
+        if (!ensureAvailable(position)) {
+            return -1;
+        }
+        return buffer[(int) (position - bufferStart)] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable(position)) {
+            return -1;
+        }
+        int offsetInBuffer = (int) (position - bufferStart);
+        int count = Math.min(len, bufferLength - offsetInBuffer);
+        System.arraycopy(buffer, offsetInBuffer, bytes, off, count);
+        return count;
+    }
+
+    /**
+     * Gets the length of the source. As the length of the stream is not known in advance, this is the number
+     * of bytes read so far if the end of the stream has been reached, and {@link Long#MAX_VALUE} otherwise.
+     *
+     * @return the length of the source
+     */
+    @Override
+    public long length() {
+        return endReached ? bufferStart + bufferLength : Long.MAX_VALUE;
+    }
+
+    /**
+     * Closes the underlying stream.
+     */
+    @Override
+    public void close() throws java.io.IOException {
+        buffer = null;
+        inputStream.close();
+    }
+
+    private boolean ensureAvailable(long position) throws java.io.IOException {
+        if (position < bufferStart) {
+            throw new java.io.IOException(MessageFormatUtil.format(
+                    IoExceptionMessageConstant.CANNOT_READ_DISCARDED_BYTES, position, bufferStart));
+        }
+        while (position >= bufferStart + bufferLength) {
+            if (endReached || !readMore(position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean readMore(long position) throws java.io.IOException {
+        if (buffer == null) {
+            buffer = new byte[INITIAL_BUFFER_SIZE];
+        }
+        if (bufferLength == buffer.length) {
+            // drop the bytes which are not retained anymore, but only when it frees enough space,
+            // otherwise grow the buffer, so that the bytes are not moved on every read
+            long discard = Math.min(position - retainedBytes - bufferStart, bufferLength);
+            if (discard >= bufferLength / 2) {
+                System.arraycopy(buffer, (int) discard, buffer, 0, bufferLength - (int) discard);
+                bufferStart += discard;
+                bufferLength -= (int) discard;
+            } else {
+                byte[] newBuffer = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, newBuffer, 0, bufferLength);
+                buffer = newBuffer;
+            }
+        }
+        int count = inputStream.read(buffer, bufferLength, buffer.length - bufferLength);
+        if (count < 0) {
+            endReached = true;
+            return false;
+        }
+        bufferLength += count;
+        return true;
+    }
+}
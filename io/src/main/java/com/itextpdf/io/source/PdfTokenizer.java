@@ -32,6 +32,13 @@ import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Tokenizer of PDF syntax.
+ * <p>
+ * The tokenizer reads the underlying {@link RandomAccessFileOrArray} in blocks, so the position of the passed
+ * file is not in sync with the position of the tokenizer, and the content of the file shall not be changed while
+ * the tokenizer is in use. The only exception is {@link #checkObjectStart(PdfTokenizer)}, which re-reads the file.
+ */
 public class PdfTokenizer implements Closeable {
 
 
@@ -98,7 +105,19 @@ public class PdfTokenizer implements Closeable {
     protected boolean hexString;
     protected ByteBuffer outBuf;
 
+    private static final int READ_BUFFER_SIZE = 4096;
+
     private final RandomAccessFileOrArray file;
+    private byte[] readBuffer;
+    // position of the first byte of the read buffer in the file
+    private long readBufferStart;
+    private int readBufferLength;
+    private int readBufferPosition;
+    private boolean isBack;
+    private byte back;
+    // buffers which keep the numbers while nextValidToken() looks for a reference
+    private ByteBuffer firstNumber;
+    private ByteBuffer secondNumber;
     /**
      * Streams are closed automatically.
      */
@@ -114,18 +133,45 @@ public class PdfTokenizer implements Closeable {
     public PdfTokenizer(RandomAccessFileOrArray file) {
         this.file = file;
         this.outBuf = new ByteBuffer();
+        this.readBufferStart = file.getPosition();
     }
 
     public void seek(long pos) {
-        file.seek(pos);
+        isBack = false;
+        if (pos >= readBufferStart && pos <= readBufferStart + readBufferLength) {
+            readBufferPosition = (int) (pos - readBufferStart);
+        } else {
+            readBufferStart = pos;
+            readBufferLength = 0;
+            readBufferPosition = 0;
+        }
     }
 
     public void readFully(byte[] bytes) throws java.io.IOException {
-        file.readFully(bytes);
+        int offset = 0;
+        if (isBack && bytes.length > 0) {
+            isBack = false;
+            bytes[offset++] = back;
+        }
+        int buffered = Math.min(readBufferLength - readBufferPosition, bytes.length - offset);
+        if (buffered > 0) {
+            System.arraycopy(readBuffer, readBufferPosition, bytes, offset, buffered);
+            readBufferPosition += buffered;
+            offset += buffered;
+        }
+        if (offset < bytes.length) {
+            long position = readBufferStart + readBufferPosition;
+            readBufferStart = position;
+            readBufferLength = 0;
+            readBufferPosition = 0;
+            file.seek(position);
+            file.readFully(bytes, offset, bytes.length - offset);
+            readBufferStart = position + bytes.length - offset;
+        }
     }
 
     public long getPosition() {
-        return file.getPosition();
+        return readBufferStart + readBufferPosition - (isBack ? 1 : 0);
     }
 
     public void close() throws java.io.IOException {
@@ -138,7 +184,14 @@ public class PdfTokenizer implements Closeable {
     }
 
     public int read() throws java.io.IOException {
-        return file.read();
+        if (isBack) {
+            isBack = false;
+            return back & 0xff;
+        }
+        if (readBufferPosition >= readBufferLength && !fillReadBuffer()) {
+            return -1;
+        }
+        return readBuffer[readBufferPosition++] & 0xff;
     }
 
     public String readString(int size) throws java.io.IOException {
@@ -192,8 +245,15 @@ public class PdfTokenizer implements Closeable {
     }
 
     public void backOnePosition(int ch) {
-        if (ch != -1)
-            file.pushBack((byte) ch);
+        if (ch == -1) {
+            return;
+        }
+        if (!isBack && readBufferPosition > 0 && readBuffer[readBufferPosition - 1] == (byte) ch) {
+            readBufferPosition--;
+        } else {
+            isBack = true;
+            back = (byte) ch;
+        }
     }
 
     public int getHeaderOffset() throws java.io.IOException {
@@ -209,7 +269,7 @@ public class PdfTokenizer implements Closeable {
     }
 
     public String checkPdfHeader() throws java.io.IOException {
-        file.seek(0);
+        seek(0);
         String str = readString(1024);
         int idx = str.indexOf("%PDF-");
         if (idx != 0)
@@ -218,7 +278,7 @@ public class PdfTokenizer implements Closeable {
     }
 
     public void checkFdfHeader() throws java.io.IOException {
-        file.seek(0);
+        seek(0);
         String str = readString(1024);
         int idx = str.indexOf("%FDF-");
         if (idx != 0)
@@ -231,7 +291,7 @@ public class PdfTokenizer implements Closeable {
         long pos = fileLength - arrLength;
         if (pos < 1) pos = 1;
         while (pos > 0) {
-            file.seek(pos);
+            seek(pos);
             String str = readString(arrLength);
             int idx = str.lastIndexOf("startxref");
             if (idx >= 0) return pos + idx;
@@ -243,9 +303,11 @@ public class PdfTokenizer implements Closeable {
 
     public void nextValidToken() throws java.io.IOException {
         int level = 0;
-        byte[] n1 = null;
-        byte[] n2 = null;
         long ptr = 0;
+        if (firstNumber == null) {
+            firstNumber = new ByteBuffer(16);
+            secondNumber = new ByteBuffer(16);
+        }
         while (nextToken()) {
             if (type == TokenType.Comment)
                 continue;
@@ -253,51 +315,49 @@ public class PdfTokenizer implements Closeable {
                 case 0: {
                     if (type != TokenType.Number)
                         return;
-                    ptr = file.getPosition();
-                    n1 = getByteContent();
+                    ptr = getPosition();
+                    firstNumber = swapOutBuf(firstNumber);
                     ++level;
                     break;
                 }
                 case 1: {
                     if (type != TokenType.Number) {
-                        file.seek(ptr);
+                        seek(ptr);
                         type = TokenType.Number;
-                        outBuf.reset().append(n1);
+                        firstNumber = swapOutBuf(firstNumber);
                         return;
                     }
-                    n2 = getByteContent();
+                    secondNumber = swapOutBuf(secondNumber);
                     ++level;
                     break;
                 }
                 case 2: {
                     if (type == TokenType.Other) {
                         if (tokenValueEqualsTo(R)) {
-                            assert n2 != null;
                             type = TokenType.Ref;
                             try {
-                                reference = Integer.parseInt(new String(n1));
-                                generation = Integer.parseInt(new String(n2));
+                                reference = parseIntValue(firstNumber);
+                                generation = parseIntValue(secondNumber);
                             } catch (Exception ex) {
                                 //warn about incorrect reference number
                                 //Exception: NumberFormatException for java, FormatException or OverflowException for .NET
                                 Logger logger = LoggerFactory.getLogger(PdfTokenizer.class);
                                 logger.error(MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE,
-                                        new String(n1), new String(n2)));
+                                        new String(firstNumber.toByteArray()), new String(secondNumber.toByteArray())));
                                 reference = -1;
                                 generation = 0;
                             }
                             return;
                         } else if (tokenValueEqualsTo(Obj)) {
-                            assert n2 != null;
                             type = TokenType.Obj;
-                            reference = Integer.parseInt(new String(n1));
-                            generation = Integer.parseInt(new String(n2));
+                            reference = parseIntValue(firstNumber);
+                            generation = parseIntValue(secondNumber);
                             return;
                         }
                     }
-                    file.seek(ptr);
+                    seek(ptr);
                     type = TokenType.Number;
-                    outBuf.reset().append(n1);
+                    firstNumber = swapOutBuf(firstNumber);
                     return;
                 }
             }
@@ -307,7 +367,7 @@ public class PdfTokenizer implements Closeable {
         // then we are still looking at a number - set the type back to Number
         if (level == 1) {
             type = TokenType.Number;
-            outBuf.reset().append(n1);
+            firstNumber = swapOutBuf(firstNumber);
         }
 
         // if we hit here, the file is either corrupt (stream ended unexpectedly),
@@ -319,7 +379,7 @@ public class PdfTokenizer implements Closeable {
         int ch;
         outBuf.reset();
         do {
-            ch = file.read();
+            ch = read();
         } while (ch != -1 && isWhitespace(ch));
         if (ch == -1) {
             type = TokenType.EndOfFile;
@@ -337,7 +397,7 @@ public class PdfTokenizer implements Closeable {
             case '/': {
                 type = TokenType.Name;
                 while (true) {
-                    ch = file.read();
+                    ch = read();
                     if (delims[ch + 1])
                         break;
                     outBuf.append(ch);
@@ -346,14 +406,14 @@ public class PdfTokenizer implements Closeable {
                 break;
             }
             case '>': {
-                ch = file.read();
+                ch = read();
                 if (ch != '>')
                     throwError(IoExceptionMessageConstant.GT_NOT_EXPECTED);
                 type = TokenType.EndDic;
                 break;
             }
             case '<': {
-                int v1 = file.read();
+                int v1 = read();
                 if (v1 == '<') {
                     type = TokenType.StartDic;
                     break;
@@ -363,16 +423,16 @@ public class PdfTokenizer implements Closeable {
                 int v2 = 0;
                 while (true) {
                     while (isWhitespace(v1))
-                        v1 = file.read();
+                        v1 = read();
                     if (v1 == '>')
                         break;
                     outBuf.append(v1);
                     v1 = ByteBuffer.getHex(v1);
                     if (v1 < 0)
                         break;
-                    v2 = file.read();
+                    v2 = read();
                     while (isWhitespace(v2))
-                        v2 = file.read();
+                        v2 = read();
                     if (v2 == '>') {
                         break;
                     }
@@ -380,7 +440,7 @@ public class PdfTokenizer implements Closeable {
                     v2 = ByteBuffer.getHex(v2);
                     if (v2 < 0)
                         break;
-                    v1 = file.read();
+                    v1 = read();
                 }
                 if (v1 < 0 || v2 < 0)
                     throwError(IoExceptionMessageConstant.ERROR_READING_STRING);
@@ -389,7 +449,7 @@ public class PdfTokenizer implements Closeable {
             case '%': {
                 type = TokenType.Comment;
                 do {
-                    ch = file.read();
+                    ch = read();
                 } while (ch != -1 && ch != '\r' && ch != '\n');
                 break;
             }
@@ -398,7 +458,7 @@ public class PdfTokenizer implements Closeable {
                 hexString = false;
                 int nesting = 0;
                 while (true) {
-                    ch = file.read();
+                    ch = read();
                     if (ch == -1)
                         break;
                     if (ch == '(') {
@@ -409,7 +469,7 @@ public class PdfTokenizer implements Closeable {
                             break;
                     } else if (ch == '\\') {
                         outBuf.append('\\');
-                        ch = file.read();
+                        ch = read();
                         if (ch < 0)
                             break;
                     }
@@ -428,37 +488,37 @@ public class PdfTokenizer implements Closeable {
                         // Take care of number like "--234". If Acrobat can read them so must we.
                         do {
                             ++numberOfMinuses;
-                            ch = file.read();
+                            ch = read();
                         } while (ch == '-');
                         outBuf.append('-');
                     } else {
                         outBuf.append(ch);
                         // We don't need to check if the number is real over here
                         // as we need to know that fact only in case if there are any minuses.
-                        ch = file.read();
+                        ch = read();
                     }
                     while (ch >= '0' && ch <= '9') {
                         outBuf.append(ch);
-                        ch = file.read();
+                        ch = read();
                     }
 
                     if ( ch == '.'){
                         isReal = true;
                         outBuf.append(ch);
-                        ch = file.read();
+                        ch = read();
 
                         //verify if there is minus after '.'
                         //In that case just ignore minus chars and everything after as Adobe Reader does
                         int numberOfMinusesAfterDot = 0;
                         if (ch == '-') {
                             numberOfMinusesAfterDot++;
-                            ch = file.read();
+                            ch = read();
                         }
                         while (ch >= '0' && ch <= '9') {
                             if (numberOfMinusesAfterDot == 0) {
                                 outBuf.append(ch);
                             }
-                            ch = file.read();
+                            ch = read();
                         }
                     }
 
@@ -472,7 +532,7 @@ public class PdfTokenizer implements Closeable {
                     type = TokenType.Other;
                     do {
                         outBuf.append(ch);
-                        ch = file.read();
+                        ch = read();
                     } while (!delims[ch + 1]);
                 }
                 if (ch != -1)
@@ -484,11 +544,12 @@ public class PdfTokenizer implements Closeable {
     }
 
     public long getLongValue() {
-        return Long.parseLong(getStringValue());
+        long value = parseDecimalDigits(outBuf, 18);
+        return value != Long.MIN_VALUE ? value : Long.parseLong(getStringValue());
     }
 
     public int getIntValue() {
-        return Integer.parseInt(getStringValue());
+        return parseIntValue(outBuf);
     }
 
     public boolean isHexString() {
@@ -663,7 +724,7 @@ public class PdfTokenizer implements Closeable {
      */
     public void throwError(String error, Object... messageParams) {
         throw new IOException(IoExceptionMessageConstant.ERROR_AT_FILE_POINTER, new IOException(error).setMessageParams(messageParams))
-                .setMessageParams(file.getPosition());
+                .setMessageParams(getPosition());
     }
 
     /**
@@ -779,6 +840,8 @@ public class PdfTokenizer implements Closeable {
      */
     public static int[] checkObjectStart(PdfTokenizer lineTokenizer) {
         try {
+            // the line tokenizer is usually built over a reusable buffer, so the buffered bytes shall be dropped
+            lineTokenizer.readBufferLength = 0;
             lineTokenizer.seek(0);
             if (!lineTokenizer.nextToken() || lineTokenizer.getTokenType() != TokenType.Number)
                 return null;
@@ -796,4 +859,63 @@ public class PdfTokenizer implements Closeable {
         }
         return null;
     }
+
+    private boolean fillReadBuffer() throws java.io.IOException {
+        if (readBuffer == null) {
+            readBuffer = new byte[READ_BUFFER_SIZE];
+        }
+        long position = readBufferStart + readBufferPosition;
+        file.seek(position);
+        int count = file.read(readBuffer, 0, readBuffer.length);
+        readBufferPosition = 0;
+        if (count > 0) {
+            readBufferStart = position;
+            readBufferLength = count;
+            return true;
+        }
+        // as RandomAccessFileOrArray does, move the position forward even if the end of the source is reached
+        readBufferStart = position + 1;
+        readBufferLength = 0;
+        return false;
+    }
+
+    /**
+     * Makes the passed buffer the token content buffer and returns the previous one,
+     * so that the token content is preserved without copying.
+     */
+    private ByteBuffer swapOutBuf(ByteBuffer buffer) {
+        ByteBuffer previous = outBuf;
+        outBuf = buffer;
+        return previous;
+    }
+
+    private static int parseIntValue(ByteBuffer buffer) {
+        long value = parseDecimalDigits(buffer, 9);
+        return value != Long.MIN_VALUE ? (int) value
+                : Integer.parseInt(new String(buffer.getInternalBuffer(), 0, buffer.size()));
+    }
+
+    /**
+     * Parses an optionally signed sequence of decimal digits without creating a string.
+     *
+     * @return the parsed value, or {@link Long#MIN_VALUE} if the content is not a plain number
+     * of at most {@code maxDigits} digits
+     */
+    private static long parseDecimalDigits(ByteBuffer buffer, int maxDigits) {
+        byte[] content = buffer.getInternalBuffer();
+        int size = buffer.size();
+        int start = size > 0 && (content[0] == '-' || content[0] == '+') ? 1 : 0;
+        if (size == start || size - start > maxDigits) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (int i = start; i < size; i++) {
+            int digit = content[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        return content[0] == '-' ? -value : value;
+    }
 }
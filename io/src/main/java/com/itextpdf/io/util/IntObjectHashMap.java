@@ -0,0 +1,416 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map from primitive {@code int} keys to objects, which keeps the insertion order of the keys the same way
+ * as {@link java.util.LinkedHashMap} does.
+ * <p>
+ * The keys and values are stored in plain arrays and are looked up via an open addressing hash index,
+ * so neither boxed keys nor entry objects are created for the mappings. The primitive methods, e.g.
+ * {@link #get(int)} and {@link #put(int, Object)}, don't box the keys at all, while the {@link Map} methods
+ * are available for compatibility. {@code null} keys are not supported.
+ *
+ * @param <V> the type of the values
+ */
+public class IntObjectHashMap<V> extends AbstractMap<Integer, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Marks the removed entries. The removed entries are dropped when the arrays are rebuilt.
+     */
+    private static final Object REMOVED = new Object();
+
+    /**
+     * Keys and values of the entries in insertion order.
+     */
+    private int[] keys;
+    private Object[] values;
+
+    /**
+     * Hash index of the entries. Each slot contains the key in the high half and the entry index plus one
+     * in the low half, or zero for the empty slots, so that a lookup reads a single array while probing.
+     * It is twice as large as the entries arrays, so that it is never more than half full.
+     */
+    private long[] index;
+    private int indexShift;
+
+    private int entryCount;
+    private int size;
+    private int modCount;
+
+    /**
+     * Creates a new empty map.
+     */
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty map which can hold the specified number of mappings without growing.
+     *
+     * @param capacity the expected number of mappings
+     */
+    public IntObjectHashMap(int capacity) {
+        int entriesCapacity = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        keys = new int[entriesCapacity];
+        values = new Object[entriesCapacity];
+        createIndex(entriesCapacity * 2);
+    }
+
+    /**
+     * Gets the value which is mapped to the key.
+     *
+     * @param key the key
+     * @return the value or {@code null} if there is no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int entry = findEntry(key);
+        return entry < 0 ? null : (V) values[entry];
+    }
+
+    /**
+     * Checks whether there is a mapping for the key.
+     *
+     * @param key the key
+     * @return {@code true} if there is a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        return findEntry(key) >= 0;
+    }
+
+    /**
+     * Maps the value to the key. If there already is a mapping for the key, its value is replaced and
+     * the key keeps its position in the insertion order.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value mapped to the key or {@code null} if there was no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int entry = findEntry(key);
+        if (entry >= 0) {
+            V previous = (V) values[entry];
+            values[entry] = value;
+            return previous;
+        }
+        if (entryCount == keys.length) {
+            rebuild();
+        }
+        keys[entryCount] = key;
+        values[entryCount] = value;
+        addToIndex(key, entryCount);
+        entryCount++;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the key.
+     *
+     * @param key the key
+     * @return the removed value or {@code null} if there was no mapping for the key
+     */
+    public V remove(int key) {
+        int entry = findEntry(key);
+        return entry < 0 ? null : removeEntry(entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(Integer key, V value) {
+        return put((int) key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, entryCount, null);
+        Arrays.fill(index, 0);
+        entryCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int findEntry(int key) {
+        int mask = index.length - 1;
+        int slot = slot(key);
+        long value;
+        while ((value = index[slot]) != 0) {
+            if ((int) (value >>> 32) == key) {
+                return (int) value - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void addToIndex(int key, int entry) {
+        int mask = index.length - 1;
+        int slot = slot(key);
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = ((long) key << 32) | (entry + 1);
+    }
+
+    /**
+     * Removes the key from the hash index, shifting the following slots of its probe sequence back,
+     * so that no lookup has to probe over the removed slots.
+     */
+    private void removeFromIndex(int key) {
+        int mask = index.length - 1;
+        int slot = slot(key);
+        while ((int) (index[slot] >>> 32) != key) {
+            slot = (slot + 1) & mask;
+        }
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long value = index[next];
+            if (value == 0) {
+                break;
+            }
+            int home = slot((int) (value >>> 32));
+            // the entry can be moved to the freed slot if its home slot isn't cyclically within (slot, next]
+            if (slot <= next ? (home <= slot || home > next) : (home <= slot && home > next)) {
+                index[slot] = value;
+                slot = next;
+            }
+        }
+        index[slot] = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeEntry(int entry) {
+        V previous = (V) values[entry];
+        removeFromIndex(keys[entry]);
+        values[entry] = REMOVED;
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * Drops the removed entries and grows the arrays if there is no space left.
+     */
+    private void rebuild() {
+        int newCapacity = size * 2 > keys.length ? keys.length * 2 : keys.length;
+        int[] newKeys = new int[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        int count = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (values[i] != REMOVED) {
+                newKeys[count] = keys[i];
+                newValues[count] = values[i];
+                count++;
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        entryCount = count;
+        createIndex(newCapacity * 2);
+        for (int i = 0; i < count; i++) {
+            addToIndex(keys[i], i);
+        }
+    }
+
+    private void createIndex(int capacity) {
+        index = new long[capacity];
+        indexShift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing, the high bits of the product are the best mixed ones
+        return (key * 0x9E3779B9) >>> indexShift;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, V>> {
+        @Override
+        public Iterator<Map.Entry<Integer, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            IntObjectHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+        private int next;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            skipRemoved();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < entryCount;
+        }
+
+        @Override
+        public Map.Entry<Integer, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= entryCount) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            skipRemoved();
+            return new Entry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0 || values[current] == REMOVED) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeEntry(current);
+            expectedModCount = modCount;
+        }
+
+        private void skipRemoved() {
+            while (next < entryCount && values[next] == REMOVED) {
+                next++;
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<Integer, V> {
+        private final int entry;
+
+        Entry(int entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Integer getKey() {
+            return keys[entry];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V) values[entry];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            V previous = (V) values[entry];
+            values[entry] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(other.getKey())
+                    && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return keys[entry] ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return keys[entry] + "=" + getValue();
+        }
+    }
+}
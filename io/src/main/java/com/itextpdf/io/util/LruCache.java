@@ -0,0 +1,382 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe cache which evicts the least recently used entries once either the number of the entries
+ * or their total weight exceeds the limits.
+ * <p>
+ * The weight of an entry is specified when it is added, e.g. it can be the approximate size of the value
+ * in bytes. The entries heavier than the weight limit are not cached at all. Pinned entries are never evicted
+ * and are not taken into account by the limits.
+ * <p>
+ * The entries are distributed between several segments by the hash codes of their keys. Each segment keeps its
+ * entries in the access order and is locked separately, so concurrent lookups of different keys rarely wait
+ * for each other. The least recently used entry of the whole cache is the least recently used entry of one of
+ * the segments, so an eviction only compares the eldest entries of the segments.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LruCache<K, V> {
+
+    private static final int SEGMENTS_COUNT = 16;
+
+    private final List<Segment<K, V>> segments = new ArrayList<>(SEGMENTS_COUNT);
+    private final Map<K, V> pinnedEntries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private volatile int maxSize;
+    private volatile long maxWeight;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong weight = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a new cache without limits.
+     */
+    public LruCache() {
+        this(Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new cache with the specified limits.
+     *
+     * @param maxSize   the maximum number of the entries which are not pinned
+     * @param maxWeight the maximum total weight of the entries which are not pinned
+     */
+    public LruCache(int maxSize, long maxWeight) {
+        for (int i = 0; i < SEGMENTS_COUNT; i++) {
+            segments.add(new Segment<K, V>());
+        }
+        setLimits(maxSize, maxWeight);
+    }
+
+    /**
+     * Gets the value which is cached for the key and marks it as the most recently used one.
+     *
+     * @param key the key
+     * @return the cached value or {@code null} if there is no value for the key
+     */
+    public V get(K key) {
+        V value = getValue(key);
+        if (value == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value which is cached for the key or creates and caches it if there is no value for the key.
+     * The value is created without locking the cache, so it can be created by several threads at the same time,
+     * but only one of the created values is cached and returned to all of them.
+     *
+     * @param key     the key
+     * @param factory the function which creates the value for the key
+     * @param weigher the function which calculates the weight of the created value
+     * @return the cached or the created value
+     */
+    public V getOrCreate(K key, Function<K, V> factory, ToLongFunction<V> weigher) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = factory.apply(key);
+        return putIfAbsent(key, value, weigher.applyAsLong(value), false);
+    }
+
+    /**
+     * Adds the value to the cache unless there already is a value for the key. If the limits are
+     * exceeded afterwards, the least recently used entries are evicted. The value which is heavier than
+     * the weight limit is not cached.
+     *
+     * @param key    the key
+     * @param value  the value
+     * @param weight the weight of the value, it is ignored for the pinned entries
+     * @param pinned whether the value shall never be evicted
+     * @return the value which was already cached for the key or the passed value otherwise
+     */
+    public V putIfAbsent(K key, V value, long weight, boolean pinned) {
+        V found = getValue(key);
+        if (found != null) {
+            return found;
+        }
+        if (pinned) {
+            found = pinnedEntries.putIfAbsent(key, value);
+            return found == null ? value : found;
+        }
+        if (weight > maxWeight) {
+            return value;
+        }
+        Segment<K, V> segment = getSegment(key);
+        synchronized (segment) {
+            CacheEntry<V> foundEntry = segment.entries.get(key);
+            if (foundEntry != null) {
+                foundEntry.lastAccess = clock.incrementAndGet();
+                return foundEntry.value;
+            }
+            segment.entries.put(key, new CacheEntry<>(value, weight, clock.incrementAndGet()));
+        }
+        size.incrementAndGet();
+        this.weight.addAndGet(weight);
+        if (areLimitsExceeded()) {
+            evict();
+        }
+        return value;
+    }
+
+    /**
+     * Removes the value which is cached for the key.
+     *
+     * @param key the key
+     * @return the removed value or {@code null} if there was no value for the key
+     */
+    public V remove(K key) {
+        V pinnedValue = pinnedEntries.remove(key);
+        if (pinnedValue != null) {
+            return pinnedValue;
+        }
+        Segment<K, V> segment = getSegment(key);
+        CacheEntry<V> entry;
+        synchronized (segment) {
+            entry = segment.entries.remove(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        size.decrementAndGet();
+        weight.addAndGet(-entry.weight);
+        return entry.value;
+    }
+
+    /**
+     * Gets the keys of all the cached entries, including the pinned ones. The returned list is a snapshot,
+     * getting it doesn't change the order in which the entries are evicted.
+     *
+     * @return the list of the keys
+     */
+    public List<K> getKeys() {
+        List<K> keys = new ArrayList<>(size());
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                keys.addAll(segment.entries.keySet());
+            }
+        }
+        keys.addAll(pinnedEntries.keySet());
+        return keys;
+    }
+
+    /**
+     * Removes all the entries, including the pinned ones. The statistics are not reset.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (CacheEntry<V> entry : segment.entries.values()) {
+                    size.decrementAndGet();
+                    weight.addAndGet(-entry.weight);
+                }
+                segment.entries.clear();
+            }
+        }
+        pinnedEntries.clear();
+    }
+
+    /**
+     * Sets the limits of the cache and evicts the least recently used entries if they are exceeded.
+     *
+     * @param maxSize   the maximum number of the entries which are not pinned
+     * @param maxWeight the maximum total weight of the entries which are not pinned
+     */
+    public void setLimits(int maxSize, long maxWeight) {
+        if (maxSize < 0 || maxWeight < 0) {
+            throw new IllegalArgumentException(IoExceptionMessageConstant.CACHE_LIMITS_SHALL_NOT_BE_NEGATIVE);
+        }
+        synchronized (evictionLock) {
+            this.maxSize = maxSize;
+            this.maxWeight = maxWeight;
+        }
+        evict();
+    }
+
+    /**
+     * Gets the maximum number of the entries which are not pinned.
+     *
+     * @return the maximum number of the entries
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the maximum total weight of the entries which are not pinned.
+     *
+     * @return the maximum total weight
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Gets the number of the cached entries, including the pinned ones.
+     *
+     * @return the number of the entries
+     */
+    public int size() {
+        return size.get() + pinnedEntries.size();
+    }
+
+    /**
+     * Gets the total weight of the entries which are not pinned.
+     *
+     * @return the total weight
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * Gets the number of the lookups which have found a value.
+     *
+     * @return the number of the hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of the lookups which haven't found a value.
+     *
+     * @return the number of the misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of the entries which have been evicted because of the limits.
+     *
+     * @return the number of the evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private V getValue(K key) {
+        V value = pinnedEntries.get(key);
+        if (value == null) {
+            Segment<K, V> segment = getSegment(key);
+            synchronized (segment) {
+                // the lookup moves the entry to the end of the access order of the segment
+                CacheEntry<V> entry = segment.entries.get(key);
+                if (entry != null) {
+                    entry.lastAccess = clock.incrementAndGet();
+                    value = entry.value;
+                }
+            }
+        }
+        return value;
+    }
+
+    private Segment<K, V> getSegment(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments.get(hash & (SEGMENTS_COUNT - 1));
+    }
+
+    private boolean areLimitsExceeded() {
+        return size.get() > maxSize || weight.get() > maxWeight;
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            while (areLimitsExceeded()) {
+                Segment<K, V> eldestSegment = null;
+                CacheEntry<V> eldestEntry = null;
+                long eldestAccess = Long.MAX_VALUE;
+                for (Segment<K, V> segment : segments) {
+                    synchronized (segment) {
+                        Iterator<CacheEntry<V>> iterator = segment.entries.values().iterator();
+                        if (iterator.hasNext()) {
+                            CacheEntry<V> entry = iterator.next();
+                            if (entry.lastAccess < eldestAccess) {
+                                eldestSegment = segment;
+                                eldestEntry = entry;
+                                eldestAccess = entry.lastAccess;
+                            }
+                        }
+                    }
+                }
+                if (eldestSegment == null) {
+                    return;
+                }
+                synchronized (eldestSegment) {
+                    Iterator<CacheEntry<V>> iterator = eldestSegment.entries.values().iterator();
+                    // the entry could have been used or removed since the segments were compared
+                    if (iterator.hasNext() && iterator.next() == eldestEntry
+                            && eldestEntry.lastAccess == eldestAccess) {
+                        iterator.remove();
+                        size.decrementAndGet();
+                        weight.addAndGet(-eldestEntry.weight);
+                        evictionCount.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long weight;
+        private long lastAccess;
+
+        CacheEntry(V value, long weight, long lastAccess) {
+            this.value = value;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.cmap.CMapCidToCodepoint;
+import com.itextpdf.io.font.cmap.CMapCidUni;
+import com.itextpdf.io.font.cmap.CMapUniCid;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontCacheTest extends ExtendedITextTest {
+
+    private static final String TEST_CMAP = "FontCacheTest-UCS2-H";
+
+    @Test
+    public void predefinedCMapsAreSharedTest() {
+        CMapUniCid uniCid = FontCache.getUni2CidCmap(TEST_CMAP);
+        Assert.assertSame(uniCid, FontCache.getUni2CidCmap(TEST_CMAP));
+        // the same CMap resource is cached separately for each kind of mapping
+        CMapCidUni cidUni = FontCache.getCid2UniCmap(TEST_CMAP);
+        Assert.assertSame(cidUni, FontCache.getCid2UniCmap(TEST_CMAP));
+        Assert.assertEquals(34, uniCid.lookup('A'));
+        Assert.assertEquals('A', cidUni.lookup(uniCid.lookup('A')));
+    }
+
+    @Test
+    public void sharedCMapCannotBeModifiedViaLookupsTest() {
+        CMapCidToCodepoint cidToCode = FontCache.getCidToCodepointCmap(TEST_CMAP);
+        Assert.assertSame(cidToCode, FontCache.getCidToCodepointCmap(TEST_CMAP));
+
+        cidToCode.lookup(34)[1] = 0;
+        cidToCode.getCodeSpaceRanges().get(0)[0] = 1;
+
+        Assert.assertArrayEquals(new byte[] {0, 0x41}, cidToCode.lookup(34));
+        Assert.assertArrayEquals(new byte[] {0, 0}, cidToCode.getCodeSpaceRanges().get(0));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> cidToCode.getCodeSpaceRanges().clear());
+    }
+}
@@ -37,6 +37,7 @@ import java.io.IOException;
 @Category(UnitTest.class)
 public class FontProgramTest extends ExtendedITextTest {
     private static final String notExistingFont = "some-font.ttf";
+    private static final String OTF_FONTS = "./src/test/resources/com/itextpdf/io/font/otf/";
 
     @Test
     public void exceptionMessageTest() throws IOException {
@@ -67,6 +68,29 @@ public class FontProgramTest extends ExtendedITextTest {
         Assert.assertTrue(FontProgramFactory.getRegisteredFonts().contains("free sans lihavoitu"));
     }
 
+    @Test
+    public void savedFontsLimitsTest() throws IOException {
+        FontCache.clearSavedFonts();
+        long evictions = FontCache.getSavedFontsEvictionCount();
+        FontCache.setSavedFontsLimits(1, Long.MAX_VALUE);
+        try {
+            FontProgram helvetica = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+            FontProgram freeSans = FontProgramFactory.createFont(OTF_FONTS + "FreeSans.ttf");
+            Assert.assertSame(freeSans, FontProgramFactory.createFont(OTF_FONTS + "FreeSans.ttf"));
+            Assert.assertTrue(FontCache.getSavedFontsSize() > 0);
+
+            FontProgramFactory.createFont(OTF_FONTS + "FreeSansBold.ttf");
+            Assert.assertEquals(evictions + 1, FontCache.getSavedFontsEvictionCount());
+            Assert.assertEquals(2, FontCache.getSavedFontsCount());
+            Assert.assertNull(FontCache.getFont(OTF_FONTS + "FreeSans.ttf"));
+            // standard fonts are never evicted
+            Assert.assertSame(helvetica, FontProgramFactory.createFont(StandardFonts.HELVETICA));
+        } finally {
+            FontCache.setSavedFontsLimits(Integer.MAX_VALUE, Long.MAX_VALUE);
+            FontCache.clearSavedFonts();
+        }
+    }
+
     @Test
     public void registerDirectoryType1Test() throws IOException {
         FontProgramFactory.registerFontDirectory("./src/test/resources/com/itextpdf/io/font/type1/");
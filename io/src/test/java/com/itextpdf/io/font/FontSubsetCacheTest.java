@@ -0,0 +1,161 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontSubsetCacheTest extends ExtendedITextTest {
+
+    private static final String TRUE_TYPE_FONT = "./src/test/resources/com/itextpdf/io/font/otf/FreeSans.ttf";
+    private static final String CFF_FONT =
+            "./src/test/resources/com/itextpdf/io/font/sharedFontsResourceFiles/Puritan2.otf";
+
+    @Test
+    public void subsetWithFewExtraGlyphsIsReusedTest() throws IOException {
+        TrueTypeFont fontProgram = createTrueTypeFont(2);
+        byte[] subset = fontProgram.getSubset(createGlyphSet(1, 40), true);
+        assertSubsetContainsGlyphs(subset, createGlyphSet(1, 40));
+
+        byte[] reused = fontProgram.getSubset(createGlyphSet(10, 40), true);
+        Assert.assertSame(subset, reused);
+        assertSubsetContainsGlyphs(reused, createGlyphSet(10, 40));
+    }
+
+    @Test
+    public void subsetWithTooManyExtraGlyphsIsNotReusedTest() throws IOException {
+        TrueTypeFont fontProgram = createTrueTypeFont(2);
+        byte[] subset = fontProgram.getSubset(createGlyphSet(1, 100), true);
+
+        byte[] smallSubset = fontProgram.getSubset(createGlyphSet(1, 5), true);
+        Assert.assertNotSame(subset, smallSubset);
+        assertSubsetContainsGlyphs(smallSubset, createGlyphSet(1, 5));
+        Assert.assertTrue(smallSubset.length < subset.length);
+    }
+
+    @Test
+    public void subsetMissingFewGlyphsIsExtendedTest() throws IOException {
+        TrueTypeFont fontProgram = createTrueTypeFont(2);
+        byte[] subset = fontProgram.getSubset(createGlyphSet(1, 40), true);
+
+        Set<Integer> glyphs = createGlyphSet(20, 45);
+        byte[] extendedSubset = fontProgram.getSubset(glyphs, true);
+        Assert.assertNotSame(subset, extendedSubset);
+        assertSubsetContainsGlyphs(extendedSubset, createGlyphSet(1, 45));
+
+        // the extended subset replaces the original one
+        Assert.assertSame(extendedSubset, fontProgram.getSubset(createGlyphSet(1, 40), true));
+        Assert.assertSame(extendedSubset, fontProgram.getSubset(glyphs, true));
+    }
+
+    @Test
+    public void leastRecentlyUsedSubsetIsEvictedTest() throws IOException {
+        TrueTypeFont fontProgram = createTrueTypeFont(2);
+        byte[] first = fontProgram.getSubset(createGlyphSet(1, 40), true);
+        byte[] second = fontProgram.getSubset(createGlyphSet(100, 140), true);
+        Assert.assertSame(first, fontProgram.getSubset(createGlyphSet(1, 40), true));
+
+        byte[] third = fontProgram.getSubset(createGlyphSet(200, 240), true);
+        assertSubsetContainsGlyphs(third, createGlyphSet(200, 240));
+
+        // the second subset was the least recently used one when the third one was added
+        Assert.assertSame(first, fontProgram.getSubset(createGlyphSet(1, 40), true));
+        Assert.assertSame(third, fontProgram.getSubset(createGlyphSet(200, 240), true));
+        byte[] recreated = fontProgram.getSubset(createGlyphSet(100, 140), true);
+        Assert.assertNotSame(second, recreated);
+        Assert.assertArrayEquals(second, recreated);
+    }
+
+    @Test
+    public void subsetFlagSeparatesCachedSubsetsTest() throws IOException {
+        TrueTypeFont fontProgram = createTrueTypeFont(4);
+        Set<Integer> glyphs = createGlyphSet(1, 40);
+        byte[] subset = fontProgram.getSubset(glyphs, true);
+        byte[] fullTablesSubset = fontProgram.getSubset(glyphs, false);
+
+        Assert.assertNotSame(subset, fullTablesSubset);
+        Assert.assertFalse(subset.length == fullTablesSubset.length);
+        assertSubsetContainsGlyphs(fullTablesSubset, glyphs);
+        Assert.assertSame(subset, fontProgram.getSubset(glyphs, true));
+        Assert.assertSame(fullTablesSubset, fontProgram.getSubset(glyphs, false));
+    }
+
+    @Test
+    public void cffSubsetIsCachedTest() throws IOException {
+        TrueTypeFont fontProgram = (TrueTypeFont) FontProgramFactory.createFont(CFF_FONT, false);
+        Assert.assertTrue(fontProgram.isCff());
+        fontProgram.setSubsetCacheMaxSize(2);
+
+        byte[] subset = fontProgram.getCffSubset(createGlyphSet(30, 70));
+        assertCffSubsetContainsGlyphs(fontProgram, subset, createGlyphSet(30, 70));
+        Assert.assertSame(subset, fontProgram.getCffSubset(createGlyphSet(40, 70)));
+
+        byte[] extendedSubset = fontProgram.getCffSubset(createGlyphSet(30, 75));
+        Assert.assertNotSame(subset, extendedSubset);
+        assertCffSubsetContainsGlyphs(fontProgram, extendedSubset, createGlyphSet(30, 75));
+        Assert.assertSame(extendedSubset, fontProgram.getCffSubset(createGlyphSet(30, 70)));
+    }
+
+    private static TrueTypeFont createTrueTypeFont(int subsetCacheMaxSize) throws IOException {
+        TrueTypeFont fontProgram = (TrueTypeFont) FontProgramFactory.createFont(TRUE_TYPE_FONT, false);
+        fontProgram.setSubsetCacheMaxSize(subsetCacheMaxSize);
+        return fontProgram;
+    }
+
+    private static void assertSubsetContainsGlyphs(byte[] subset, Set<Integer> glyphs) throws IOException {
+        int[][] expectedBoxes = new OpenTypeParser(TRUE_TYPE_FONT).readBbox(1000);
+        int[][] actualBoxes = new OpenTypeParser(subset).readBbox(1000);
+        for (int glyph : glyphs) {
+            // the glyphs which aren't in the subset have no outlines
+            Assert.assertArrayEquals(expectedBoxes[glyph], actualBoxes[glyph]);
+        }
+    }
+
+    private static void assertCffSubsetContainsGlyphs(TrueTypeFont fontProgram, byte[] subset, Set<Integer> glyphs) {
+        CFFFont font = new CFFFont(fontProgram.getFontStreamBytes());
+        int[] expectedOffsets = font.getIndex(font.fonts[0].charstringsOffset);
+        CFFFont subsetFont = new CFFFont(subset);
+        int[] actualOffsets = subsetFont.getIndex(subsetFont.fonts[0].charstringsOffset);
+        for (int glyph : fontProgram.mapGlyphsCidsToGids(glyphs)) {
+            // the charstrings of the glyphs which aren't in the subset are replaced with a single endchar operator
+            Assert.assertEquals(expectedOffsets[glyph + 1] - expectedOffsets[glyph],
+                    actualOffsets[glyph + 1] - actualOffsets[glyph]);
+        }
+    }
+
+    private static Set<Integer> createGlyphSet(int from, int to) {
+        Set<Integer> glyphs = new HashSet<>();
+        for (int glyph = from; glyph <= to; glyph++) {
+            glyphs.add(glyph);
+        }
+        return glyphs;
+    }
+}
@@ -33,6 +33,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -95,4 +98,97 @@ public class TrueTypeFontTest extends ExtendedITextTest {
         Assert.assertEquals(1, actualResult.size());
         Assert.assertTrue(actualResult.contains(charGidInFont));
     }
+
+    @Test
+    public void tablesAccessedBeforeCloseAreKeptTest() throws IOException {
+        String fontPath = "./src/test/resources/com/itextpdf/io/font/otf/FreeSans.ttf";
+        TrueTypeFont expected = (TrueTypeFont) FontProgramFactory.createFont(fontPath, false);
+        TrueTypeFont fontProgram = (TrueTypeFont) FontProgramFactory.createFont(fontPath, false);
+        Assert.assertNotNull(fontProgram.getGposTable());
+        Assert.assertEquals(expected.hasKernPairs(), fontProgram.hasKernPairs());
+        fontProgram.close();
+
+        Assert.assertNotNull(fontProgram.getGdefTable());
+        Assert.assertNotNull(fontProgram.getGsubTable());
+        Assert.assertEquals(expected.getGposTable().getFeatureRecords().size(),
+                fontProgram.getGposTable().getFeatureRecords().size());
+        Glyph a = expected.getGlyph('A');
+        Glyph v = expected.getGlyph('V');
+        Assert.assertEquals(expected.getKerning(a, v), fontProgram.getKerning(fontProgram.getGlyph('A'),
+                fontProgram.getGlyph('V')));
+    }
+
+    @Test
+    public void tablesNotAccessedBeforeCloseAreReadOnCloseTest() throws IOException {
+        String fontPath = "./src/test/resources/com/itextpdf/io/font/otf/FreeSans.ttf";
+        TrueTypeFont expected = (TrueTypeFont) FontProgramFactory.createFont(fontPath, false);
+        TrueTypeFont fontProgram = (TrueTypeFont) FontProgramFactory.createFont(fontPath, false);
+        fontProgram.close();
+
+        // the tables which are read on the first access shall be read before the font file is closed
+        Assert.assertNotNull(fontProgram.getGdefTable());
+        Assert.assertNotNull(fontProgram.getGsubTable());
+        Assert.assertEquals(expected.getGposTable().getFeatureRecords().size(),
+                fontProgram.getGposTable().getFeatureRecords().size());
+        Assert.assertEquals(expected.hasKernPairs(), fontProgram.hasKernPairs());
+        Assert.assertEquals(expected.getKerning(expected.getGlyph('A'), expected.getGlyph('V')),
+                fontProgram.getKerning(fontProgram.getGlyph('A'), fontProgram.getGlyph('V')));
+    }
+
+    @Test
+    public void concurrentReadsOfFontFileTest() throws Exception {
+        String fontPath = "./src/test/resources/com/itextpdf/io/font/otf/FreeSans.ttf";
+        TrueTypeFont expected = (TrueTypeFont) FontProgramFactory.createFont(fontPath, false);
+        Set<Integer> glyphs = new HashSet<>(Arrays.asList(36, 37, 38));
+        byte[] expectedSubset = expected.getSubset(glyphs, true);
+        int expectedFeatures = expected.getGposTable().getFeatureRecords().size();
+
+        TrueTypeFont fontProgram = (TrueTypeFont) FontProgramFactory.createFont(fontPath, false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    Assert.assertEquals(expectedFeatures, fontProgram.getGposTable().getFeatureRecords().size());
+                    Assert.assertArrayEquals(expectedSubset, fontProgram.getSubset(glyphs, true));
+                    Assert.assertEquals(expected.hasKernPairs(), fontProgram.hasKernPairs());
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void subsetCacheTest() throws IOException {
+        TrueTypeFont fontProgram = (TrueTypeFont) FontProgramFactory.createFont(
+                "./src/test/resources/com/itextpdf/io/font/otf/FreeSans.ttf", false);
+        fontProgram.setSubsetCacheMaxSize(2);
+        byte[] subset = fontProgram.getSubset(createGlyphSet(1, 40), true);
+
+        // a cached subset containing a few extra glyphs is reused
+        Assert.assertSame(subset, fontProgram.getSubset(createGlyphSet(10, 40), true));
+        Assert.assertNotSame(subset, fontProgram.getSubset(createGlyphSet(10, 40), false));
+
+        // a cached subset missing a few glyphs is extended
+        byte[] extendedSubset = fontProgram.getSubset(createGlyphSet(1, 45), true);
+        Assert.assertNotSame(subset, extendedSubset);
+        Assert.assertSame(extendedSubset, fontProgram.getSubset(createGlyphSet(1, 40), true));
+
+        byte[] otherSubset = fontProgram.getSubset(createGlyphSet(200, 300), true);
+        Assert.assertNotSame(extendedSubset, otherSubset);
+        Assert.assertSame(otherSubset, fontProgram.getSubset(createGlyphSet(200, 300), true));
+    }
+
+    private static Set<Integer> createGlyphSet(int from, int to) {
+        Set<Integer> glyphs = new HashSet<>();
+        for (int glyph = from; glyph <= to; glyph++) {
+            glyphs.add(glyph);
+        }
+        return glyphs;
+    }
 }
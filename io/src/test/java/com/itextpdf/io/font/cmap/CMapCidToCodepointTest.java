@@ -22,6 +22,7 @@
  */
 package com.itextpdf.io.font.cmap;
 
+import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
@@ -44,6 +45,23 @@ public class CMapCidToCodepointTest extends ExtendedITextTest {
         Assert.assertArrayEquals(new byte[0], cidToCode.lookup(1));
     }
 
+    @Test
+    public void fillCodeTest() {
+        CMapCidToCodepoint cidToCode = new CMapCidToCodepoint();
+        cidToCode.addChar(new String(new byte[] {32, 17}), new CMapObject(CMapObject.NUMBER, 14));
+
+        Assert.assertEquals(2, cidToCode.getCodeLength(14));
+        Assert.assertEquals(0, cidToCode.getCodeLength(1));
+        byte[] array = new byte[4];
+        Assert.assertEquals(3, cidToCode.fillCode(14, array, 1));
+        Assert.assertEquals(3, cidToCode.fillCode(1, array, 3));
+        Assert.assertArrayEquals(new byte[] {0, 32, 17, 0}, array);
+        ByteBuffer buffer = new ByteBuffer();
+        cidToCode.fillCode(14, buffer);
+        cidToCode.fillCode(1, buffer);
+        Assert.assertArrayEquals(new byte[] {32, 17}, buffer.toByteArray());
+    }
+
     @Test
     public void getReverseMapTest() {
         CMapCidToCodepoint cidToCode = new CMapCidToCodepoint();
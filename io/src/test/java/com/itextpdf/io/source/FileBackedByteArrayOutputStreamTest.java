@@ -0,0 +1,108 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FileBackedByteArrayOutputStreamTest extends ExtendedITextTest {
+
+    @Test
+    public void smallContentIsKeptOnHeapTest() {
+        FileBackedByteArrayOutputStream stream = new FileBackedByteArrayOutputStream(16, null);
+        stream.write(new byte[] {1, 2, 3}, 0, 3);
+        stream.write(4);
+        Assert.assertFalse(stream.isSpilled());
+        Assert.assertArrayEquals(new byte[] {1, 2, 3, 4}, stream.toByteArray());
+        stream.close();
+    }
+
+    @Test
+    public void largeContentIsSpilledTest() throws IOException {
+        byte[] expected = createBytes(100);
+        FileBackedByteArrayOutputStream stream = new FileBackedByteArrayOutputStream(16, null);
+        for (int i = 0; i < 50; i++) {
+            stream.write(expected[i]);
+        }
+        stream.write(expected, 50, 40);
+        stream.write(expected, 90, 10);
+        Assert.assertTrue(stream.isSpilled());
+        Assert.assertEquals(100, stream.size());
+        Assert.assertArrayEquals(expected, stream.toByteArray());
+
+        java.io.ByteArrayOutputStream copy = new java.io.ByteArrayOutputStream();
+        stream.writeTo(copy);
+        Assert.assertArrayEquals(expected, copy.toByteArray());
+        stream.close();
+    }
+
+    @Test
+    public void resetAndAssignBytesTest() {
+        byte[] expected = createBytes(40);
+        FileBackedByteArrayOutputStream stream = new FileBackedByteArrayOutputStream(16, null);
+        stream.assignBytes(expected);
+        Assert.assertTrue(stream.isSpilled());
+        Assert.assertArrayEquals(expected, stream.toByteArray());
+
+        stream.reset();
+        Assert.assertEquals(0, stream.size());
+        stream.assignBytes(new byte[] {5, 6}, 2);
+        Assert.assertArrayEquals(new byte[] {5, 6}, stream.toByteArray());
+        stream.close();
+    }
+
+    @Test
+    public void byteByByteWritesAfterSpillTest() throws IOException {
+        int threshold = FileBackedByteArrayOutputStream.SPILLED_BUFFER_SIZE * 4;
+        byte[] expected = createBytes(threshold * 2 + 10);
+        FileBackedByteArrayOutputStream stream = new FileBackedByteArrayOutputStream(threshold, null);
+        stream.write(expected, 0, threshold);
+        Assert.assertFalse(stream.isSpilled());
+        for (int i = threshold; i < expected.length; i++) {
+            stream.write(expected[i]);
+        }
+        Assert.assertTrue(stream.isSpilled());
+        Assert.assertEquals(expected.length, stream.getSize());
+
+        java.io.ByteArrayOutputStream copy = new java.io.ByteArrayOutputStream();
+        stream.writeTo(copy);
+        Assert.assertArrayEquals(expected, copy.toByteArray());
+        stream.close();
+        Assert.assertFalse(stream.isSpilled());
+        Assert.assertEquals(0, stream.getSize());
+    }
+
+    private static byte[] createBytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
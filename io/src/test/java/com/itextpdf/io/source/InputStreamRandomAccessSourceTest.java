@@ -0,0 +1,85 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class InputStreamRandomAccessSourceTest extends ExtendedITextTest {
+
+    @Test
+    public void readAndGoBackWithinRetainedBytesTest() throws IOException {
+        byte[] data = createData(100000);
+        IRandomAccessSource source = new InputStreamRandomAccessSource(new ByteArrayInputStream(data), 1000);
+
+        Assert.assertEquals(Long.MAX_VALUE, source.length());
+        byte[] bytes = new byte[10];
+        Assert.assertEquals(10, source.get(50000, bytes, 0, 10));
+        Assert.assertEquals(data[50009], bytes[9]);
+        Assert.assertEquals(data[49000] & 0xff, source.get(49000));
+        Assert.assertEquals(data[99999] & 0xff, source.get(99999));
+        Assert.assertEquals(-1, source.get(100000));
+        Assert.assertEquals(-1, source.get(100000, bytes, 0, 10));
+        Assert.assertEquals(100000, source.length());
+    }
+
+    @Test
+    public void readDiscardedBytesTest() throws IOException {
+        IRandomAccessSource source = new InputStreamRandomAccessSource(
+                new ByteArrayInputStream(createData(100000)), 1000);
+        source.get(90000);
+
+        Assert.assertEquals(createData(100000)[89000] & 0xff, source.get(89000));
+        Exception e = Assert.assertThrows(IOException.class, () -> source.get(0));
+        Assert.assertTrue(e.getMessage().startsWith("Cannot read byte at position 0"));
+    }
+
+    @Test
+    public void tokenizeInputStreamTest() throws IOException {
+        byte[] content = "1 0 0 1 0 0 cm (string) 2 0 R [1 (a)] TJ".getBytes();
+        PdfTokenizer tokenizer = new PdfTokenizer(new RandomAccessFileOrArray(
+                new InputStreamRandomAccessSource(new ByteArrayInputStream(content))));
+
+        StringBuilder tokens = new StringBuilder();
+        while (tokenizer.nextToken()) {
+            tokens.append(tokenizer.getTokenType()).append(' ');
+        }
+        Assert.assertEquals("Number Number Number Number Number Number Other String Number Number Other "
+                + "StartArray Number String EndArray Other ", tokens.toString());
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        return data;
+    }
+}
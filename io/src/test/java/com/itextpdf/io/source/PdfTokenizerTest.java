@@ -131,6 +131,73 @@ public class PdfTokenizerTest extends ExtendedITextTest {
         Assert.assertEquals(9, tok.length());
     }
 
+    @Test
+    public void getIntValueOverflowTest() throws IOException {
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource("-2147483648 2147483648 +12".getBytes(StandardCharsets.ISO_8859_1))));
+
+        tok.nextToken();
+        Assert.assertEquals(Integer.MIN_VALUE, tok.getIntValue());
+        tok.nextToken();
+        Assert.assertThrows(NumberFormatException.class, () -> tok.getIntValue());
+        Assert.assertEquals(2147483648L, tok.getLongValue());
+        tok.nextToken();
+        Assert.assertEquals(12, tok.getIntValue());
+    }
+
+    @Test
+    public void referenceAcrossReadBufferBoundaryTest() throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 4090; i++) {
+            data.append(' ');
+        }
+        data.append("12 0 R 7 0 obj 15 /Name");
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.toString().getBytes(StandardCharsets.ISO_8859_1))));
+
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.Ref, tok.getTokenType());
+        Assert.assertEquals(12, tok.getObjNr());
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.Obj, tok.getTokenType());
+        Assert.assertEquals(7, tok.getObjNr());
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.Number, tok.getTokenType());
+        Assert.assertEquals("15", tok.getStringValue());
+        Assert.assertEquals(4107, tok.getPosition());
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.Name, tok.getTokenType());
+        Assert.assertEquals("Name", tok.getStringValue());
+    }
+
+    @Test
+    public void readFullyAcrossReadBufferBoundaryTest() throws IOException {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(factory.createSource(data)));
+
+        tok.seek(4000);
+        int ch = tok.read();
+        tok.backOnePosition(ch);
+        Assert.assertEquals(4000, tok.getPosition());
+        byte[] bytes = new byte[5000];
+        tok.readFully(bytes);
+        for (int i = 0; i < bytes.length; i++) {
+            Assert.assertEquals(data[4000 + i], bytes[i]);
+        }
+        Assert.assertEquals(9000, tok.getPosition());
+        Assert.assertEquals(data[9000] & 0xff, tok.read());
+        tok.seek(100);
+        Assert.assertEquals(data[100] & 0xff, tok.read());
+    }
+
     @Test
     public void readTest() throws IOException {
         String data = "/Name1 15";
@@ -0,0 +1,103 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class IntObjectHashMapTest extends ExtendedITextTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        Assert.assertNull(map.put(5, "a"));
+        Assert.assertNull(map.put(-7, "b"));
+        Assert.assertEquals("a", map.put(5, "c"));
+
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals("c", map.get(5));
+        Assert.assertEquals("b", map.get(Integer.valueOf(-7)));
+        Assert.assertTrue(map.containsKey(-7));
+        Assert.assertFalse(map.containsKey(6));
+        Assert.assertNull(map.get("5"));
+
+        Assert.assertEquals("b", map.remove(-7));
+        Assert.assertNull(map.remove(-7));
+        Assert.assertFalse(map.containsKey(-7));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void sameBehaviourAsLinkedHashMapTest() {
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>(4);
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(3000) - 1000;
+            if (random.nextInt(4) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), map.put(key, (Integer) i));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        Assert.assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    public void iteratorRemoveTest() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        List<Integer> keys = new ArrayList<>(map.keySet());
+        Assert.assertEquals(5, map.size());
+        Assert.assertEquals(1, (int) keys.get(0));
+        Assert.assertEquals(9, (int) keys.get(4));
+        Assert.assertNull(map.get(4));
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.entrySet().iterator().hasNext());
+    }
+}
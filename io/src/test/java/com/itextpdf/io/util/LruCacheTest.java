@@ -0,0 +1,164 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class LruCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedTest() {
+        LruCache<String, String> cache = new LruCache<>(2, Long.MAX_VALUE);
+        cache.putIfAbsent("a", "1", 10, false);
+        cache.putIfAbsent("b", "2", 10, false);
+        Assert.assertEquals("1", cache.get("a"));
+        cache.putIfAbsent("c", "3", 10, false);
+
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals("1", cache.get("a"));
+        Assert.assertEquals("3", cache.get("c"));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(20, cache.getWeight());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(3, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void weightLimitAndPinnedEntriesTest() {
+        LruCache<String, String> cache = new LruCache<>(Integer.MAX_VALUE, 100);
+        cache.putIfAbsent("pinned", "0", 1000, true);
+        cache.putIfAbsent("a", "1", 60, false);
+        Assert.assertEquals("1", cache.putIfAbsent("a", "other", 60, false));
+        cache.putIfAbsent("b", "2", 60, false);
+
+        Assert.assertNull(cache.get("a"));
+        Assert.assertEquals("2", cache.get("b"));
+        Assert.assertEquals("0", cache.get("pinned"));
+        Assert.assertEquals(60, cache.getWeight());
+
+        cache.setLimits(0, 0);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(0, cache.getWeight());
+        Assert.assertEquals("0", cache.get("pinned"));
+        Assert.assertEquals(2, cache.getEvictionCount());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void entryHeavierThanWeightLimitIsNotCachedTest() {
+        LruCache<String, String> cache = new LruCache<>(Integer.MAX_VALUE, 100);
+        cache.putIfAbsent("a", "1", 40, false);
+        cache.putIfAbsent("b", "2", 40, false);
+
+        Assert.assertEquals("3", cache.putIfAbsent("c", "3", 101, false));
+        Assert.assertNull(cache.get("c"));
+        Assert.assertEquals("1", cache.get("a"));
+        Assert.assertEquals("2", cache.get("b"));
+        Assert.assertEquals(80, cache.getWeight());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvictedAmongManyEntriesTest() {
+        LruCache<Integer, String> cache = new LruCache<>(100, Long.MAX_VALUE);
+        for (int key = 0; key < 100; key++) {
+            cache.putIfAbsent(key, String.valueOf(key), 1, false);
+        }
+        for (int key = 0; key < 100; key += 2) {
+            cache.get(key);
+        }
+        for (int key = 100; key < 150; key++) {
+            cache.putIfAbsent(key, String.valueOf(key), 1, false);
+        }
+
+        // the odd keys have been used least recently
+        for (int key = 0; key < 100; key++) {
+            Assert.assertEquals(key % 2 == 0, cache.get(key) != null);
+        }
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(50, cache.getEvictionCount());
+    }
+
+    @Test
+    public void getOrCreateRemoveAndGetKeysTest() {
+        LruCache<String, String> cache = new LruCache<>(2, Long.MAX_VALUE);
+        Assert.assertEquals("a1", cache.getOrCreate("a", key -> key + "1", value -> 1));
+        Assert.assertEquals("a1", cache.getOrCreate("a", key -> key + "2", value -> 1));
+        cache.putIfAbsent("pinned", "0", 0, true);
+        cache.putIfAbsent("b", "2", 1, false);
+
+        List<String> keys = cache.getKeys();
+        Collections.sort(keys);
+        Assert.assertEquals(Arrays.asList("a", "b", "pinned"), keys);
+
+        Assert.assertEquals("a1", cache.remove("a"));
+        Assert.assertEquals("0", cache.remove("pinned"));
+        Assert.assertNull(cache.remove("a"));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(1, cache.getWeight());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void concurrentAdditionsRespectLimitsTest() throws InterruptedException {
+        LruCache<Integer, String> cache = new LruCache<>(10, Long.MAX_VALUE);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            int offset = i * 1000;
+            threads[i] = new Thread(() -> {
+                for (int key = offset; key < offset + 1000; key++) {
+                    cache.putIfAbsent(key, String.valueOf(key), 1, false);
+                    cache.get(key);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(10, cache.getWeight());
+        Assert.assertEquals(3990, cache.getEvictionCount());
+    }
+
+    @Test
+    public void negativeLimitsTest() {
+        Exception e = Assert.assertThrows(IllegalArgumentException.class, () -> new LruCache<String, String>(-1, 0));
+        Assert.assertEquals(IoExceptionMessageConstant.CACHE_LIMITS_SHALL_NOT_BE_NEGATIVE, e.getMessage());
+    }
+}
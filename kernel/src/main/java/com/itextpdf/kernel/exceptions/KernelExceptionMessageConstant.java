@@ -123,6 +123,9 @@ public final class KernelExceptionMessageConstant {
                     + "method.";
     public static final String CF_NOT_FOUND_ENCRYPTION = "/CF not found (encryption)";
     public static final String COLOR_SPACE_NOT_FOUND = "ColorSpace not found.";
+    public static final String CONTENT_PROCESSING_PARALLELISM_SHALL_BE_POSITIVE = "Content processing parallelism "
+            + "shall be positive.";
+    public static final String CONTENT_PROCESSING_WAS_INTERRUPTED = "Content processing was interrupted.";
     public static final String CONTENT_STREAM_MUST_NOT_INVOKE_OPERATORS_THAT_SPECIFY_COLORS_OR_OTHER_COLOR_RELATED_PARAMETERS =
             "Content stream must not invoke operators that specify colors or other color related parameters in "
                     + "the graphics state.";
@@ -192,7 +195,10 @@ public final class KernelExceptionMessageConstant {
             + "PdfWriter associated with them. Use PageFlushingHelper#releaseDeep method instead.";
     public static final String FONT_AND_SIZE_MUST_BE_SET_BEFORE_WRITING_ANY_TEXT = "Font and size must be set before "
             + "writing any text.";
+    public static final String FONT_CACHE_SIZE_SHALL_BE_POSITIVE = "Font cache size shall be positive.";
     public static final String FONT_EMBEDDING_ISSUE = "Font embedding issue.";
+    public static final String FORM_XOBJECT_CACHE_SIZE_SHALL_BE_POSITIVE = "Form XObject cache size shall be "
+            + "positive.";
     public static final String FORM_XOBJECT_MUST_HAVE_BBOX = "Form XObject must have BBox.";
     public static final String FUNCTION_IS_NOT_COMPATIBLE_WITH_COLOR_SPACE = "Function is not compatible with "
             + "ColorSpace.";
@@ -202,6 +208,9 @@ public final class KernelExceptionMessageConstant {
     public static final String ILLEGAL_LENGTH_VALUE = "Illegal length value.";
     public static final String ILLEGAL_R_VALUE = "Illegal R value.";
     public static final String ILLEGAL_V_VALUE = "Illegal V value.";
+    public static final String IMAGE_EXTRACTION_PARALLELISM_SHALL_BE_POSITIVE = "Image extraction parallelism "
+            + "shall be positive.";
+    public static final String IMAGE_EXTRACTION_WAS_INTERRUPTED = "Image extraction was interrupted.";
     public static final String IN_A_PAGE_LABEL_THE_PAGE_NUMBERS_MUST_BE_GREATER_OR_EQUAL_TO_1 = "In a page label the "
             + "page numbers must be greater or equal to 1.";
     public static final String INCORRECT_NUMBER_OF_COMPONENTS = "Incorrect number of components.";
@@ -258,6 +267,8 @@ public final class KernelExceptionMessageConstant {
     public static final String LZW_FLAVOUR_NOT_SUPPORTED = "LZW flavour not supported.";
     public static final String MISSING_REQUIRED_FIELD_IN_FONT_DICTIONARY
             = "Missing required field {0} in font dictionary.";
+    public static final String MERGE_PARALLELISM_SHALL_BE_POSITIVE = "Merge parallelism shall be positive.";
+    public static final String MERGING_WAS_INTERRUPTED = "Merging was interrupted.";
     public static final String MUST_BE_A_TAGGED_DOCUMENT = "Must be a tagged document.";
     public static final String NOT_A_VALID_PLACEABLE_WINDOWS_METAFILE = "{0} is not a valid placeable windows "
             + "metafile.";
@@ -318,6 +329,10 @@ public final class KernelExceptionMessageConstant {
     public static final String RESOURCES_DO_NOT_CONTAIN_EXTGSTATE_ENTRY_UNABLE_TO_PROCESS_THIS_OPERATOR = "Resources "
             + "do not contain ExtGState entry. Unable to process operator {0}.";
     public static final String SHADING_TYPE_NOT_FOUND = "Shading type not found.";
+    public static final String SPLIT_PARALLELISM_SHALL_BE_POSITIVE = "Split parallelism shall be positive.";
+    public static final String SPLITTING_WAS_INTERRUPTED = "Splitting was interrupted.";
+    public static final String STREAM_COMPRESSION_PARALLELISM_SHALL_BE_POSITIVE = "Stream compression parallelism "
+            + "shall be a positive number.";
     public static final String STDCF_NOT_FOUND_ENCRYPTION = "/StdCF not found (encryption)";
     public static final String STREAM_SHALL_END_WITH_ENDSTREAM = "Stream shall end with endstream keyword.";
     public static final String STRUCT_PARENT_INDEX_NOT_FOUND_IN_TAGGED_OBJECT = "StructParent index not found in "
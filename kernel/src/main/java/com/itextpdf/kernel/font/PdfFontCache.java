@@ -0,0 +1,127 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.util.LruCache;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+
+/**
+ * Bounded thread-safe cache of {@link PdfFont} instances created from the font dictionaries of a document.
+ * <p>
+ * Fonts are keyed by the indirect reference of the font dictionary, so the cache is scoped to a single
+ * {@link com.itextpdf.kernel.pdf.PdfDocument} instance. It allows to share decoded fonts and their CMaps
+ * between the content processing of different pages, e.g. between several
+ * {@link com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor} instances.
+ * Least recently used fonts are evicted when the number of cached fonts exceeds the limit.
+ * Fonts from direct font dictionaries are not cached. The cached fonts are strongly referenced, so they are
+ * kept in memory until they are evicted or the cache is {@link #clear() cleared}.
+ */
+public class PdfFontCache {
+
+    /**
+     * The default maximum number of cached fonts.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final LruCache<PdfIndirectReference, PdfFont> cache;
+
+    /**
+     * Creates a new cache with the {@link #DEFAULT_MAX_SIZE default} maximum size.
+     */
+    public PdfFontCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of cached fonts, shall be positive
+     */
+    public PdfFontCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new PdfException(KernelExceptionMessageConstant.FONT_CACHE_SIZE_SHALL_BE_POSITIVE);
+        }
+        this.cache = new LruCache<>(maxSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the font created from the font dictionary. The font is created and cached if it hasn't been cached yet.
+     *
+     * @param fontDictionary the font dictionary
+     * @return the font
+     */
+    public PdfFont getFont(PdfDictionary fontDictionary) {
+        PdfIndirectReference reference = fontDictionary.getIndirectReference();
+        if (reference == null) {
+            return PdfFontFactory.createFont(fontDictionary);
+        }
+        // the font is created without locking the cache, so that parsing of a large font doesn't block other threads
+        return cache.getOrCreate(reference, key -> PdfFontFactory.createFont(fontDictionary), font -> 1);
+    }
+
+    /**
+     * Gets the number of fonts which have been taken from the cache instead of being created again.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * Gets the number of fonts which have been created because they were not in the cache.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Gets the number of fonts which have been evicted from the cache due to the size limit.
+     *
+     * @return the number of evicted fonts
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * Gets the number of cached fonts.
+     *
+     * @return the number of cached fonts
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all fonts from the cache, e.g. to release them once the pages using them have been processed.
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -50,6 +50,9 @@ public final class KernelLogMessageConstant {
                     + "cross-reference stream, not cross-reference table. Falling back to cross-reference stream in "
                     + "appended document and switching full compression on";
 
+    public static final String IMAGE_XOBJECT_CANNOT_BE_EXTRACTED =
+            "Image XObject {0} 0 R cannot be extracted and is skipped.";
+
     public static final String JPXDECODE_FILTER_DECODING =
             "JPXDecode filter decoding into the bit map is not supported. The stream data would be left in JPEG2000 "
                     + "format";
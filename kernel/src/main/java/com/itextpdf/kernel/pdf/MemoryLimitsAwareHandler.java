@@ -234,6 +234,26 @@ public class MemoryLimitsAwareHandler {
         return this;
     }
 
+    /**
+     * Considers the number of bytes of a pdf stream which has been decompressed on demand rather than at once.
+     * Other pdf streams can be decompressed meanwhile, so such a stream is not handled as the current one:
+     * its size shall be checked against {@link #getMaxSizeOfSingleDecompressedPdfStream()} by the caller while
+     * the stream is being read and only the total size is passed here once the stream has been read.
+     * If memory limits have been faced, throws an exception.
+     *
+     * @param numOfOccupiedBytes the number of bytes of the decompressed pdf stream.
+     * @return this {@link MemoryLimitsAwareHandler} instance.
+     * @see MemoryLimitsAwareException
+     */
+    MemoryLimitsAwareHandler considerBytesOfPdfStreamDecompressedOnDemand(long numOfOccupiedBytes) {
+        allMemoryUsedForDecompression += numOfOccupiedBytes;
+        if (allMemoryUsedForDecompression > maxSizeOfDecompressedPdfStreamsSum) {
+            throw new MemoryLimitsAwareException(
+                    KernelExceptionMessageConstant.DURING_DECOMPRESSION_MULTIPLE_STREAMS_IN_SUM_OCCUPIED_MORE_MEMORY_THAN_ALLOWED);
+        }
+        return this;
+    }
+
     long getAllMemoryUsedForDecompression() {
         return allMemoryUsedForDecompression;
     }
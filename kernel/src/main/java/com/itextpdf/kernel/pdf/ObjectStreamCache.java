@@ -0,0 +1,107 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.util.LruCache;
+
+/**
+ * Bounded cache of decoded object streams which is used by {@link PdfReader}.
+ * Least recently used entries are evicted when the total size of cached bodies exceeds the limit.
+ */
+final class ObjectStreamCache {
+
+    private final LruCache<Integer, DecodedObjectStream> cache;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum total size in bytes of the cached object streams
+     */
+    ObjectStreamCache(long maxSize) {
+        this.cache = new LruCache<>(Integer.MAX_VALUE, maxSize);
+    }
+
+    /**
+     * Gets the decoded object stream and marks it as the most recently used one.
+     *
+     * @param objStreamNumber the object number of the object stream
+     * @return the decoded object stream or {@code null} if it is not cached
+     */
+    DecodedObjectStream get(int objStreamNumber) {
+        return cache.get(objStreamNumber);
+    }
+
+    /**
+     * Puts the decoded object stream to the cache evicting the least recently used entries if needed.
+     * Object streams which are larger than the cache itself are not cached.
+     *
+     * @param objStreamNumber the object number of the object stream
+     * @param decoded the decoded object stream
+     */
+    void put(int objStreamNumber, DecodedObjectStream decoded) {
+        cache.putIfAbsent(objStreamNumber, decoded, decoded.getWeight(), false);
+    }
+
+    long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    long getSize() {
+        return cache.getWeight();
+    }
+
+    /**
+     * Decoded body of an object stream together with the object numbers and offsets of its members.
+     */
+    static final class DecodedObjectStream {
+        private final byte[] bytes;
+        private final int[] objNumbers;
+        private final int[] addresses;
+
+        DecodedObjectStream(byte[] bytes, int[] objNumbers, int[] addresses) {
+            this.bytes = bytes;
+            this.objNumbers = objNumbers;
+            this.addresses = addresses;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        int[] getObjNumbers() {
+            return objNumbers;
+        }
+
+        int[] getAddresses() {
+            return addresses;
+        }
+
+        long getWeight() {
+            return bytes.length + 8L * objNumbers.length;
+        }
+    }
+}
@@ -30,7 +30,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 
 
 /**
@@ -42,7 +41,7 @@ import java.util.TreeMap;
  */
 public class PdfDictionary extends PdfObject {
 
-    private Map<PdfName, PdfObject> map = new TreeMap<>();
+    private Map<PdfName, PdfObject> map = new SortedPdfNameMap();
 
     /**
      * Creates a new PdfDictionary instance.
@@ -408,7 +407,7 @@ public class PdfDictionary extends PdfObject {
      * @return cloned dictionary.
      */
     public PdfDictionary clone(List<PdfName> excludeKeys) {
-        Map<PdfName, PdfObject> excluded = new TreeMap<>();
+        Map<PdfName, PdfObject> excluded = new SortedPdfNameMap();
         for (PdfName key : excludeKeys) {
             PdfObject obj = map.get(key);
             if (obj != null) {
@@ -446,7 +445,7 @@ public class PdfDictionary extends PdfObject {
      */
     public PdfDictionary copyTo(PdfDocument document, List<PdfName> excludeKeys, boolean allowDuplicating,
            ICopyFilter copyFilter) {
-        Map<PdfName, PdfObject> excluded = new TreeMap<>();
+        Map<PdfName, PdfObject> excluded = new SortedPdfNameMap();
         for (PdfName key : excludeKeys) {
             PdfObject obj = map.get(key);
             if (obj != null) {
@@ -29,6 +29,7 @@ import com.itextpdf.commons.actions.data.ProductData;
 import com.itextpdf.commons.actions.sequence.SequenceId;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.kernel.actions.data.ITextCoreProductData;
@@ -74,6 +75,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -179,6 +181,10 @@ public class PdfDocument implements IEventDispatcher, Closeable {
     private PdfString modifiedDocumentId;
     private PdfFont defaultFont = null;
     private EncryptedEmbeddedStreamsHandler encryptedEmbeddedStreamsHandler;
+    /**
+     * Streams of other documents which are copied from this document and still refer to the bytes of its file.
+     */
+    private Set<PdfStream> copyThroughStreams;
 
     /**
      * Open PDF document in reading mode.
@@ -780,6 +786,17 @@ public class PdfDocument implements IEventDispatcher, Closeable {
         return properties.appendMode;
     }
 
+    /**
+     * Returns {@code true} if only the incremental update is written to the output of the document,
+     * see {@link StampingProperties#useIncrementalUpdateOnly()}, and {@code false} otherwise.
+     *
+     * @return {@code true} if only the incremental update is written, and {@code false} otherwise.
+     */
+    public boolean isIncrementalUpdateOnly() {
+        checkClosingStatus();
+        return properties.incrementalUpdateOnly;
+    }
+
     /**
      * Creates next available indirect reference.
      *
@@ -867,6 +884,8 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                     addNewPage();
                 }
 
+                writer.compressPendingStreams();
+
                 PdfObject crypto = null;
                 final Set<PdfIndirectReference> forbiddenToFlush = new HashSet<>();
                 if (properties.appendMode) {
@@ -911,7 +930,8 @@ public class PdfDocument implements IEventDispatcher, Closeable {
 
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                        // references which have not been created yet could not be modified
+                        PdfIndirectReference indirectReference = xref.getCreated(i);
                         if (indirectReference != null && !indirectReference.isFree() && indirectReference.checkState(
                                 PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
                                 && !forbiddenToFlush.contains(indirectReference)) {
@@ -1001,9 +1021,13 @@ public class PdfDocument implements IEventDispatcher, Closeable {
             }
             catalog.getPageTree().clearPageRefs();
             removeAllHandlers();
+            flushCopyThroughStreams();
         } catch (IOException e) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_CLOSE_DOCUMENT, e, this);
         } finally {
+            if (writer != null) {
+                writer.finishStreamsCompression();
+            }
             if (writer != null && isCloseWriter()) {
                 try {
                     writer.close();
@@ -2094,10 +2118,16 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                 // Due to constructor reader and writer not null.
                 assert reader != null;
                 RandomAccessFileOrArray file = reader.tokens.getSafeFile();
-                int n;
-                byte[] buffer = new byte[8192];
-                while ((n = file.read(buffer)) > 0) {
-                    writer.write(buffer, 0, n);
+                if (properties.incrementalUpdateOnly) {
+                    // The file starts at the PDF header, the leading bytes before it, if any, are not counted, since
+                    // the offsets of the original document are relative to the header as well
+                    writer.skipBytes(file.length());
+                } else {
+                    int n;
+                    byte[] buffer = new byte[8192];
+                    while ((n = file.read(buffer)) > 0) {
+                        writer.write(buffer, 0, n);
+                    }
                 }
                 file.close();
                 writer.write((byte) '\n');
@@ -2323,6 +2353,35 @@ public class PdfDocument implements IEventDispatcher, Closeable {
         return encryptedEmbeddedStreamsHandler.isStreamStoredAsEmbedded(stream);
     }
 
+    /**
+     * Creates a buffer for a stream body using the {@link IPdfStreamStorage} of the writer, if any.
+     *
+     * @return buffer for a stream body.
+     */
+    ByteArrayOutputStream createStreamBody() {
+        IPdfStreamStorage storage = writer == null ? null : writer.properties.streamStorage;
+        return storage == null ? new ByteArrayOutputStream() : storage.createStreamBody();
+    }
+
+    /**
+     * Registers a stream which has been copied from this document and refers to the bytes of its file
+     * until the stream is written. The content of such streams is loaded in memory when this document is closed.
+     *
+     * @param stream the copied stream
+     */
+    void registerCopyThroughStream(PdfStream stream) {
+        if (copyThroughStreams == null) {
+            copyThroughStreams = Collections.newSetFromMap(new IdentityHashMap<PdfStream, Boolean>());
+        }
+        copyThroughStreams.add(stream);
+    }
+
+    void unregisterCopyThroughStream(PdfStream stream) {
+        if (copyThroughStreams != null) {
+            copyThroughStreams.remove(stream);
+        }
+    }
+
     boolean hasAcroForm() {
         return getCatalog().getPdfObject().containsKey(PdfName.AcroForm);
     }
@@ -2477,6 +2536,26 @@ public class PdfDocument implements IEventDispatcher, Closeable {
         names.setModified();
     }
 
+    /**
+     * Writes the streams copied from this document with their original bytes to the documents they were
+     * copied to, while the source bytes are still available. The streams which cannot be written at this moment
+     * get their bytes loaded in memory.
+     */
+    private void flushCopyThroughStreams() {
+        if (copyThroughStreams == null) {
+            return;
+        }
+        for (PdfStream stream : new ArrayList<>(copyThroughStreams)) {
+            PdfDocument destination = stream.getIndirectReference() == null
+                    ? null : stream.getIndirectReference().getDocument();
+            if (destination != null && !destination.isClosed() && destination.getWriter() != null) {
+                stream.flush(false);
+            }
+            stream.loadCopyThroughContent();
+        }
+        copyThroughStreams = null;
+    }
+
     private boolean writerHasEncryption() {
         return writer.properties.isStandardEncryptionUsed() || writer.properties.isPublicKeyEncryptionUsed();
     }
@@ -46,8 +46,8 @@ class PdfObjectStream extends PdfStream {
     protected PdfOutputStream indexStream;
 
     public PdfObjectStream(PdfDocument doc) {
-        this(doc, new ByteArrayOutputStream());
-        indexStream = new PdfOutputStream(new ByteArrayOutputStream());
+        this(doc, doc.createStreamBody());
+        indexStream = new PdfOutputStream(doc.createStreamBody());
     }
 
     /**
@@ -114,6 +114,23 @@ class PdfObjectStream extends PdfStream {
         releaseContent(false);
     }
 
+    /**
+     * Closes the buffers of the object stream, which are otherwise kept to be reused by the next object stream.
+     * NOTE Only for internal use in PdfWriter!
+     */
+    void closeBuffers() {
+        try {
+            if (outputStream != null) {
+                outputStream.close();
+            }
+            if (indexStream != null) {
+                indexStream.close();
+            }
+        } catch (java.io.IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+    }
+
     private void releaseContent(boolean close) {
         if (close) {
             outputStream = null;
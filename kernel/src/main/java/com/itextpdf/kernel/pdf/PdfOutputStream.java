@@ -35,6 +35,10 @@ import com.itextpdf.commons.utils.MessageFormatUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 public class PdfOutputStream extends OutputStream<PdfOutputStream> {
 
@@ -56,6 +60,15 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
      */
     protected PdfEncryption crypto;
 
+    /**
+     * Stream bodies which were compressed ahead of serialization by this writer,
+     * see {@link PdfWriter#compressPendingStreams()}.
+     */
+    private Set<PrecompressedStreamBody> precompressedBodies;
+    private long precompressedSize;
+    // The compressed copy of the stream body kept in this output stream, it is dropped on any write to the body
+    private PrecompressedStreamBody precompressedBody;
+
     /**
      * Create a pdfOutputSteam writing to the passed OutputStream.
      *
@@ -65,6 +78,70 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         super(outputStream);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) throws IOException {
+        dropPrecompressedBody();
+        super.write(b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b) throws IOException {
+        dropPrecompressedBody();
+        super.write(b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        dropPrecompressedBody();
+        super.write(b, off, len);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        dropPrecompressedBody();
+        super.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.io.OutputStream getOutputStream() {
+        // the underlying stream can be modified bypassing this one
+        dropPrecompressedBody();
+        return super.getOutputStream();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void assignBytes(byte[] bytes, int count) {
+        dropPrecompressedBody();
+        super.assignBytes(bytes, count);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        dropPrecompressedBody();
+        super.reset();
+    }
+
     /**
      * Write a PdfObject to the outputstream.
      *
@@ -299,7 +376,13 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 length.setValue((int) (getCurrentPos() - beginStreamContent));
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
+            } else if (pdfStream.getCopyThroughSource() != null && !checkEncryption(pdfStream)
+                    && !(toCompress && !containsFlateFilter(pdfStream) && decodeParamsArrayNotFlushed(pdfStream)
+                    && (allowCompression || userDefinedCompression))) {
+                writeCopyThroughStream(pdfStream);
             } else {
+                // Taken before the body is accessed, since any access to it invalidates the precompressed body
+                ByteArrayOutputStream precompressedBody = takePrecompressedBody(pdfStream);
                 //When document is opened in stamping mode the output stream can be uninitialized.
                 //We have to initialize it and write all data from streams input to streams output.
                 if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
@@ -319,21 +402,25 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                        byteArrayStream = precompressedBody;
+                        if (byteArrayStream == null) {
+                            byteArrayStream = createStreamBodyBuffer();
+                            DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream,
+                                    pdfStream.getCompressionLevel());
+                            if (pdfStream instanceof PdfObjectStream) {
+                                PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                                ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+                                ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            } else {
+                                assert pdfStream.getOutputStream() != null : "Error in outputStream";
+                                ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            }
+                            zip.finish();
                         }
-                        zip.finish();
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            byteArrayStream = new ByteArrayOutputStream();
+                            byteArrayStream = createStreamBodyBuffer();
                             ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
                             ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
                         } else {
@@ -342,10 +429,11 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                         }
                     }
                     if (checkEncryption(pdfStream)) {
-                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
+                        ByteArrayOutputStream encodedStream = createStreamBodyBuffer();
                         OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
                         byteArrayStream.writeTo(ose);
                         ose.finish();
+                        byteArrayStream.close();
                         byteArrayStream = encodedStream;
                     }
                 } catch (IOException ioe) {
@@ -364,6 +452,97 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Checks whether the body of the stream can be compressed ahead of its serialization, i.e.
+     * the body is kept in memory and will be compressed with the given level by {@link #write(PdfObject)}.
+     *
+     * @param pdfStream the stream to check
+     * @param compressionLevel the compression level the stream will be written with
+     * @return true if the stream body can be compressed independently of the writing thread, false otherwise
+     */
+    static boolean isPrecompressionCandidate(PdfStream pdfStream, int compressionLevel) {
+        if (compressionLevel == CompressionConstants.NO_COMPRESSION || pdfStream instanceof PdfObjectStream) {
+            return false;
+        }
+        if (pdfStream.getCopyThroughSource() != null) {
+            return false;
+        }
+        // the fields are accessed directly, since the public getters count as a modification of the body
+        if (pdfStream.getInputStream() != null || pdfStream.outputStream == null
+                || !(pdfStream.outputStream.outputStream instanceof ByteArrayOutputStream)) {
+            return false;
+        }
+        return !pdfStream.containsKey(PdfName.Filter) && !PdfName.Metadata.equals(pdfStream.getAsName(PdfName.Type));
+    }
+
+    /**
+     * Compresses the in-memory body of the stream into a buffer created by the {@link IPdfStreamStorage}
+     * of the document, if any. The stream itself is not modified, so the method may be called
+     * for different streams concurrently.
+     *
+     * @param pdfStream the stream which body shall be compressed
+     * @param compressionLevel the compression level to use
+     * @return the compressed body
+     */
+    PrecompressedStreamBody compressStreamBody(PdfStream pdfStream, int compressionLevel) {
+        ByteArrayOutputStream source = (ByteArrayOutputStream) pdfStream.outputStream.outputStream;
+        ByteArrayOutputStream compressed = createStreamBodyBuffer();
+        try {
+            DeflaterOutputStream zip = new DeflaterOutputStream(compressed, compressionLevel);
+            source.writeTo(zip);
+            zip.finish();
+        } catch (IOException e) {
+            closeQuietly(compressed);
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pdfStream);
+        }
+        return new PrecompressedStreamBody(compressed, compressionLevel);
+    }
+
+    /**
+     * Attaches the compressed body to the output stream which keeps the body of the stream.
+     * The compressed body is dropped as soon as anything is written to the body of the stream.
+     *
+     * @param pdfStream the stream which body has been compressed
+     * @param body the compressed body
+     */
+    void addPrecompressedBody(PdfStream pdfStream, PrecompressedStreamBody body) {
+        PdfOutputStream bodyStream = pdfStream.outputStream;
+        bodyStream.dropPrecompressedBody();
+        body.writer = this;
+        body.bodyStream = bodyStream;
+        bodyStream.precompressedBody = body;
+        if (precompressedBodies == null) {
+            precompressedBodies = Collections.newSetFromMap(new IdentityHashMap<PrecompressedStreamBody, Boolean>());
+        }
+        precompressedBodies.add(body);
+        precompressedSize += body.compressedBytes.size();
+    }
+
+    boolean hasPrecompressedBody(PdfStream pdfStream) {
+        return pdfStream.outputStream != null && pdfStream.outputStream.precompressedBody != null;
+    }
+
+    /**
+     * Drops all the compressed bodies which were not written, releasing the buffers they are kept in.
+     */
+    void releasePrecompressedBodies() {
+        if (precompressedBodies == null) {
+            return;
+        }
+        for (PrecompressedStreamBody body : new ArrayList<>(precompressedBodies)) {
+            body.bodyStream.dropPrecompressedBody();
+        }
+    }
+
+    /**
+     * Gets the total size of the compressed stream bodies which wait to be written.
+     *
+     * @return the size of the precompressed bodies in bytes
+     */
+    long getPrecompressedSize() {
+        return precompressedSize;
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || (crypto.isEmbeddedFilesOnly() && !document.doesStreamBelongToEmbeddedFile(pdfStream))) {
             return false;
@@ -551,6 +730,58 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         return bytes;
     }
 
+    private ByteArrayOutputStream createStreamBodyBuffer() {
+        return document != null ? document.createStreamBody() : new ByteArrayOutputStream();
+    }
+
+    private ByteArrayOutputStream takePrecompressedBody(PdfStream pdfStream) {
+        PdfOutputStream bodyStream = pdfStream.outputStream;
+        if (bodyStream == null || bodyStream.precompressedBody == null) {
+            return null;
+        }
+        if (pdfStream instanceof PdfObjectStream
+                || bodyStream.precompressedBody.compressionLevel != pdfStream.getCompressionLevel()) {
+            bodyStream.dropPrecompressedBody();
+            return null;
+        }
+        return bodyStream.detachPrecompressedBody().compressedBytes;
+    }
+
+    private PrecompressedStreamBody detachPrecompressedBody() {
+        PrecompressedStreamBody body = precompressedBody;
+        precompressedBody = null;
+        body.writer.precompressedBodies.remove(body);
+        body.writer.precompressedSize -= body.compressedBytes.size();
+        return body;
+    }
+
+    private void dropPrecompressedBody() {
+        if (precompressedBody != null) {
+            closeQuietly(detachPrecompressedBody().compressedBytes);
+        }
+    }
+
+    private static void closeQuietly(ByteArrayOutputStream buffer) {
+        try {
+            buffer.close();
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    private void writeCopyThroughStream(PdfStream pdfStream) throws IOException {
+        PdfStream source = pdfStream.getCopyThroughSource();
+        PdfReader reader = pdfStream.getCopyThroughReader();
+        pdfStream.releaseCopyThroughSource();
+        int length = Math.max(source.getLength(), 0);
+        pdfStream.put(PdfName.Length, new PdfNumber(length));
+        pdfStream.updateLength(length);
+        this.write((PdfDictionary) pdfStream);
+        writeBytes(PdfOutputStream.stream);
+        reader.writeRawStreamBytes(source, this);
+        writeBytes(PdfOutputStream.endstream);
+    }
+
     private static boolean isFlushed(PdfDictionary dict, PdfName name) {
         PdfObject obj = dict.get(name);
         return obj != null && obj.isFlushed();
@@ -567,4 +798,17 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
         return true;
     }
+
+    static final class PrecompressedStreamBody {
+        private final ByteArrayOutputStream compressedBytes;
+        private final int compressionLevel;
+        // the writer which is going to write the body and the output stream which keeps the uncompressed body
+        private PdfOutputStream writer;
+        private PdfOutputStream bodyStream;
+
+        PrecompressedStreamBody(ByteArrayOutputStream compressedBytes, int compressionLevel) {
+            this.compressedBytes = compressedBytes;
+            this.compressionLevel = compressionLevel;
+        }
+    }
 }
@@ -46,6 +46,7 @@ import com.itextpdf.kernel.xmp.XMPMetaFactory;
 import com.itextpdf.kernel.xmp.options.SerializeOptions;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -508,6 +509,7 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         } else if (resources.isModified() && !resources.isReadOnly()) {
             put(PdfName.Resources, resources.getPdfObject());
         }
+        compressStreamsBeforeFlushing(flushResourcesContentStreams);
         if (flushResourcesContentStreams) {
             getDocument().checkIsoConformance(this, IsoKey.PAGE);
             flushResourcesContentStreams();
@@ -735,6 +737,19 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
+    /**
+     * Gets the decoded content of the page as a stream, which reads the content streams one after another
+     * separating them with a new line character, as {@link #getContentBytes()} does.
+     * Unlike {@link #getContentBytes()} the whole content is never loaded in memory: the content streams are
+     * decoded one at a time, and the ones read from the document which are either not encoded or encoded with
+     * {@link PdfName#FlateDecode} filter without decode parameters are read and inflated on demand.
+     *
+     * @return the stream of the page content, which shall be closed by the caller
+     */
+    public InputStream getContentInputStream() {
+        return new ContentStreamsInputStream();
+    }
+
     /**
      * Gets decoded bytes of a certain stream of a page content.
      *
@@ -1355,6 +1370,35 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
+    private void compressStreamsBeforeFlushing(boolean flushResourcesContentStreams) {
+        PdfWriter writer = getDocument().getWriter();
+        if (writer == null) {
+            return;
+        }
+        List<PdfStream> streams = new ArrayList<>();
+        if (flushResourcesContentStreams) {
+            PdfDictionary xObjects = getResources().getPdfObject().getAsDictionary(PdfName.XObject);
+            if (xObjects != null && !xObjects.isFlushed()) {
+                for (PdfObject xObject : xObjects.values()) {
+                    if (xObject.getType() == PdfObject.STREAM && !xObject.isFlushed()) {
+                        streams.add((PdfStream) xObject);
+                    }
+                }
+            }
+        }
+        PdfObject contentsObj = getPdfObject().get(PdfName.Contents);
+        if (contentsObj != null && !contentsObj.isFlushed()) {
+            int contentStreamCount = getContentStreamCount();
+            for (int i = 0; i < contentStreamCount; i++) {
+                PdfStream contentStream = getContentStream(i);
+                if (contentStream != null) {
+                    streams.add(contentStream);
+                }
+            }
+        }
+        writer.compressStreams(streams);
+    }
+
     private void flushResourcesContentStreams() {
         flushResourcesContentStreams(getResources().getPdfObject());
 
@@ -1466,5 +1510,73 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
+    /**
+     * Reads the content streams of the page one after another, opening the next one only when
+     * the previous one is exhausted.
+     */
+    private final class ContentStreamsInputStream extends InputStream {
+        private final byte[] singleByte = new byte[1];
+        private int nextStreamIndex;
+        private InputStream currentStream;
+        private int lastByte = -1;
+        private boolean separatorPending;
+
+        @Override
+        public int read() throws IOException {
+            return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                if (separatorPending) {
+                    separatorPending = false;
+                    b[off] = (byte) '\n';
+                    return 1;
+                }
+                if (currentStream == null && !openNextStream()) {
+                    return -1;
+                }
+                int count = currentStream.read(b, off, len);
+                if (count > 0) {
+                    lastByte = b[off + count - 1] & 0xff;
+                    return count;
+                }
+                if (count < 0) {
+                    closeCurrentStream();
+                    separatorPending = lastByte != -1 && !Character.isWhitespace((char) lastByte);
+                    lastByte = -1;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeCurrentStream();
+            nextStreamIndex = getContentStreamCount();
+        }
 
+        private boolean openNextStream() throws IOException {
+            int streamCount = getContentStreamCount();
+            while (nextStreamIndex < streamCount) {
+                PdfStream stream = getContentStream(nextStreamIndex++);
+                if (stream != null) {
+                    currentStream = stream.openDecodedStream();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void closeCurrentStream() throws IOException {
+            if (currentStream != null) {
+                InputStream stream = currentStream;
+                currentStream = null;
+                stream.close();
+            }
+        }
+    }
 }
@@ -53,6 +53,7 @@ import java.util.HashSet;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.InflaterInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,6 +73,7 @@ public class PdfReader implements Closeable {
     private static final String endstream4 = "\rendstream";
     private static final byte[] endstream = ByteUtils.getIsoBytes("endstream");
     private static final byte[] endobj = ByteUtils.getIsoBytes("endobj");
+    private static final int RAW_STREAM_COPY_BUFFER_SIZE = 64 * 1024;
 
     protected static boolean correctStreamLength = true;
 
@@ -79,6 +81,10 @@ public class PdfReader implements Closeable {
 
     private boolean memorySavingMode;
 
+    private boolean lazyXrefLoading;
+
+    private ObjectStreamCache objectStreamCache;
+
     private StrictnessLevel strictnessLevel = DEFAULT_STRICTNESS_LEVEL;
 
     //indicate nearest first Indirect reference object which includes current reading the object, using for PdfString decrypt
@@ -224,6 +230,62 @@ public class PdfReader implements Closeable {
         return this;
     }
 
+    /**
+     * Defines if lazy xref loading is enabled.
+     * <p>
+     * By default lazy xref loading is disabled and {@link PdfIndirectReference} instances are created for all
+     * the cross-reference entries while the document is opened.
+     * <p>
+     * If lazy xref loading is enabled, offsets, generation numbers and object stream numbers of the entries
+     * are kept in primitive arrays and {@link PdfIndirectReference} instances are created only when
+     * the corresponding objects are requested. This makes opening of documents with huge number of objects
+     * cheaper if only a small part of the document is processed.
+     *
+     * @param lazyXrefLoading true to enable lazy xref loading, false to disable it.
+     * @return this {@link PdfReader} instance.
+     */
+    public PdfReader setLazyXrefLoading(boolean lazyXrefLoading) {
+        this.lazyXrefLoading = lazyXrefLoading;
+        return this;
+    }
+
+    /**
+     * Enables the cache of decoded object streams.
+     * <p>
+     * By default an object stream is decoded and tokenized each time one of its objects is read for the first time,
+     * e.g. again after the objects were released in memory saving mode.
+     * <p>
+     * If the cache is enabled, decoded bodies of object streams together with the offsets of their members
+     * are kept in a least recently used cache with the given total size.
+     *
+     * @param maxCacheSize the maximum total size in bytes of cached object streams, 0 to disable the cache
+     * @return this {@link PdfReader} instance.
+     */
+    public PdfReader setObjectStreamCacheSize(long maxCacheSize) {
+        this.objectStreamCache = maxCacheSize > 0 ? new ObjectStreamCache(maxCacheSize) : null;
+        return this;
+    }
+
+    /**
+     * Gets the number of times a decoded object stream was taken from the cache.
+     *
+     * @return number of cache hits, 0 if the cache is disabled
+     * @see #setObjectStreamCacheSize(long)
+     */
+    public long getObjectStreamCacheHitCount() {
+        return objectStreamCache == null ? 0 : objectStreamCache.getHitCount();
+    }
+
+    /**
+     * Gets the number of times an object stream was not found in the cache and was decoded.
+     *
+     * @return number of cache misses, 0 if the cache is disabled
+     * @see #setObjectStreamCacheSize(long)
+     */
+    public long getObjectStreamCacheMissCount() {
+        return objectStreamCache == null ? 0 : objectStreamCache.getMissCount();
+    }
+
     /**
      * Get the current {@link StrictnessLevel} of the reader.
      *
@@ -537,6 +599,43 @@ public class PdfReader implements Closeable {
         return tokens.getSafeFile();
     }
 
+    /**
+     * Creates a reader of another instance of the same document over the given source of its bytes,
+     * e.g. a view created by {@link RandomAccessFileOrArray#createSourceView()}, so that the document
+     * can be opened once more, for example to be read on another thread.
+     * <p>
+     * The reader is created with the same {@link ReaderProperties}, e.g. the password of an encrypted document,
+     * strictness level and unethical reading mode as this reader. The memory limits are the same as well,
+     * but they are tracked independently for the created reader.
+     *
+     * @param source the source of the document bytes
+     * @return the reader of another instance of the document
+     * @throws IOException if the reader cannot be created
+     */
+    public PdfReader createReaderOverSource(IRandomAccessSource source) throws IOException {
+        ReaderProperties workerProperties = new ReaderProperties();
+        workerProperties.password = properties.password;
+        workerProperties.certificate = properties.certificate;
+        workerProperties.certificateKey = properties.certificateKey;
+        workerProperties.certificateKeyProvider = properties.certificateKeyProvider;
+        workerProperties.externalDecryptionProcess = properties.externalDecryptionProcess;
+        if (properties.memoryLimitsAwareHandler != null) {
+            MemoryLimitsAwareHandler handler = new MemoryLimitsAwareHandler()
+                    .setMaxSizeOfSingleDecompressedPdfStream(
+                            properties.memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream())
+                    .setMaxSizeOfDecompressedPdfStreamsSum(
+                            properties.memoryLimitsAwareHandler.getMaxSizeOfDecompressedPdfStreamsSum());
+            handler.setMaxNumberOfElementsInXrefStructure(
+                    properties.memoryLimitsAwareHandler.getMaxNumberOfElementsInXrefStructure());
+            workerProperties.setMemoryLimitsAwareHandler(handler);
+        }
+        return new PdfReader(source, workerProperties)
+                .setStrictnessLevel(strictnessLevel)
+                .setUnethicalReading(unethicalReading)
+                .setMemorySavingMode(memorySavingMode)
+                .setLazyXrefLoading(lazyXrefLoading);
+    }
+
     /**
      * Provides the size of the opened file.
      *
@@ -728,6 +827,9 @@ public class PdfReader implements Closeable {
         } catch (IllegalArgumentException exc) {
             throw new PdfException(KernelExceptionMessageConstant.PDF_VERSION_IS_NOT_VALID, version);
         }
+        if (lazyXrefLoading) {
+            pdfDocument.getXref().enableLazyEntries(pdfDocument);
+        }
         try {
             readXref();
         } catch (XrefCycledReferencesException | MemoryLimitsAwareException | InvalidXRefPrevException ex) {
@@ -751,35 +853,24 @@ public class PdfReader implements Closeable {
 
     protected void readObjectStream(PdfStream objectStream) throws IOException {
         int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
-        int first = objectStream.getAsNumber(PdfName.First).intValue();
-        int n = objectStream.getAsNumber(PdfName.N).intValue();
-        byte[] bytes = readStreamBytes(objectStream, true);
+        ObjectStreamCache.DecodedObjectStream decoded = null;
+        if (objectStreamCache != null) {
+            decoded = objectStreamCache.get(objectStreamNumber);
+        }
         PdfTokenizer saveTokens = tokens;
         try {
-            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
-            int[] address = new int[n];
-            int[] objNumber = new int[n];
-            boolean ok = true;
-            for (int k = 0; k < n; ++k) {
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
+            if (decoded == null) {
+                decoded = decodeObjectStream(objectStream);
+                if (objectStreamCache != null) {
+                    objectStreamCache.put(objectStreamNumber, decoded);
                 }
-                objNumber[k] = tokens.getIntValue();
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                address[k] = tokens.getIntValue() + first;
+            } else {
+                tokens = new PdfTokenizer(new RandomAccessFileOrArray(
+                        new RandomAccessSourceFactory().createSource(decoded.getBytes())));
             }
-            if (!ok)
-                throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
+            int[] address = decoded.getAddresses();
+            int[] objNumber = decoded.getObjNumbers();
+            int n = objNumber.length;
             for (int k = 0; k < n; ++k) {
                 tokens.seek(address[k]);
                 tokens.nextToken();
@@ -1088,14 +1179,19 @@ public class PdfReader implements Closeable {
                     end--;
                     continue;
                 }
-                PdfIndirectReference reference = xref.get(num);
+                if (xref.hasLazyEntry(num)) {
+                    // the entry has been already defined by a more recent xref section
+                    continue;
+                }
+                PdfIndirectReference reference = xref.getCreated(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 // for references that are added by xref table itself (like 0 entry)
                 boolean refFirstEncountered = reference == null
                         || !refReadingState && reference.getDocument() == null;
+                boolean lazyEntry = refFirstEncountered && num != 0 && xref.isLazyEntriesEnabled();
 
                 if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
+                    reference = lazyEntry ? null : new PdfIndirectReference(pdfDocument, num, gen, pos);
                 } else if (refReadingState) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
@@ -1109,7 +1205,7 @@ public class PdfReader implements Closeable {
                                 KernelExceptionMessageConstant.FILE_POSITION_0_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
+                    if (refFirstEncountered && !lazyEntry) {
                         reference.setState(PdfObject.FREE);
                     }
                 } else {
@@ -1117,7 +1213,9 @@ public class PdfReader implements Closeable {
                             KernelExceptionMessageConstant.INVALID_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                 }
 
-                if (refFirstEncountered) {
+                if (lazyEntry) {
+                    xref.addLazyEntry(num, gen, pos, 0, tokens.tokenValueEqualsTo(PdfTokenizer.F));
+                } else if (refFirstEncountered) {
                     xref.add(reference);
                 }
             }
@@ -1218,33 +1316,47 @@ public class PdfReader implements Closeable {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
                     int base = start;
-                    PdfIndirectReference newReference;
+                    int genNr;
+                    long offset;
+                    int objStreamNumber;
                     switch (type) {
                         case 0:
-                            newReference = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, base, field3, field2).setState(PdfObject.FREE);
-                            break;
                         case 1:
-                            newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                            genNr = field3;
+                            offset = field2;
+                            objStreamNumber = 0;
                             break;
                         case 2:
-                            newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                            newReference.setObjStreamNumber((int) field2);
+                            genNr = 0;
+                            offset = field3;
+                            objStreamNumber = (int) field2;
                             break;
                         default:
                             throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_STREAM);
                     }
 
-                    PdfIndirectReference reference = xref.get(base);
-                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == newReference.getGenNumber();
+                    PdfIndirectReference reference = xref.getCreated(base);
+                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr;
                     // for references that are added by xref table itself (like 0 entry)
-                    boolean refFirstEncountered = reference == null
-                            || !refReadingState && reference.getDocument() == null;
+                    boolean refFirstEncountered = !xref.hasLazyEntry(base) && (reference == null
+                            || !refReadingState && reference.getDocument() == null);
 
                     if (refFirstEncountered) {
-                        xref.add(newReference);
+                        if (base != 0 && xref.isLazyEntriesEnabled()) {
+                            xref.addLazyEntry(base, genNr, offset, objStreamNumber, type == 0);
+                        } else {
+                            PdfIndirectReference newReference = new PdfIndirectReference(pdfDocument, base, genNr,
+                                    offset);
+                            if (type == 0) {
+                                newReference.setState(PdfObject.FREE);
+                            } else if (type == 2) {
+                                newReference.setObjStreamNumber(objStreamNumber);
+                            }
+                            xref.add(newReference);
+                        }
                     } else if (refReadingState) {
-                        reference.setOffset(newReference.getOffset());
-                        reference.setObjStreamNumber(newReference.getObjStreamNumber());
+                        reference.setOffset(offset);
+                        reference.setObjStreamNumber(objStreamNumber);
                         reference.clearState(PdfObject.READING);
                     }
                     ++start;
@@ -1343,6 +1455,96 @@ public class PdfReader implements Closeable {
         }
     }
 
+    /**
+     * Checks whether the bytes of the stream can be transferred to another document as they are stored in the file.
+     * This is not possible for encrypted documents or for streams which were not read from the file.
+     * The length of the stream is corrected if needed.
+     *
+     * @param stream a {@link PdfStream} stream instance read by this reader
+     * @return true if the stream bytes can be copied with {@link #writeRawStreamBytes(PdfStream, java.io.OutputStream)}
+     * @throws IOException on error
+     */
+    boolean prepareRawStreamCopy(PdfStream stream) throws IOException {
+        if (encrypted || stream.getOffset() <= 0) {
+            return false;
+        }
+        checkPdfStreamLength(stream);
+        return true;
+    }
+
+    /**
+     * Writes the bytes of the stream to the given output stream as they are stored in the file,
+     * i.e. without decryption and decoding. The bytes are transferred in chunks,
+     * so the whole stream is never loaded in memory.
+     *
+     * @param stream a {@link PdfStream} stream instance read by this reader
+     * @param out the output stream to write the bytes to
+     * @throws IOException on error
+     */
+    void writeRawStreamBytes(PdfStream stream, java.io.OutputStream out) throws IOException {
+        int length = stream.getLength();
+        if (length <= 0) {
+            return;
+        }
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        byte[] buffer = new byte[Math.min(length, RAW_STREAM_COPY_BUFFER_SIZE)];
+        try {
+            file.seek(stream.getOffset());
+            int remaining = length;
+            while (remaining > 0) {
+                int chunk = Math.min(remaining, buffer.length);
+                file.readFully(buffer, 0, chunk);
+                out.write(buffer, 0, chunk);
+                remaining -= chunk;
+            }
+        } finally {
+            try {
+                file.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * Opens the decoded bytes of the stream for reading without loading them fully in memory where possible,
+     * i.e. if the stream is not encrypted and is either not encoded or encoded with
+     * {@link PdfName#FlateDecode} filter without decode parameters. Such streams are read from the file and
+     * inflated on demand. Any other stream is read and decoded fully as {@link #readStreamBytes(PdfStream, boolean)}
+     * does.
+     *
+     * @param stream a {@link PdfStream} stream instance read by this reader
+     * @return the stream of the decoded bytes, which shall be closed by the caller
+     * @throws IOException on error
+     */
+    InputStream readDecodedStream(PdfStream stream) throws IOException {
+        PdfObject filter = stream.get(PdfName.Filter);
+        if (filter instanceof PdfArray && ((PdfArray) filter).size() == 1) {
+            filter = ((PdfArray) filter).get(0);
+        }
+        boolean isFlateEncoded = PdfName.FlateDecode.equals(filter) || PdfName.Fl.equals(filter);
+        boolean canBeReadLazily = decrypt == null && (filter == null || isFlateEncoded)
+                && stream.get(PdfName.DecodeParms) == null && stream.get(PdfName.DP) == null;
+        if (canBeReadLazily) {
+            checkPdfStreamLength(stream);
+            canBeReadLazily = stream.getOffset() > 0;
+        }
+        if (!canBeReadLazily) {
+            byte[] bytes = readStreamBytes(stream, true);
+            return new ByteArrayInputStream(bytes == null ? new byte[0] : bytes);
+        }
+        if (!isFlateEncoded) {
+            return openRawStream(stream);
+        }
+        MemoryLimitsAwareHandler memoryLimitsAwareHandler = stream.getIndirectReference() == null
+                ? null : stream.getIndirectReference().getDocument().memoryLimitsAwareHandler;
+        return new LenientInflaterInputStream(this, stream, memoryLimitsAwareHandler);
+    }
+
+    private InputStream openRawStream(PdfStream stream) {
+        return new RASInputStream(new WindowRandomAccessSource(
+                tokens.getSafeFile().createSourceView(), stream.getOffset(), Math.max(stream.getLength(), 0)));
+    }
+
     private boolean isCurrentObjectATrailer() {
         try {
             final PdfDictionary dic = (PdfDictionary) readObject(false);
@@ -1465,6 +1667,41 @@ public class PdfReader implements Closeable {
         }
     }
 
+    /**
+     * Decodes the object stream and reads the object numbers and offsets of its members.
+     * The tokenizer of the reader is replaced with the one over the decoded bytes.
+     */
+    private ObjectStreamCache.DecodedObjectStream decodeObjectStream(PdfStream objectStream) throws IOException {
+        int first = objectStream.getAsNumber(PdfName.First).intValue();
+        int n = objectStream.getAsNumber(PdfName.N).intValue();
+        byte[] bytes = readStreamBytes(objectStream, true);
+        tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+        int[] address = new int[n];
+        int[] objNumber = new int[n];
+        boolean ok = true;
+        for (int k = 0; k < n; ++k) {
+            ok = tokens.nextToken();
+            if (!ok)
+                break;
+            if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            objNumber[k] = tokens.getIntValue();
+            ok = tokens.nextToken();
+            if (!ok)
+                break;
+            if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            address[k] = tokens.getIntValue() + first;
+        }
+        if (!ok)
+            throw new PdfException(KernelExceptionMessageConstant.ERROR_WHILE_READING_OBJECT_STREAM);
+        return new ObjectStreamCache.DecodedObjectStream(bytes, objNumber, address);
+    }
+
     private void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
         if (!correctStreamLength)
             return;
@@ -1639,4 +1876,98 @@ public class PdfReader implements Closeable {
             return compareWith == null || this.levelValue > compareWith.levelValue;
         }
     }
+
+    /**
+     * Inflates the stream on demand. If the compressed data turns out to be corrupted, the stream is inflated
+     * once again from the beginning byte by byte and the bytes which can be inflated before the corrupted data
+     * are read, as {@link com.itextpdf.kernel.pdf.filters.FlateDecodeFilter} does in the non-strict mode.
+     * The inflated bytes are counted against the limits of the {@link MemoryLimitsAwareHandler} of the document.
+     */
+    private static final class LenientInflaterInputStream extends InputStream {
+        private final PdfReader reader;
+        private final PdfStream stream;
+        private final MemoryLimitsAwareHandler memoryLimitsAwareHandler;
+        private final byte[] singleByte = new byte[1];
+        private InflaterInputStream inflaterStream;
+        private boolean nonStrict;
+        private long bytesRead;
+        private boolean finished;
+
+        LenientInflaterInputStream(PdfReader reader, PdfStream stream,
+                MemoryLimitsAwareHandler memoryLimitsAwareHandler) {
+            this.reader = reader;
+            this.stream = stream;
+            this.memoryLimitsAwareHandler = memoryLimitsAwareHandler;
+            this.inflaterStream = new InflaterInputStream(reader.openRawStream(stream));
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int count;
+            if (nonStrict) {
+                count = readNonStrict(b, off);
+            } else {
+                try {
+                    count = inflaterStream.read(b, off, len);
+                } catch (IOException e) {
+                    switchToNonStrictMode();
+                    count = readNonStrict(b, off);
+                }
+            }
+            if (count < 0) {
+                finish();
+            } else {
+                bytesRead += count;
+                if (memoryLimitsAwareHandler != null
+                        && bytesRead > memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream()) {
+                    throw new MemoryLimitsAwareException(KernelExceptionMessageConstant
+                            .DURING_DECOMPRESSION_SINGLE_STREAM_OCCUPIED_MORE_MEMORY_THAN_ALLOWED);
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflaterStream.close();
+        }
+
+        private void switchToNonStrictMode() throws IOException {
+            inflaterStream.close();
+            nonStrict = true;
+            inflaterStream = new InflaterInputStream(reader.openRawStream(stream));
+            // the bytes which have been read already are inflated once again and skipped
+            for (long i = 0; i < bytesRead; i++) {
+                if (readNonStrict(singleByte, 0) < 0) {
+                    break;
+                }
+            }
+        }
+
+        private int readNonStrict(byte[] b, int off) {
+            try {
+                return inflaterStream.read(b, off, 1);
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            if (memoryLimitsAwareHandler != null) {
+                memoryLimitsAwareHandler.considerBytesOfPdfStreamDecompressedOnDemand(bytesRead);
+            }
+        }
+    }
 }
@@ -30,6 +30,7 @@ import com.itextpdf.kernel.utils.NullCopyFilter;
 
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -45,6 +46,9 @@ public class PdfStream extends PdfDictionary {
     private InputStream inputStream;
     private long offset;
     private int length = -1;
+    // The stream of another document which bytes are written as is instead of the content of this stream.
+    private PdfStream copyThroughSource;
+    private PdfReader copyThroughReader;
 
     /**
      * Constructs a {@code PdfStream}-object.
@@ -160,12 +164,29 @@ public class PdfStream extends PdfDictionary {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the writer of the document has a {@link IPdfStreamStorage} configured,
+     * the content of the stream is moved to a buffer created by this storage.
+     */
+    @Override
+    public PdfObject makeIndirect(PdfDocument document, PdfIndirectReference reference) {
+        boolean wasDirect = getIndirectReference() == null;
+        super.makeIndirect(document, reference);
+        if (wasDirect && getIndirectReference() != null) {
+            moveBodyToStreamStorage(document);
+        }
+        return this;
+    }
+
     /**
      * Gets output stream.
      *
      * @return output stream
      */
     public PdfOutputStream getOutputStream() {
+        loadCopyThroughContent();
         return outputStream;
     }
 
@@ -226,6 +247,7 @@ public class PdfStream extends PdfDictionary {
                     "getBytes() always returns null in this case");
             return null;
         }
+        loadCopyThroughContent();
         byte[] bytes = null;
         if (outputStream != null && outputStream.getOutputStream() != null) {
             assert outputStream.getOutputStream() instanceof ByteArrayOutputStream
@@ -285,6 +307,11 @@ public class PdfStream extends PdfDictionary {
                     KernelExceptionMessageConstant.CANNOT_SET_DATA_TO_PDF_STREAM_WHICH_WAS_CREATED_BY_INPUT_STREAM);
         }
 
+        if (append) {
+            loadCopyThroughContent();
+        } else {
+            releaseCopyThroughSource();
+        }
         boolean outputStreamIsUninitialized = outputStream == null;
         if (outputStreamIsUninitialized) {
             outputStream = new PdfOutputStream(new ByteArrayOutputStream());
@@ -353,6 +380,13 @@ public class PdfStream extends PdfDictionary {
         super.copyContent(from, document, copyFilter);
         PdfStream stream = (PdfStream) from;
         assert inputStream == null : "Try to copy the PdfStream that has been just created.";
+        PdfReader reader = getCopyThroughReader(stream, document);
+        if (reader != null) {
+            copyThroughSource = stream;
+            copyThroughReader = reader;
+            reader.pdfDocument.registerCopyThroughStream(this);
+            return;
+        }
         byte[] bytes = stream.getBytes(false);
         try {
             outputStream.write(bytes);
@@ -371,6 +405,7 @@ public class PdfStream extends PdfDictionary {
      */
     protected void releaseContent() {
         super.releaseContent();
+        releaseCopyThroughSource();
         try {
             if (outputStream != null) {
                 outputStream.close();
@@ -384,4 +419,109 @@ public class PdfStream extends PdfDictionary {
     protected InputStream getInputStream() {
         return inputStream;
     }
+
+    /**
+     * Opens the decoded bytes of the stream for reading. If the stream was read from the document and
+     * has not been modified since then, its bytes are read from the document on demand,
+     * see {@link PdfReader#readDecodedStream(PdfStream)}. Otherwise the stream is decoded as
+     * {@link #getBytes()} does.
+     *
+     * @return the stream of the decoded bytes, which shall be closed by the caller
+     * @throws IOException on error
+     */
+    InputStream openDecodedStream() throws IOException {
+        if (isFlushed()) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPERATE_WITH_FLUSHED_PDF_STREAM);
+        }
+        PdfReader reader = getIndirectReference() == null ? null : getIndirectReference().getReader();
+        if (reader != null && inputStream == null && copyThroughSource == null
+                && (outputStream == null || outputStream.getOutputStream() == null)) {
+            return reader.readDecodedStream(this);
+        }
+        byte[] bytes = getBytes();
+        return new ByteArrayInputStream(bytes == null ? new byte[0] : bytes);
+    }
+
+    /**
+     * Gets the stream of another document which bytes shall be written as is instead of the content of this stream.
+     *
+     * @return the source stream, or {@code null} if the content of this stream is not copied through
+     */
+    PdfStream getCopyThroughSource() {
+        return copyThroughSource;
+    }
+
+    /**
+     * Gets the reader of the document the copy-through source stream belongs to.
+     *
+     * @return the reader, or {@code null} if the content of this stream is not copied through
+     */
+    PdfReader getCopyThroughReader() {
+        return copyThroughReader;
+    }
+
+    /**
+     * Loads the bytes of the copy-through source stream, if any, into the output stream of this stream.
+     */
+    void loadCopyThroughContent() {
+        if (copyThroughSource == null) {
+            return;
+        }
+        PdfStream source = copyThroughSource;
+        PdfReader reader = copyThroughReader;
+        releaseCopyThroughSource();
+        try {
+            reader.writeRawStreamBytes(source, outputStream);
+        } catch (IOException ioe) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_COPY_OBJECT_CONTENT, ioe, source);
+        }
+    }
+
+    /**
+     * Detaches this stream from its copy-through source stream without loading the source bytes.
+     */
+    void releaseCopyThroughSource() {
+        if (copyThroughSource != null) {
+            copyThroughReader.pdfDocument.unregisterCopyThroughStream(this);
+            copyThroughSource = null;
+            copyThroughReader = null;
+        }
+    }
+
+    /**
+     * Gets the reader which bytes of the stream can be copied through to the given document with,
+     * i.e. written as is without decoding and buffering them in memory.
+     */
+    private static PdfReader getCopyThroughReader(PdfStream stream, PdfDocument document) {
+        if (document == null || document.getWriter() == null || !document.getWriter().properties.streamCopyThrough
+                || stream.inputStream != null || stream.outputStream != null || stream.getIndirectReference() == null) {
+            return null;
+        }
+        PdfReader reader = stream.getIndirectReference().getReader();
+        if (reader == null || reader.pdfDocument.isClosed()) {
+            return null;
+        }
+        try {
+            return reader.prepareRawStreamCopy(stream) ? reader : null;
+        } catch (IOException ioe) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_COPY_OBJECT_CONTENT, ioe, stream);
+        }
+    }
+
+    private void moveBodyToStreamStorage(PdfDocument document) {
+        IPdfStreamStorage storage = document.getWriter().properties.streamStorage;
+        if (storage == null || outputStream == null || outputStream.getOutputStream() == null
+                || outputStream.getOutputStream().getClass() != ByteArrayOutputStream.class) {
+            return;
+        }
+        ByteArrayOutputStream heapBody = (ByteArrayOutputStream) outputStream.getOutputStream();
+        PdfOutputStream storageOutputStream = new PdfOutputStream(storage.createStreamBody());
+        try {
+            heapBody.writeTo(storageOutputStream);
+        } catch (IOException ioe) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, ioe, this);
+        }
+        storageOutputStream.document = outputStream.document;
+        outputStream = storageOutputStream;
+    }
 }
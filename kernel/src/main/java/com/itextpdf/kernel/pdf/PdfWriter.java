@@ -24,22 +24,35 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.utils.ICopyFilter;
 import com.itextpdf.kernel.utils.NullCopyFilter;
 
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PdfWriter extends PdfOutputStream {
     private static final byte[] obj = ByteUtils.getIsoBytes(" obj\n");
     private static final byte[] endobj = ByteUtils.getIsoBytes("\nendobj\n");
+    /**
+     * The maximum total size of the stream bodies which are compressed ahead of their serialization
+     * and wait to be written.
+     */
+    private static final long MAX_PRECOMPRESSED_SIZE = 32L * 1024 * 1024;
 
     protected WriterProperties properties;
     //forewarned is forearmed
@@ -59,6 +72,11 @@ public class PdfWriter extends PdfOutputStream {
      * Is used in smart mode to serialize and store serialized objects content.
      */
     private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    /**
+     * Streams which bodies are going to be compressed ahead of their serialization, in the order of writing.
+     */
+    private final LinkedList<PdfStream> pendingPrecompression = new LinkedList<>();
+    private ExecutorService compressionExecutor;
 
     /**
      * Create a PdfWriter writing to the passed File and with default writer properties.
@@ -293,6 +311,10 @@ public class PdfWriter extends PdfOutputStream {
      * @param pdfObj object to write.
      */
     protected void writeToBody(PdfObject pdfObj) {
+        if (pdfObj.getType() == PdfObject.STREAM && !pendingPrecompression.isEmpty()
+                && getPrecompressedSize() <= MAX_PRECOMPRESSED_SIZE / 2) {
+            compressNextStreamsBatch();
+        }
         if (crypto != null) {
             crypto.setHashKeyForNextObject(pdfObj.getIndirectReference().getObjNumber(),
                     pdfObj.getIndirectReference().getGenNumber());
@@ -325,7 +347,7 @@ public class PdfWriter extends PdfOutputStream {
         while (needFlush) {
             needFlush = false;
             for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+                PdfIndirectReference indirectReference = xref.getCreated(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
                         && !forbiddenToFlush.contains(indirectReference)) {
@@ -339,6 +361,7 @@ public class PdfWriter extends PdfOutputStream {
         }
         if (objectStream != null && objectStream.getSize() > 0) {
             objectStream.flush();
+            objectStream.closeBuffers();
             objectStream = null;
         }
     }
@@ -352,7 +375,7 @@ public class PdfWriter extends PdfOutputStream {
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+            PdfIndirectReference indirectReference = xref.getCreated(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(
                     indirectReference)) {
                 boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
@@ -368,10 +391,68 @@ public class PdfWriter extends PdfOutputStream {
         }
         if (objectStream != null && objectStream.getSize() > 0) {
             objectStream.flush();
+            objectStream.closeBuffers();
             objectStream = null;
         }
     }
 
+    /**
+     * Compresses the bodies of all the streams which are waiting to be written on a pool of worker threads,
+     * if {@link WriterProperties#setStreamCompressionParallelism(int)} is greater than 1.
+     * The compressed bodies are consumed later on when the streams are serialized in the order of objects,
+     * so the resultant document does not depend on the number of threads. Not more than
+     * {@link #MAX_PRECOMPRESSED_SIZE} bytes of stream bodies are compressed at once, the rest of the streams
+     * are compressed in batches as the previously compressed bodies are written.
+     */
+    void compressPendingStreams() {
+        if (properties.streamCompressionParallelism <= 1) {
+            return;
+        }
+        PdfXrefTable xref = document.getXref();
+        boolean onlyModified = document.isAppendMode();
+        pendingPrecompression.clear();
+        for (int i = 1; i < xref.size(); i++) {
+            PdfIndirectReference indirectReference = xref.getCreated(i);
+            if (indirectReference == null || indirectReference.isFree()
+                    || indirectReference.checkState(PdfObject.FLUSHED)
+                    || onlyModified && !indirectReference.checkState(PdfObject.MODIFIED)) {
+                continue;
+            }
+            PdfObject obj = indirectReference.getRefersTo(false);
+            if (obj != null && obj.getType() == PdfObject.STREAM) {
+                pendingPrecompression.add((PdfStream) obj);
+            }
+        }
+        compressNextStreamsBatch();
+    }
+
+    /**
+     * Compresses the bodies of the passed streams on a pool of worker threads ahead of their flushing,
+     * if {@link WriterProperties#setStreamCompressionParallelism(int)} is greater than 1.
+     *
+     * @param streams the streams which are about to be flushed
+     */
+    void compressStreams(List<PdfStream> streams) {
+        if (properties.streamCompressionParallelism <= 1 || streams.size() < 2) {
+            return;
+        }
+        pendingPrecompression.addAll(0, streams);
+        compressNextStreamsBatch();
+    }
+
+    /**
+     * Stops compressing the stream bodies ahead of serialization, releases the worker threads
+     * and the compressed bodies which have not been written.
+     */
+    void finishStreamsCompression() {
+        pendingPrecompression.clear();
+        releasePrecompressedBodies();
+        if (compressionExecutor != null) {
+            compressionExecutor.shutdownNow();
+            compressionExecutor = null;
+        }
+    }
+
     /**
      * Gets the current object stream.
      *
@@ -411,6 +492,95 @@ public class PdfWriter extends PdfOutputStream {
         }
     }
 
+    /**
+     * Moves the current position forward without writing anything, so that the offsets of the objects
+     * written afterwards are calculated as if the skipped bytes precede them in the output.
+     *
+     * @param length the number of bytes to skip
+     */
+    void skipBytes(long length) {
+        currentPos += length;
+    }
+
+    private void compressNextStreamsBatch() {
+        final List<PdfStream> streams = new ArrayList<>();
+        final List<Integer> levels = new ArrayList<>();
+        long batchSize = getPrecompressedSize();
+        while (!pendingPrecompression.isEmpty()) {
+            PdfStream stream = pendingPrecompression.getFirst();
+            int level = stream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION
+                    ? stream.getCompressionLevel() : getCompressionLevel();
+            if (stream.isFlushed() || hasPrecompressedBody(stream) || !isPrecompressionCandidate(stream, level)) {
+                pendingPrecompression.removeFirst();
+                continue;
+            }
+            long size = ((ByteArrayOutputStream) stream.outputStream.getOutputStream()).size();
+            if (batchSize + size > MAX_PRECOMPRESSED_SIZE) {
+                if (streams.isEmpty() && size > MAX_PRECOMPRESSED_SIZE) {
+                    // Too large to be held in advance, will be compressed on writing
+                    pendingPrecompression.removeFirst();
+                    continue;
+                }
+                break;
+            }
+            pendingPrecompression.removeFirst();
+            streams.add(stream);
+            levels.add(level);
+            batchSize += size;
+        }
+        if (streams.size() < 2) {
+            return;
+        }
+        if (compressionExecutor == null) {
+            // the threads are daemon ones, so that a writer which is not closed doesn't prevent the JVM from exiting
+            compressionExecutor = Executors.newFixedThreadPool(properties.streamCompressionParallelism, runnable -> {
+                Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        List<Future<PrecompressedStreamBody>> bodies = new ArrayList<>(streams.size());
+        for (int i = 0; i < streams.size(); i++) {
+            final PdfStream stream = streams.get(i);
+            final int level = (int) levels.get(i);
+            bodies.add(compressionExecutor.submit(() -> compressStreamBody(stream, level)));
+        }
+        // All the bodies are awaited, so that none of the buffers they are kept in is left unreleased
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (int i = 0; i < streams.size(); i++) {
+            PrecompressedStreamBody body = null;
+            while (true) {
+                try {
+                    body = bodies.get(i).get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                }
+            }
+            if (body != null) {
+                addPrecompressedBody(streams.get(i), body);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, failure);
+        }
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
@@ -48,6 +48,10 @@ public class PdfXrefTable {
     private static final int INITIAL_CAPACITY = 32;
     private static final int MAX_GENERATION = 65535;
 
+    private static final byte NO_LAZY_ENTRY = 0;
+    private static final byte LAZY_IN_USE_ENTRY = 1;
+    private static final byte LAZY_FREE_ENTRY = 2;
+
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
@@ -56,6 +60,16 @@ public class PdfXrefTable {
     private boolean readingCompleted;
     private MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
+    /**
+     * Entries which were read from the document but for which {@link PdfIndirectReference} instances
+     * have not been created yet. Used only if lazy xref loading is enabled in {@link PdfReader}.
+     */
+    private PdfDocument lazyDocument;
+    private byte[] lazyEntryTypes;
+    private long[] lazyOffsets;
+    private int[] lazyGenerations;
+    private int[] lazyObjStreamNumbers;
+
     /**
      * Free references linked list is stored in a form of a map, where:
      * key - free reference obj number;
@@ -132,6 +146,9 @@ public class PdfXrefTable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (lazyEntryTypes != null) {
+            lazyEntryTypes[objNr] = NO_LAZY_ENTRY;
+        }
         return reference;
     }
 
@@ -157,6 +174,13 @@ public class PdfXrefTable {
                 countOfIndirectObjects++;
             }
         }
+        if (lazyEntryTypes != null) {
+            for (final byte lazyEntryType : lazyEntryTypes) {
+                if (lazyEntryType == LAZY_IN_USE_ENTRY) {
+                    countOfIndirectObjects++;
+                }
+            }
+        }
 
         return countOfIndirectObjects;
     }
@@ -171,7 +195,11 @@ public class PdfXrefTable {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && lazyEntryTypes != null && lazyEntryTypes[index] != NO_LAZY_ENTRY) {
+            reference = createReferenceFromLazyEntry(index);
+        }
+        return reference;
     }
 
     /**
@@ -271,7 +299,7 @@ public class PdfXrefTable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
+                PdfIndirectReference lastRef = get(i);
                 if (lastRef == null || lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
@@ -424,6 +452,69 @@ public class PdfXrefTable {
         return readingCompleted;
     }
 
+    /**
+     * Enables storing of the entries read from the document in primitive arrays. {@link PdfIndirectReference}
+     * instances for such entries are created only when they are requested via {@link #get(int)}.
+     *
+     * @param document is the {@link PdfDocument document} the created references will belong to
+     */
+    void enableLazyEntries(PdfDocument document) {
+        lazyDocument = document;
+        lazyEntryTypes = new byte[xref.length];
+        lazyOffsets = new long[xref.length];
+        lazyGenerations = new int[xref.length];
+        lazyObjStreamNumbers = new int[xref.length];
+    }
+
+    /**
+     * Checks if entries read from the document are stored in primitive arrays.
+     *
+     * @return true if lazy entries are enabled, false otherwise
+     */
+    boolean isLazyEntriesEnabled() {
+        return lazyEntryTypes != null;
+    }
+
+    /**
+     * Adds an entry read from the document without creating {@link PdfIndirectReference} instance for it.
+     *
+     * @param objNr           object number
+     * @param genNr           generation number
+     * @param offset          offset of the object in the file, or its index in the object stream
+     * @param objStreamNumber number of the object stream containing the object, or 0
+     * @param free            true if the entry is free
+     */
+    void addLazyEntry(int objNr, int genNr, long offset, int objStreamNumber, boolean free) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        xref[objNr] = null;
+        lazyEntryTypes[objNr] = free ? LAZY_FREE_ENTRY : LAZY_IN_USE_ENTRY;
+        lazyOffsets[objNr] = offset;
+        lazyGenerations[objNr] = genNr;
+        lazyObjStreamNumbers[objNr] = objStreamNumber;
+    }
+
+    /**
+     * Checks if there is an entry for the given object number for which {@link PdfIndirectReference}
+     * instance has not been created yet.
+     *
+     * @param objNr object number
+     * @return true if there is such entry, false otherwise
+     */
+    boolean hasLazyEntry(int objNr) {
+        return lazyEntryTypes != null && objNr <= count && lazyEntryTypes[objNr] != NO_LAZY_ENTRY;
+    }
+
+    /**
+     * Gets the reference to the indirect object only if it has been already created.
+     *
+     * @param objNr object number
+     * @return created reference or {@code null}
+     */
+    PdfIndirectReference getCreated(int objNr) {
+        return objNr > count ? null : xref[objNr];
+    }
+
     /**
      * Set up appropriate state for the free references list.
      *
@@ -436,8 +527,7 @@ public class PdfXrefTable {
         xref[0].setState(PdfObject.FREE);
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size(); ++i) {
-            PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (hasLazyEntry(i) ? lazyEntryTypes[i] == LAZY_FREE_ENTRY : xref[i] == null || xref[i].isFree()) {
                 freeReferences.add(i);
             }
         }
@@ -448,18 +538,18 @@ public class PdfXrefTable {
             if (prevFreeRef.getOffset() <= Integer.MAX_VALUE) {
                 currFreeRefObjNr = (int) prevFreeRef.getOffset();
             }
-            if (!freeReferences.contains(currFreeRefObjNr) || xref[currFreeRefObjNr] == null) {
+            if (!freeReferences.contains(currFreeRefObjNr) || get(currFreeRefObjNr) == null) {
                 break;
             }
 
             freeReferencesLinkedList.put(currFreeRefObjNr, prevFreeRef);
-            prevFreeRef = xref[currFreeRefObjNr];
+            prevFreeRef = get(currFreeRefObjNr);
             freeReferences.remove(currFreeRefObjNr);
         }
 
         while (!freeReferences.<Integer>isEmpty()) {
             int next = freeReferences.pollFirst();
-            if (xref[next] == null) {
+            if (get(next) == null) {
                 if (pdfDocument.properties.appendMode) {
                     continue;
                 }
@@ -502,6 +592,13 @@ public class PdfXrefTable {
             }
             xref[i] = null;
         }
+        if (lazyEntryTypes != null) {
+            for (int i = 1; i <= count; i++) {
+                if (lazyEntryTypes[i] == LAZY_IN_USE_ENTRY) {
+                    lazyEntryTypes[i] = NO_LAZY_ENTRY;
+                }
+            }
+        }
         count = 1;
     }
 
@@ -510,7 +607,8 @@ public class PdfXrefTable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            // entries which were not requested could not be modified
+            PdfIndirectReference reference = document.properties.appendMode ? xref[i] : get(i);
             if (document.properties.appendMode && reference != null &&
                     (!reference.checkState(PdfObject.MODIFIED) || (dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0))) {
                 reference = null;
@@ -629,5 +727,25 @@ public class PdfXrefTable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(this.xref, 0, newXref, 0, this.xref.length);
         this.xref = newXref;
+        if (lazyEntryTypes != null) {
+            lazyEntryTypes = Arrays.copyOf(lazyEntryTypes, capacity);
+            lazyOffsets = Arrays.copyOf(lazyOffsets, capacity);
+            lazyGenerations = Arrays.copyOf(lazyGenerations, capacity);
+            lazyObjStreamNumbers = Arrays.copyOf(lazyObjStreamNumbers, capacity);
+        }
+    }
+
+    private PdfIndirectReference createReferenceFromLazyEntry(int objNr) {
+        PdfIndirectReference reference = new PdfIndirectReference(lazyDocument, objNr, lazyGenerations[objNr],
+                lazyOffsets[objNr]);
+        if (lazyObjStreamNumbers[objNr] != 0) {
+            reference.setObjStreamNumber(lazyObjStreamNumbers[objNr]);
+        }
+        if (lazyEntryTypes[objNr] == LAZY_FREE_ENTRY) {
+            reference.setState(PdfObject.FREE);
+        }
+        lazyEntryTypes[objNr] = NO_LAZY_ENTRY;
+        xref[objNr] = reference;
+        return reference;
     }
 }
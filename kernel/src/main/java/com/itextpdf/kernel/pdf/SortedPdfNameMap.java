@@ -0,0 +1,300 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact map which is used as a storage of {@link PdfDictionary} entries.
+ * <p>
+ * Keys and values are kept in two parallel arrays sorted by keys, so the iteration order is the same
+ * as for {@link java.util.TreeMap}, while no node object is allocated per entry. Lookups use binary search
+ * with a check of key identity before comparison, which is cheap for interned names like {@link PdfName#Type}.
+ * The map is intended for the typical dictionaries of several entries; insertions into large maps cost
+ * linear time.
+ */
+final class SortedPdfNameMap extends AbstractMap<PdfName, PdfObject> {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final PdfName[] EMPTY_KEYS = new PdfName[0];
+    private static final PdfObject[] EMPTY_VALUES = new PdfObject[0];
+
+    private PdfName[] keys = EMPTY_KEYS;
+    private PdfObject[] values = EMPTY_VALUES;
+    private int size;
+    private int modCount;
+    private Set<Map.Entry<PdfName, PdfObject>> entrySet;
+
+    SortedPdfNameMap() {
+        // empty constructor
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public PdfObject get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public PdfObject put(PdfName key, PdfObject value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            PdfObject oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        insertAt(-(index + 1), key, value);
+        return null;
+    }
+
+    @Override
+    public PdfObject remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        PdfObject oldValue = values[index];
+        removeAt(index);
+        return oldValue;
+    }
+
+    @Override
+    public void putAll(Map<? extends PdfName, ? extends PdfObject> map) {
+        if (size == 0 && map instanceof SortedPdfNameMap) {
+            SortedPdfNameMap other = (SortedPdfNameMap) map;
+            keys = Arrays.copyOf(other.keys, other.size);
+            values = Arrays.copyOf(other.values, other.size);
+            size = other.size;
+            modCount++;
+            return;
+        }
+        super.putAll(map);
+    }
+
+    @Override
+    public void clear() {
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<PdfName, PdfObject>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof PdfName)) {
+            return -1;
+        }
+        PdfName name = (PdfName) key;
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            PdfName midKey = keys[mid];
+            if (midKey == name) {
+                return mid;
+            }
+            int cmp = midKey.compareTo(name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertAt(int index, PdfName key, PdfObject value) {
+        if (size == keys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size << 1);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        modCount++;
+    }
+
+    private void removeAt(int index) {
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<PdfName, PdfObject>> {
+        @Override
+        public Iterator<Map.Entry<PdfName, PdfObject>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            SortedPdfNameMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<PdfName, PdfObject>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<PdfName, PdfObject> next() {
+            checkForModification();
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(keys[last], last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            checkForModification();
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForModification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<PdfName, PdfObject> {
+        private final PdfName key;
+        private int index;
+
+        Entry(PdfName key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public PdfName getKey() {
+            return key;
+        }
+
+        @Override
+        public PdfObject getValue() {
+            int currentIndex = currentIndex();
+            return currentIndex >= 0 ? values[currentIndex] : null;
+        }
+
+        @Override
+        public PdfObject setValue(PdfObject value) {
+            int currentIndex = currentIndex();
+            if (currentIndex < 0) {
+                throw new IllegalStateException();
+            }
+            PdfObject oldValue = values[currentIndex];
+            values[currentIndex] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            PdfObject value = getValue();
+            return key.equals(other.getKey()) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            PdfObject value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+
+        private int currentIndex() {
+            if (index >= size || keys[index] != key) {
+                // the map has been modified after the entry was obtained
+                index = indexOf(key);
+            }
+            return index;
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class StampingProperties extends DocumentProperties {
 
     protected boolean appendMode = false;
     protected boolean preserveEncryption = false;
+    protected boolean incrementalUpdateOnly = false;
 
     public StampingProperties() {
     }
@@ -36,6 +37,7 @@ public class StampingProperties extends DocumentProperties {
         super(other);
         this.appendMode = other.appendMode;
         this.preserveEncryption = other.preserveEncryption;
+        this.incrementalUpdateOnly = other.incrementalUpdateOnly;
     }
 
     /**
@@ -47,6 +49,26 @@ public class StampingProperties extends DocumentProperties {
         return this;
     }
 
+    /**
+     * Defines that the document will be edited in append mode and only the incremental update, i.e. new and
+     * modified objects, cross-reference section and trailer, will be written to the output.
+     * The bytes of the original document are not copied, so the output is not a complete PDF document on its own:
+     * it shall be appended to the original document, e.g. by transferring it to the end of the original file.
+     * Offsets in the incremental update are calculated as if it followed the original bytes. Like the offsets
+     * of the original document, they are counted from the PDF header, so the output shall be appended to
+     * the original file as is, even if the file has some bytes before the header.
+     * <p>
+     * This mode is not supported by signing, since a signature shall cover the bytes of the original document
+     * as well: {@code com.itextpdf.signatures.PdfSigner} rejects the properties with this mode enabled.
+     *
+     * @return this {@link StampingProperties} instance
+     */
+    public StampingProperties useIncrementalUpdateOnly() {
+        appendMode = true;
+        incrementalUpdateOnly = true;
+        return this;
+    }
+
     /**
      * Defines if the encryption of the original document (if it was encrypted) will be preserved.
      * By default, the resultant document doesn't preserve the original encryption.
@@ -0,0 +1,69 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.FileBackedByteArrayOutputStream;
+
+import java.io.File;
+
+/**
+ * {@link IPdfStreamStorage} which keeps small stream bodies on heap and moves the bodies
+ * exceeding the given threshold to temporary files.
+ */
+public class TempFilePdfStreamStorage implements IPdfStreamStorage {
+
+    /**
+     * Default number of bytes of a stream body which is kept on heap.
+     */
+    public static final int DEFAULT_IN_MEMORY_THRESHOLD = 1024 * 1024;
+
+    private final int inMemoryThreshold;
+    private final File directory;
+
+    /**
+     * Creates a storage which uses the default temporary directory and {@link #DEFAULT_IN_MEMORY_THRESHOLD}.
+     */
+    public TempFilePdfStreamStorage() {
+        this(DEFAULT_IN_MEMORY_THRESHOLD, null);
+    }
+
+    /**
+     * Creates a storage with the given threshold and directory for temporary files.
+     *
+     * @param inMemoryThreshold the maximum number of bytes of a stream body which is kept on heap
+     * @param directory the directory for temporary files, if {@code null} the default temporary directory is used
+     */
+    public TempFilePdfStreamStorage(int inMemoryThreshold, File directory) {
+        this.inMemoryThreshold = inMemoryThreshold;
+        this.directory = directory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ByteArrayOutputStream createStreamBody() {
+        return new FileBackedByteArrayOutputStream(inMemoryThreshold, directory);
+    }
+}
@@ -23,6 +23,8 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 
 import java.security.cert.Certificate;
 
@@ -55,10 +57,29 @@ public class WriterProperties {
      */
     protected PdfString modifiedDocumentId;
 
+    /**
+     * The number of worker threads used to compress stream bodies on document closing and page flushing.
+     * Value 1 means that streams are compressed sequentially at the time they are written.
+     */
+    protected int streamCompressionParallelism;
+
+    /**
+     * The storage which creates the buffers for the bodies of {@link PdfStream} objects.
+     * If {@code null}, the bodies are kept on heap.
+     */
+    protected IPdfStreamStorage streamStorage;
+
+    /**
+     * Defines whether the streams copied from other documents are written with their original bytes
+     * read directly from the source file.
+     */
+    protected boolean streamCopyThrough;
+
     public WriterProperties() {
         smartMode = false;
         addUAXmpMetadata = false;
         compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
+        streamCompressionParallelism = 1;
         isFullCompression = null;
         encryptionProperties = new EncryptionProperties();
     }
@@ -113,6 +134,56 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Defines the number of worker threads which are used to compress the bodies of pending streams
+     * when the document is closed, and the content streams of a page when it is flushed.
+     * Compressed bytes are still written sequentially in the order of objects,
+     * so the resultant document is the same as the one produced in sequential mode.
+     * Default value is 1, which means that each stream is compressed on the writing thread.
+     *
+     * @param parallelism number of worker threads, shall be positive
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setStreamCompressionParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new PdfException(KernelExceptionMessageConstant.STREAM_COMPRESSION_PARALLELISM_SHALL_BE_POSITIVE);
+        }
+        this.streamCompressionParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Defines the storage for the bodies of the streams which are created for the document, e.g. content streams
+     * written by {@link com.itextpdf.kernel.pdf.canvas.PdfCanvas}, images and object streams.
+     * Use {@link TempFilePdfStreamStorage} to move large stream bodies off heap.
+     * By default stream bodies are kept on heap until they are written.
+     *
+     * @param streamStorage the {@link IPdfStreamStorage} to use, or {@code null} for the default one
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setStreamStorage(IPdfStreamStorage streamStorage) {
+        this.streamStorage = streamStorage;
+        return this;
+    }
+
+    /**
+     * Defines whether the streams copied to the document, e.g. by {@link PdfDocument#copyPagesTo} or
+     * {@link com.itextpdf.kernel.utils.PdfMerger}, shall be written with their original encoded bytes
+     * which are transferred directly from the source file at the time the copied stream is written.
+     * This avoids loading the stream bytes in memory on copying. Streams which need to be re-encoded, e.g.
+     * because the source document is encrypted or the document being written is encrypted, are copied as usual.
+     * <p>
+     * The copied streams which have not been written yet when the source document is closed are written
+     * to this document at that moment, so they cannot be modified afterwards. Default value is false.
+     *
+     * @param streamCopyThrough true to copy the original bytes of the streams through, false otherwise
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setStreamCopyThrough(boolean streamCopyThrough) {
+        this.streamCopyThrough = streamCopyThrough;
+        return this;
+    }
+
     /**
      * Defines if full compression mode is enabled. If enabled, not only the content of the pdf document will be
      * compressed, but also the pdf document inner structure.
@@ -0,0 +1,237 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.util.LruCache;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bounded thread-safe cache of parsed Form XObject content streams.
+ * <p>
+ * A Form XObject which is painted several times, e.g. a logo or a header stamped on every page of a document,
+ * is decoded and tokenized only once. The cached sequence of operators and their operands is replayed by
+ * {@link PdfCanvasProcessor} on every subsequent {@code Do} under the current graphics state.
+ * Forms are keyed by the indirect reference of the Form XObject stream, so the cache is scoped to a single
+ * {@link com.itextpdf.kernel.pdf.PdfDocument} instance. Forms which are direct objects or which don't have
+ * their own resources, as well as forms with more than the {@link #getMaxOperations() maximum number}
+ * of operations, are not cached. Least recently used forms are evicted when either the number of cached
+ * forms or the {@link #getMaxTotalOperations() total number} of operations in them exceeds the limit, so
+ * the memory occupied by the cache is bounded regardless of the size of the forms.
+ * <p>
+ * Note that the cached operands are shared between all the replays, so custom
+ * {@link IContentOperator content operators} shall not modify them.
+ */
+public class FormXObjectContentCache {
+
+    /**
+     * The default maximum number of cached forms.
+     */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    /**
+     * The default maximum number of operations in a cached form.
+     */
+    public static final int DEFAULT_MAX_OPERATIONS = 100000;
+
+    /**
+     * The default maximum total number of operations in all cached forms.
+     */
+    public static final int DEFAULT_MAX_TOTAL_OPERATIONS = 1000000;
+
+    /**
+     * Marks the forms which have too many operations to be cached, so that they are not parsed twice.
+     */
+    private static final List<List<PdfObject>> NOT_CACHEABLE = new ArrayList<>(0);
+
+    private final int maxOperations;
+    private final LruCache<PdfIndirectReference, List<List<PdfObject>>> cache;
+
+    /**
+     * Creates a new cache with the {@link #DEFAULT_MAX_SIZE default} maximum size, the
+     * {@link #DEFAULT_MAX_OPERATIONS default} maximum number of operations in a cached form and the
+     * {@link #DEFAULT_MAX_TOTAL_OPERATIONS default} maximum total number of operations in all cached forms.
+     */
+    public FormXObjectContentCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_OPERATIONS);
+    }
+
+    /**
+     * Creates a new cache with the {@link #DEFAULT_MAX_TOTAL_OPERATIONS default} maximum total number
+     * of operations in all cached forms.
+     *
+     * @param maxSize the maximum number of cached forms, shall be positive
+     * @param maxOperations the maximum number of operations in a form for it to be cached
+     */
+    public FormXObjectContentCache(int maxSize, int maxOperations) {
+        this(maxSize, maxOperations, DEFAULT_MAX_TOTAL_OPERATIONS);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of cached forms, shall be positive
+     * @param maxOperations the maximum number of operations in a form for it to be cached
+     * @param maxTotalOperations the maximum total number of operations in all cached forms, shall be positive.
+     *                           A form with more operations than this limit is not cached either
+     */
+    public FormXObjectContentCache(int maxSize, int maxOperations, int maxTotalOperations) {
+        if (maxSize < 1 || maxTotalOperations < 1) {
+            throw new PdfException(KernelExceptionMessageConstant.FORM_XOBJECT_CACHE_SIZE_SHALL_BE_POSITIVE);
+        }
+        this.maxOperations = maxOperations;
+        this.cache = new LruCache<>(maxSize, maxTotalOperations);
+    }
+
+    /**
+     * Gets the maximum number of cached forms.
+     *
+     * @return the maximum number of cached forms
+     */
+    public int getMaxSize() {
+        return cache.getMaxSize();
+    }
+
+    /**
+     * Gets the maximum number of operations in a form for it to be cached.
+     *
+     * @return the maximum number of operations in a cached form
+     */
+    public int getMaxOperations() {
+        return maxOperations;
+    }
+
+    /**
+     * Gets the maximum total number of operations in all cached forms.
+     *
+     * @return the maximum total number of operations in the cache
+     */
+    public int getMaxTotalOperations() {
+        return (int) cache.getMaxWeight();
+    }
+
+    /**
+     * Gets the number of requests which have been served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * Gets the number of requests which have required parsing of the form content.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Gets the number of forms which have been evicted from the cache due to the size limits.
+     *
+     * @return the number of evicted forms
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * Gets the number of cached forms.
+     *
+     * @return the number of cached forms
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the total number of operations in the cached forms.
+     *
+     * @return the total number of cached operations
+     */
+    public long getTotalOperations() {
+        return cache.getWeight();
+    }
+
+    /**
+     * Removes all forms from the cache. The counters are not reset.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Gets the parsed content of the form. Each element of the returned list is the list of operands of
+     * a single operation, with the operator itself as the last element.
+     *
+     * @param formStream the Form XObject stream
+     * @param resources the resources of the form
+     * @return the parsed content of the form, or {@code null} if the form cannot be cached
+     */
+    List<List<PdfObject>> getContent(PdfStream formStream, PdfResources resources) {
+        PdfIndirectReference reference = formStream.getIndirectReference();
+        if (reference == null || formStream.getAsDictionary(PdfName.Resources) == null) {
+            return null;
+        }
+        // the forms which are too large to be cached are cached as markers weighing nothing
+        List<List<PdfObject>> content = cache.getOrCreate(reference,
+                key -> parse(formStream.getBytes(), resources), List::size);
+        return content == NOT_CACHEABLE ? null : content;
+    }
+
+    private List<List<PdfObject>> parse(byte[] contentBytes, PdfResources resources) {
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(contentBytes)));
+        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        List<List<PdfObject>> content = new ArrayList<>();
+        List<PdfObject> operands = new ArrayList<>();
+        int operationsLimit = (int) Math.min(maxOperations, cache.getMaxWeight());
+        try {
+            while (ps.parse(operands).size() > 0) {
+                if (content.size() == operationsLimit) {
+                    return NOT_CACHEABLE;
+                }
+                content.add(new ArrayList<>(operands));
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
+        }
+        return Collections.unmodifiableList(content);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes the items of a document, e.g. its pages, on several worker threads.
+ * <p>
+ * {@link PdfDocument} is not thread-safe, so each worker usually opens its own read-only instance of
+ * the document over a view of the original document bytes, see {@link PdfReader#createReaderOverSource(
+ * com.itextpdf.io.source.IRandomAccessSource)}.
+ */
+final class ParallelDocumentProcessor {
+
+    private ParallelDocumentProcessor() {
+        // Empty constructor
+    }
+
+    /**
+     * Processes the items with indices from 0 to {@code itemCount - 1} on at most {@code parallelism} worker
+     * threads. Each worker is created on its thread and takes the items one by one in the increasing order,
+     * so that each item is processed exactly once. A single worker is run on the current thread.
+     * <p>
+     * If a worker fails, the other workers stop taking new items and the method returns only after all
+     * the workers have been closed. Then the failure is rethrown: runtime exceptions and errors are rethrown
+     * as is, while an {@link IOException} thrown on creating a worker is wrapped into {@link PdfException}.
+     *
+     * @param itemCount the number of the items to process
+     * @param parallelism the maximum number of worker threads
+     * @param workerFactory the factory of the workers
+     * @param interruptedMessage the message of the exception thrown if the current thread is interrupted
+     */
+    static void process(final int itemCount, int parallelism, final IWorkerFactory workerFactory,
+            String interruptedMessage) {
+        int workers = Math.min(parallelism, itemCount);
+        if (workers < 1) {
+            return;
+        }
+        final AtomicInteger nextItem = new AtomicInteger(0);
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        if (workers == 1) {
+            try {
+                runWorker(workerFactory, itemCount, nextItem, failed);
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        Throwable failure = null;
+        try {
+            List<Future<Void>> results = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                results.add(executor.submit(() -> {
+                    runWorker(workerFactory, itemCount, nextItem, failed);
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failed.set(true);
+            Thread.currentThread().interrupt();
+            throw new PdfException(interruptedMessage, e);
+        } finally {
+            executor.shutdown();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, failure);
+        }
+    }
+
+    private static void runWorker(IWorkerFactory workerFactory, int itemCount, AtomicInteger nextItem,
+            AtomicBoolean failed) throws IOException {
+        IWorker worker;
+        try {
+            worker = workerFactory.createWorker();
+        } catch (IOException | RuntimeException | Error e) {
+            failed.set(true);
+            throw e;
+        }
+        try {
+            while (!failed.get()) {
+                int index = nextItem.getAndIncrement();
+                if (index >= itemCount) {
+                    break;
+                }
+                worker.process(index);
+            }
+        } catch (RuntimeException | Error e) {
+            failed.set(true);
+            throw e;
+        } finally {
+            worker.close();
+        }
+    }
+
+    /**
+     * Factory of the workers of {@link #process(int, int, IWorkerFactory, String)}.
+     */
+    interface IWorkerFactory {
+
+        /**
+         * Creates a worker. Called on the worker thread.
+         *
+         * @return the worker
+         * @throws IOException if the worker cannot be created, e.g. because its instance of the document
+         * cannot be opened
+         */
+        IWorker createWorker() throws IOException;
+    }
+
+    /**
+     * Worker of {@link #process(int, int, IWorkerFactory, String)} which processes the items on a single thread.
+     */
+    interface IWorker {
+
+        /**
+         * Processes the item with the given index.
+         *
+         * @param index the index of the item
+         */
+        void process(int index);
+
+        /**
+         * Releases the resources of the worker, e.g. closes its instance of the document.
+         * Called after the worker has finished processing the items, even if it has failed.
+         */
+        void close();
+    }
+}
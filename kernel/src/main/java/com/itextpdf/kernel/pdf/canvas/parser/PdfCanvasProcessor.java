@@ -24,6 +24,8 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.InputStreamRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
@@ -44,6 +46,7 @@ import com.itextpdf.kernel.colors.PatternColor;
 import com.itextpdf.kernel.colors.Separation;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontCache;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.Matrix;
 import com.itextpdf.kernel.geom.NoninvertibleTransformException;
@@ -80,6 +83,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.ref.WeakReference;
 import java.util.*;
 
@@ -118,6 +122,12 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * The same operators as in {@link #operators}, but keyed by the operator literals, so that the operators
+     * read from the content stream are dispatched by their bytes without creating a string for each of them.
+     */
+    private Map<PdfLiteral, IContentOperator> literalOperators;
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -144,6 +154,16 @@ public class PdfCanvasProcessor {
      */
     private Map<Integer, WeakReference<PdfFont>> cachedFonts = new HashMap<>();
 
+    /**
+     * The shared font cache, if set it is used instead of {@link #cachedFonts}
+     */
+    private PdfFontCache fontCache;
+
+    /**
+     * The cache of parsed Form XObjects, if set the forms are parsed only once
+     */
+    private FormXObjectContentCache formXObjectContentCache;
+
     /**
      * A stack containing marked content info.
      */
@@ -152,6 +172,12 @@ public class PdfCanvasProcessor {
     /**
      * Creates a new PDF Content Stream Processor that will send its output to the
      * designated render listener.
+     * <p>
+     * The operators are registered according to {@link IEventListener#getSupportedEvents()} of the listener:
+     * path construction, painting and clipping operators only if path or clip events are supported, color
+     * operators only if text, path or clip events are supported, and image handlers only if image events
+     * are supported. The clipping path of the graphics state is tracked for any listener, only the event data
+     * of the unsupported path and clip events is not created.
      *
      * @param eventListener the {@link IEventListener} that will receive rendering notifications
      */
@@ -159,6 +185,7 @@ public class PdfCanvasProcessor {
         this.eventListener = eventListener;
         this.supportedEvents = eventListener.getSupportedEvents();
         operators = new HashMap<>();
+        literalOperators = new HashMap<>();
         populateOperators();
         xobjectDoHandlers = new HashMap<>();
         populateXObjectDoHandlers();
@@ -206,9 +233,31 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        literalOperators.put(new PdfLiteral(operatorString), operator);
         return operators.put(operatorString, operator);
     }
 
+    /**
+     * Sets the font cache which can be shared between several processors of the same document,
+     * so that fonts are created only once for all the processed pages.
+     *
+     * @param fontCache the shared font cache or {@code null} to use the cache of this processor only
+     */
+    public void setFontCache(PdfFontCache fontCache) {
+        this.fontCache = fontCache;
+    }
+
+    /**
+     * Sets the cache of parsed Form XObjects which can be shared between several processors of the same
+     * document, so that the content of a form painted multiple times is decoded and tokenized only once.
+     * By default Form XObjects are parsed every time they are painted.
+     *
+     * @param formXObjectContentCache the cache of parsed forms or {@code null} to disable caching
+     */
+    public void setFormXObjectContentCache(FormXObjectContentCache formXObjectContentCache) {
+        this.formXObjectContentCache = formXObjectContentCache;
+    }
+
     /**
      * Gets the {@link java.util.Collection} containing all the registered operators strings.
      *
@@ -248,24 +297,19 @@ public class PdfCanvasProcessor {
      * @param resources    the resources of the content stream. Must not be null.
      */
     public void processContent(byte[] contentBytes, PdfResources resources) {
-        if (resources == null) {
-            throw new PdfException(KernelExceptionMessageConstant.RESOURCES_CANNOT_BE_NULL);
-        }
-        this.resourcesStack.push(resources);
-        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
-        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
-        List<PdfObject> operands = new ArrayList<>();
-        try {
-            while (ps.parse(operands).size() > 0) {
-                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
-                invokeOperator(operator, operands);
-            }
-        } catch (IOException e) {
-            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
-        }
-
-        this.resourcesStack.pop();
+        processContent(new RandomAccessSourceFactory().createSource(contentBytes), resources);
+    }
 
+    /**
+     * Processes PDF syntax read from the stream. The stream is read sequentially and is never loaded
+     * in memory as a whole.
+     * <b>Note:</b> If you re-use a given {@link PdfCanvasProcessor}, you must call {@link PdfCanvasProcessor#reset()}
+     *
+     * @param contentStream the stream of content stream bytes, it is not closed by this method
+     * @param resources     the resources of the content stream. Must not be null.
+     */
+    public void processContent(InputStream contentStream, PdfResources resources) {
+        processContent(new InputStreamRandomAccessSource(contentStream), resources);
     }
 
     /**
@@ -277,9 +321,20 @@ public class PdfCanvasProcessor {
      */
     public void processPageContent(PdfPage page) {
         initClippingPath(page);
-        ParserGraphicsState gs = getGraphicsState();
-        eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
-        processContent(page.getContentBytes(), page.getResources());
+        if (isEventSupported(EventType.CLIP_PATH_CHANGED)) {
+            ParserGraphicsState gs = getGraphicsState();
+            eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+        }
+        InputStream contentStream = page.getContentInputStream();
+        try {
+            processContent(contentStream, page.getResources());
+        } finally {
+            try {
+                contentStream.close();
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
+            }
+        }
     }
 
     /**
@@ -407,13 +462,18 @@ public class PdfCanvasProcessor {
      */
     protected void paintPath(int operation, int rule) {
         ParserGraphicsState gs = getGraphicsState();
-        PathRenderInfo renderInfo = new PathRenderInfo(this.markedContentStack, gs, currentPath, operation, rule, isClip, clippingRule);
-        eventOccurred(renderInfo, EventType.RENDER_PATH);
+        if (isEventSupported(EventType.RENDER_PATH)) {
+            PathRenderInfo renderInfo = new PathRenderInfo(this.markedContentStack, gs, currentPath, operation, rule,
+                    isClip, clippingRule);
+            eventOccurred(renderInfo, EventType.RENDER_PATH);
+        }
 
         if (isClip) {
             isClip = false;
             gs.clip(currentPath, clippingRule);
-            eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            if (isEventSupported(EventType.CLIP_PATH_CHANGED)) {
+                eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            }
         }
 
         currentPath = new Path();
@@ -426,7 +486,7 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        IContentOperator op = literalOperators.get(operator);
         if (op == null) {
             op = operators.get(DEFAULT_OPERATOR);
         }
@@ -460,6 +520,9 @@ public class PdfCanvasProcessor {
      * @return the created font
      */
     protected PdfFont getFont(PdfDictionary fontDict) {
+        if (fontCache != null) {
+            return fontCache.getFont(fontDict);
+        }
         if (fontDict.getIndirectReference() == null) {
             return PdfFontFactory.createFont(fontDict);
         } else {
@@ -566,6 +629,40 @@ public class PdfCanvasProcessor {
         textMatrix = new Matrix(adjustBy, 0).multiply(textMatrix);
     }
 
+    private void processContent(IRandomAccessSource contentSource, PdfResources resources) {
+        if (resources == null) {
+            throw new PdfException(KernelExceptionMessageConstant.RESOURCES_CANNOT_BE_NULL);
+        }
+        this.resourcesStack.push(resources);
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(contentSource));
+        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        List<PdfObject> operands = new ArrayList<>();
+        try {
+            while (ps.parse(operands).size() > 0) {
+                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
+                invokeOperator(operator, operands);
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
+        }
+
+        this.resourcesStack.pop();
+    }
+
+    private void processContent(List<List<PdfObject>> content, PdfResources resources) {
+        this.resourcesStack.push(resources);
+        for (List<PdfObject> operation : content) {
+            // the cached operands are copied, so that the operators are free to modify the list
+            List<PdfObject> operands = new ArrayList<>(operation);
+            invokeOperator((PdfLiteral) operands.get(operands.size() - 1), operands);
+        }
+        this.resourcesStack.pop();
+    }
+
+    private boolean isEventSupported(EventType type) {
+        return supportedEvents == null || supportedEvents.contains(type);
+    }
+
     private void initClippingPath(PdfPage page) {
         Path clippingPath = new Path();
         clippingPath.rectangle(page.getCropBox());
@@ -1053,8 +1150,11 @@ public class PdfCanvasProcessor {
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
             processor.gsStack.pop();
-            ParserGraphicsState gs = processor.getGraphicsState();
-            processor.eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            if (processor.isEventSupported(EventType.CLIP_PATH_CHANGED)) {
+                ParserGraphicsState gs = processor.getGraphicsState();
+                processor.eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()),
+                        EventType.CLIP_PATH_CHANGED);
+            }
         }
     }
 
@@ -1404,8 +1504,14 @@ public class PdfCanvasProcessor {
             // we read the content bytes up here so if it fails we don't leave the graphics state stack corrupted
             // this is probably not necessary (if we fail on this, probably the entire content stream processing
             // operation should be rejected
-            byte[] contentBytes;
-            contentBytes = xObjectStream.getBytes();
+            List<List<PdfObject>> content = null;
+            byte[] contentBytes = null;
+            if (processor.formXObjectContentCache != null) {
+                content = processor.formXObjectContentCache.getContent(xObjectStream, resources);
+            }
+            if (content == null) {
+                contentBytes = xObjectStream.getBytes();
+            }
             final PdfArray matrix = xObjectStream.getAsArray(PdfName.Matrix);
 
             new PushGraphicsStateOperator().invoke(processor, null, null);
@@ -1421,7 +1527,11 @@ public class PdfCanvasProcessor {
                 processor.getGraphicsState().updateCtm(formMatrix);
             }
 
-            processor.processContent(contentBytes, resources);
+            if (content != null) {
+                processor.processContent(content, resources);
+            } else {
+                processor.processContent(contentBytes, resources);
+            }
 
             new PopGraphicsStateOperator().invoke(processor, null, null);
         }
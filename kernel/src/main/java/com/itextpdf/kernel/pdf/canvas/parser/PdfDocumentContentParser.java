@@ -22,24 +22,64 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFontCache;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.PdfDocument;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A utility class that makes it cleaner to process content from pages of a {@link PdfDocument}
  * through a specified RenderListener.
+ * <p>
+ * The fonts used by the processed pages are shared between the pages via a {@link PdfFontCache}. Unlike
+ * a single {@link PdfCanvasProcessor}, which references its fonts weakly, the parser keeps strong references
+ * to up to {@link PdfFontCache#DEFAULT_MAX_SIZE} fonts for as long as the parser itself is referenced.
+ * Call {@link PdfFontCache#clear()} on the {@link #getFontCache() font cache} to release them earlier.
  */
 public class PdfDocumentContentParser {
 
     private final PdfDocument pdfDocument;
+    private final PdfFontCache fontCache = new PdfFontCache();
+    private FormXObjectContentCache formXObjectContentCache;
 
     public PdfDocumentContentParser(PdfDocument pdfDocument) {
         this.pdfDocument = pdfDocument;
     }
 
+    /**
+     * Gets the font cache which is shared by all the pages processed by this parser on the current thread.
+     * The worker threads of {@link #processContent(IEventListenerFactory, Map, int)} use their own caches,
+     * because each of them works with its own instance of the document. The cached fonts are strongly referenced
+     * until they are evicted or the cache is cleared.
+     *
+     * @return the font cache
+     */
+    public PdfFontCache getFontCache() {
+        return fontCache;
+    }
+
+    /**
+     * Sets the cache of parsed Form XObjects which is shared by all the pages processed by this parser
+     * on the current thread. If the cache is set, the worker threads of
+     * {@link #processContent(IEventListenerFactory, Map, int)} use their own caches with the same limits.
+     * By default Form XObjects are not cached.
+     *
+     * @param formXObjectContentCache the cache of parsed forms or {@code null} to disable caching
+     */
+    public void setFormXObjectContentCache(FormXObjectContentCache formXObjectContentCache) {
+        this.formXObjectContentCache = formXObjectContentCache;
+    }
+
     /**
      * Processes content from the specified page number using the specified listener.
      * Also allows registration of custom IContentOperators that can influence
@@ -53,6 +93,8 @@ public class PdfDocumentContentParser {
      */
     public <E extends IEventListener> E processContent(int pageNumber, E renderListener, Map<String, IContentOperator> additionalContentOperators) {
         PdfCanvasProcessor processor = new PdfCanvasProcessor(renderListener, additionalContentOperators);
+        processor.setFontCache(fontCache);
+        processor.setFormXObjectContentCache(formXObjectContentCache);
         processor.processPageContent(pdfDocument.getPage(pageNumber));
         return renderListener;
     }
@@ -69,4 +111,126 @@ public class PdfDocumentContentParser {
         return processContent(pageNumber, renderListener, new HashMap<String, IContentOperator>());
     }
 
+    /**
+     * Processes content from all pages of the document on several threads.
+     * Also allows registration of custom IContentOperators that can influence
+     * how (and whether or not) the PDF instructions will be parsed.
+     * <p>
+     * {@link PdfDocument} is not thread-safe, so each worker thread opens its own instance of the document
+     * (see {@link #getSourcePdfReader(IRandomAccessSource)}) which shares the bytes of the original document.
+     * Therefore, the changes made to the document which haven't been saved yet are not taken into account.
+     * If the document has not been opened for reading or the parallelism is 1, the pages are processed
+     * sequentially on the current thread. Note, that the listener factory is called from the worker threads,
+     * so it shall be thread-safe, and the map of additional content operators shall not be changed
+     * while the pages are processed.
+     *
+     * @param <E>                        the type of the renderListener
+     * @param listenerFactory            the factory which creates a listener for each page
+     * @param additionalContentOperators an optional map of custom ContentOperators for rendering instructions
+     * @param parallelism                the number of worker threads
+     * @return the list of listeners which have received render callbacks, in page order
+     */
+    public <E extends IEventListener> List<E> processContent(final IEventListenerFactory<E> listenerFactory,
+            final Map<String, IContentOperator> additionalContentOperators, int parallelism) {
+        if (parallelism < 1) {
+            throw new PdfException(KernelExceptionMessageConstant.CONTENT_PROCESSING_PARALLELISM_SHALL_BE_POSITIVE);
+        }
+        final int numberOfPages = pdfDocument.getNumberOfPages();
+        if (parallelism == 1 || numberOfPages < 2 || pdfDocument.getReader() == null) {
+            List<E> listeners = new ArrayList<>(numberOfPages);
+            for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
+                listeners.add(processContent(pageNumber, listenerFactory.createListener(pageNumber),
+                        additionalContentOperators));
+            }
+            return listeners;
+        }
+        final IRandomAccessSource source = pdfDocument.getReader().getSafeFile().createSourceView();
+        final Object[] listeners = new Object[numberOfPages];
+        ParallelDocumentProcessor.process(numberOfPages, parallelism,
+                () -> new ContentProcessingWorker<>(source, listenerFactory, additionalContentOperators, listeners),
+                KernelExceptionMessageConstant.CONTENT_PROCESSING_WAS_INTERRUPTED);
+        @SuppressWarnings("unchecked")
+        List<E> result = (List<E>) (List<?>) Arrays.asList(listeners);
+        return result;
+    }
+
+    /**
+     * Processes content from all pages of the document on several threads.
+     * See {@link #processContent(IEventListenerFactory, Map, int)} for details.
+     *
+     * @param <E>             the type of the renderListener
+     * @param listenerFactory the factory which creates a listener for each page
+     * @param parallelism     the number of worker threads
+     * @return the list of listeners which have received render callbacks, in page order
+     */
+    public <E extends IEventListener> List<E> processContent(IEventListenerFactory<E> listenerFactory,
+            int parallelism) {
+        return processContent(listenerFactory, new HashMap<String, IContentOperator>(), parallelism);
+    }
+
+    /**
+     * Creates a reader of the document instance which is opened by a worker thread of
+     * {@link #processContent(IEventListenerFactory, Map, int)}. Override this method
+     * if the reader requires specific properties, e.g. a password.
+     *
+     * @param source the thread-safe view of the bytes of the processed document
+     * @return the reader of the document instance
+     * @throws IOException if the reader cannot be created
+     */
+    protected PdfReader getSourcePdfReader(IRandomAccessSource source) throws IOException {
+        return pdfDocument.getReader().createReaderOverSource(source);
+    }
+
+    /**
+     * Factory of the listeners which are used to process the pages of the document on several threads.
+     *
+     * @param <E> the type of the created listeners
+     */
+    public interface IEventListenerFactory<E extends IEventListener> {
+
+        /**
+         * Creates a listener which receives render callbacks of the specified page.
+         *
+         * @param pageNumber the number of the page to be processed
+         * @return a new listener
+         */
+        E createListener(int pageNumber);
+    }
+
+    private final class ContentProcessingWorker<E extends IEventListener> implements ParallelDocumentProcessor.IWorker {
+        private final PdfDocument document;
+        private final IEventListenerFactory<E> listenerFactory;
+        private final Map<String, IContentOperator> additionalContentOperators;
+        private final Object[] listeners;
+        private final PdfFontCache workerFontCache = new PdfFontCache();
+        private final FormXObjectContentCache workerFormXObjectContentCache;
+
+        ContentProcessingWorker(IRandomAccessSource source, IEventListenerFactory<E> listenerFactory,
+                Map<String, IContentOperator> additionalContentOperators, Object[] listeners) throws IOException {
+            this.document = new PdfDocument(getSourcePdfReader(source));
+            this.listenerFactory = listenerFactory;
+            this.additionalContentOperators = additionalContentOperators;
+            this.listeners = listeners;
+            this.workerFormXObjectContentCache = formXObjectContentCache == null ? null
+                    : new FormXObjectContentCache(formXObjectContentCache.getMaxSize(),
+                            formXObjectContentCache.getMaxOperations(),
+                            formXObjectContentCache.getMaxTotalOperations());
+        }
+
+        @Override
+        public void process(int index) {
+            int pageNumber = index + 1;
+            E listener = listenerFactory.createListener(pageNumber);
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(listener, additionalContentOperators);
+            processor.setFontCache(workerFontCache);
+            processor.setFormXObjectContentCache(workerFormXObjectContentCache);
+            processor.processPageContent(document.getPage(pageNumber));
+            listeners[index] = listener;
+        }
+
+        @Override
+        public void close() {
+            document.close();
+        }
+    }
 }
@@ -24,9 +24,12 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public final class PdfTextExtractor {
@@ -74,4 +77,23 @@ public final class PdfTextExtractor {
     public static String getTextFromPage(PdfPage page) {
         return getTextFromPage(page, new LocationTextExtractionStrategy());
     }
+
+    /**
+     * Extract text from all pages of a document on several threads using the default strategy.
+     * See {@link PdfDocumentContentParser#processContent(PdfDocumentContentParser.IEventListenerFactory, int)}
+     * for the limitations of concurrent processing.
+     *
+     * @param pdfDocument the document for the text to be extracted from
+     * @param parallelism the number of worker threads
+     * @return the list of the extracted texts, in page order
+     */
+    public static List<String> getTextFromPages(PdfDocument pdfDocument, int parallelism) {
+        List<LocationTextExtractionStrategy> strategies = new PdfDocumentContentParser(pdfDocument)
+                .processContent(pageNumber -> new LocationTextExtractionStrategy(), parallelism);
+        List<String> texts = new ArrayList<>(strategies.size());
+        for (ITextExtractionStrategy strategy : strategies) {
+            texts.add(strategy.getResultantText());
+        }
+        return texts;
+    }
 }
@@ -55,10 +55,29 @@ public class TextRenderInfo extends AbstractRenderInfo {
 
     private final PdfString string;
     private String text = null;
-    private final Matrix textToUserSpaceTransformMatrix;
     private final Matrix textMatrix;
     private float unscaledWidth = Float.NaN;
 
+    /**
+     * Text to user space transform matrix, calculated on demand.
+     */
+    private Matrix textToUserSpaceTransformMatrix;
+
+    /**
+     * The parent info and the horizontal offset of a single character info,
+     * which are used to calculate the text to user space transform matrix on demand.
+     */
+    private final TextRenderInfo parent;
+    private final float horizontalOffset;
+
+    /**
+     * Decoded glyphs, single character strings with their widths and word spacings, calculated once on demand.
+     */
+    private GlyphLine glyphLine;
+    private PdfString[] characterStrings;
+    private float[][] characterWidthsAndWordSpacings;
+    private Boolean endsWithSpace;
+
     /**
      * Hierarchy of nested canvas tags for the text from the most inner (nearest to text) tag to the most outer.
      */
@@ -75,9 +94,11 @@ public class TextRenderInfo extends AbstractRenderInfo {
     public TextRenderInfo(PdfString str, CanvasGraphicsState gs, Matrix textMatrix, Stack<CanvasTag> canvasTagHierarchy) {
         super(gs);
         this.string = str;
-        this.textToUserSpaceTransformMatrix = textMatrix.multiply(gs.getCtm());
         this.textMatrix = textMatrix;
-        this.canvasTagHierarchy = Collections.<CanvasTag>unmodifiableList(new ArrayList<>(canvasTagHierarchy));
+        this.canvasTagHierarchy = canvasTagHierarchy.isEmpty() ? Collections.<CanvasTag>emptyList()
+                : Collections.<CanvasTag>unmodifiableList(new ArrayList<>(canvasTagHierarchy));
+        this.parent = null;
+        this.horizontalOffset = 0;
     }
 
     /**
@@ -86,14 +107,16 @@ public class TextRenderInfo extends AbstractRenderInfo {
      * @param parent           the parent TextRenderInfo
      * @param str              the content of a TextRenderInfo
      * @param horizontalOffset the unscaled horizontal offset of the character that this TextRenderInfo represents
+     * @param width            the unscaled width of the character
      */
-    private TextRenderInfo(TextRenderInfo parent, PdfString str, float horizontalOffset) {
+    private TextRenderInfo(TextRenderInfo parent, PdfString str, float horizontalOffset, float width) {
         super(parent.gs);
         this.string = str;
-        Matrix offsetMatrix = new Matrix(horizontalOffset, 0);
-        this.textToUserSpaceTransformMatrix = offsetMatrix.multiply(parent.textToUserSpaceTransformMatrix);
-        this.textMatrix = offsetMatrix.multiply(parent.textMatrix);
+        this.textMatrix = new Matrix(horizontalOffset, 0).multiply(parent.textMatrix);
         this.canvasTagHierarchy = parent.canvasTagHierarchy;
+        this.parent = parent;
+        this.horizontalOffset = horizontalOffset;
+        this.unscaledWidth = width;
     }
 
     /**
@@ -104,7 +127,7 @@ public class TextRenderInfo extends AbstractRenderInfo {
     public String getText() {
         checkGraphicsState();
         if (text == null) {
-            GlyphLine gl = gs.getFont().decodeIntoGlyphLine(string);
+            GlyphLine gl = getGlyphLine();
             if (!isReversedChars()) {
                 text = gl.toUnicodeString(gl.start, gl.end);
             } else {
@@ -191,7 +214,7 @@ public class TextRenderInfo extends AbstractRenderInfo {
      */
     public LineSegment getBaseline() {
         checkGraphicsState();
-        return getUnscaledBaselineWithOffset(0 + gs.getTextRise()).transformBy(textToUserSpaceTransformMatrix);
+        return getUnscaledBaselineWithOffset(0 + gs.getTextRise()).transformBy(getTextToUserSpaceTransformMatrix());
     }
 
     public LineSegment getUnscaledBaseline() {
@@ -207,7 +230,8 @@ public class TextRenderInfo extends AbstractRenderInfo {
      */
     public LineSegment getAscentLine() {
         checkGraphicsState();
-        return getUnscaledBaselineWithOffset(getAscentDescent()[0] + gs.getTextRise()).transformBy(textToUserSpaceTransformMatrix);
+        return getUnscaledBaselineWithOffset(getAscentDescent()[0] + gs.getTextRise())
+                .transformBy(getTextToUserSpaceTransformMatrix());
     }
 
     /**
@@ -218,7 +242,8 @@ public class TextRenderInfo extends AbstractRenderInfo {
      */
     public LineSegment getDescentLine() {
         checkGraphicsState();
-        return getUnscaledBaselineWithOffset(getAscentDescent()[1] + gs.getTextRise()).transformBy(textToUserSpaceTransformMatrix);
+        return getUnscaledBaselineWithOffset(getAscentDescent()[1] + gs.getTextRise())
+                .transformBy(getTextToUserSpaceTransformMatrix());
     }
 
     /**
@@ -252,17 +277,19 @@ public class TextRenderInfo extends AbstractRenderInfo {
      */
     public List<TextRenderInfo> getCharacterRenderInfos() {
         checkGraphicsState();
-        List<TextRenderInfo> rslt = new ArrayList<>(string.getValue().length());
-        PdfString[] strings = splitString(string);
+        ensureCharacterData();
+        // character infos calculate their transform matrices from the parent one, which shall be available
+        // even if the graphics state of the parent is released
+        getTextToUserSpaceTransformMatrix();
+        List<TextRenderInfo> rslt = new ArrayList<>(characterStrings.length);
         float totalWidth = 0;
-        for (PdfString str : strings) {
-            float[] widthAndWordSpacing = getWidthAndWordSpacing(str);
-            TextRenderInfo subInfo = new TextRenderInfo(this, str, totalWidth);
-            rslt.add(subInfo);
-            totalWidth += (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1]) * (gs.getHorizontalScaling() / 100f);
+        for (int i = 0; i < characterStrings.length; i++) {
+            float[] widthAndWordSpacing = characterWidthsAndWordSpacings[i];
+            rslt.add(new TextRenderInfo(this, characterStrings[i], totalWidth,
+                    getCharacterWidth(widthAndWordSpacing)));
+            // the word spacing is non-zero only for a space character
+            totalWidth += calculateCharacterAdvance(gs, widthAndWordSpacing[0], widthAndWordSpacing[1] != 0);
         }
-        for (TextRenderInfo tri : rslt)
-            tri.getUnscaledWidth();
         return rslt;
     }
 
@@ -395,19 +422,97 @@ public class TextRenderInfo extends AbstractRenderInfo {
      * @return the unscaled (i.e. in Text space) width of the text
      */
     public float getUnscaledWidth() {
-        if (Float.isNaN(unscaledWidth))
-            unscaledWidth = getPdfStringWidth(string, false);
+        if (Float.isNaN(unscaledWidth)) {
+            checkGraphicsState();
+            ensureCharacterData();
+            float totalWidth = 0;
+            for (float[] widthAndWordSpacing : characterWidthsAndWordSpacings) {
+                totalWidth += getCharacterWidth(widthAndWordSpacing);
+            }
+            unscaledWidth = totalWidth;
+        }
         return unscaledWidth;
     }
 
+    /**
+     * Calculates the ascent and descent of the font in text space, as they are used for
+     * {@link #getAscentLine()} and {@link #getDescentLine()}, without the text rise.
+     *
+     * @param font the font
+     * @param fontSize the font size
+     * @return array of 2 items: the ascent and the descent (a negative value) in text space
+     */
+    public static float[] calculateAscentDescent(PdfFont font, float fontSize) {
+        float ascent = font.getFontProgram().getFontMetrics().getTypoAscender();
+        float descent = font.getFontProgram().getFontMetrics().getTypoDescender();
+
+        // If descent is positive, we consider it a bug and fix it
+        if (descent > 0) {
+            descent = -descent;
+        }
+
+        final float scale = (ascent - descent < 700) ? (ascent - descent) : FontProgram.UNITS_NORMALIZATION;
+        descent = descent / scale * fontSize;
+        ascent = ascent / scale * fontSize;
+        return new float[]{ascent, descent};
+    }
+
+    /**
+     * Calculates the distance in text space from the start of a character to the start of the next one,
+     * as it is used to position the {@link #getCharacterRenderInfos() character render infos}.
+     *
+     * @param gs the graphics state of the text
+     * @param width the width of the glyph in text space units for the font size 1, e.g.
+     *              {@link FontProgram#convertTextSpaceToGlyphSpace(float)} of the glyph width from the font program
+     * @param isSpace whether the character is a single-byte space, to which the word spacing is applied
+     * @return the advance of the character in text space
+     */
+    public static float calculateCharacterAdvance(CanvasGraphicsState gs, float width, boolean isSpace) {
+        return (width * gs.getFontSize() + gs.getCharSpacing() + (isSpace ? gs.getWordSpacing() : 0))
+                * (gs.getHorizontalScaling() / 100f);
+    }
+
+    private Matrix getTextToUserSpaceTransformMatrix() {
+        if (textToUserSpaceTransformMatrix == null) {
+            textToUserSpaceTransformMatrix = parent == null ? textMatrix.multiply(gs.getCtm())
+                    : new Matrix(horizontalOffset, 0).multiply(parent.getTextToUserSpaceTransformMatrix());
+        }
+        return textToUserSpaceTransformMatrix;
+    }
+
+    private GlyphLine getGlyphLine() {
+        if (glyphLine == null) {
+            glyphLine = gs.getFont().decodeIntoGlyphLine(string);
+        }
+        return glyphLine;
+    }
+
+    /**
+     * Splits the string into single character strings and calculates their widths, if it hasn't been done yet.
+     */
+    private void ensureCharacterData() {
+        if (characterStrings == null) {
+            PdfString[] strings = splitString(string);
+            float[][] widthsAndWordSpacings = new float[strings.length][];
+            for (int i = 0; i < strings.length; i++) {
+                widthsAndWordSpacings[i] = getWidthAndWordSpacing(strings[i]);
+            }
+            characterWidthsAndWordSpacings = widthsAndWordSpacings;
+            characterStrings = strings;
+        }
+    }
+
     private LineSegment getUnscaledBaselineWithOffset(float yOffset) {
         checkGraphicsState();
         // we need to correct the width so we don't have an extra character and word spaces at the end.  The extra character and word spaces
         // are important for tracking relative text coordinate systems, but should not be part of the baseline
-        String unicodeStr = string.toUnicodeString();
+        if (endsWithSpace == null) {
+            String unicodeStr = string.toUnicodeString();
+            endsWithSpace = unicodeStr.length() > 0 && unicodeStr.charAt(unicodeStr.length() - 1) == ' ';
+        }
 
         float correctedUnscaledWidth = getUnscaledWidth() - (gs.getCharSpacing() +
-                (unicodeStr.length() > 0 && unicodeStr.charAt(unicodeStr.length() - 1) == ' ' ? gs.getWordSpacing() : 0)) * (gs.getHorizontalScaling() / 100f);
+                ((boolean) endsWithSpace ? gs.getWordSpacing() : 0)) * (gs.getHorizontalScaling() / 100f);
 
         return new LineSegment(new Vector(0, yOffset, 1), new Vector(correctedUnscaledWidth, yOffset, 1));
     }
@@ -418,7 +523,7 @@ public class TextRenderInfo extends AbstractRenderInfo {
      */
     private float convertWidthFromTextSpaceToUserSpace(float width) {
         LineSegment textSpace = new LineSegment(new Vector(0, 0, 1), new Vector(width, 0, 1));
-        LineSegment userSpace = textSpace.transformBy(textToUserSpaceTransformMatrix);
+        LineSegment userSpace = textSpace.transformBy(getTextToUserSpaceTransformMatrix());
         return userSpace.getLength();
     }
 
@@ -428,7 +533,7 @@ public class TextRenderInfo extends AbstractRenderInfo {
      */
     private float convertHeightFromTextSpaceToUserSpace(float height) {
         LineSegment textSpace = new LineSegment(new Vector(0, 0, 1), new Vector(0, height, 1));
-        LineSegment userSpace = textSpace.transformBy(textToUserSpaceTransformMatrix);
+        LineSegment userSpace = textSpace.transformBy(getTextToUserSpaceTransformMatrix());
         return userSpace.getLength();
     }
 
@@ -450,24 +555,14 @@ public class TextRenderInfo extends AbstractRenderInfo {
     }
 
     /**
-     * Gets the width of a PDF string in text space units
+     * Gets the width of a single character in text space units.
      *
-     * @param string the string that needs measuring
-     * @return the width of a String in text space units
+     * @param widthAndWordSpacing the character width and word spacing, see {@link #getWidthAndWordSpacing(PdfString)}
+     * @return the width of the character in text space units
      */
-    private float getPdfStringWidth(PdfString string, boolean singleCharString) {
-        checkGraphicsState();
-        if (singleCharString) {
-            float[] widthAndWordSpacing = getWidthAndWordSpacing(string);
-            return (float)(((double)widthAndWordSpacing[0] * (double)gs.getFontSize() + (double)gs.getCharSpacing()
-                    + (double)widthAndWordSpacing[1]) * (double)gs.getHorizontalScaling() / 100f);
-        } else {
-            float totalWidth = 0;
-            for (PdfString str : splitString(string)) {
-                totalWidth += getPdfStringWidth(str, true);
-            }
-            return totalWidth;
-        }
+    private float getCharacterWidth(float[] widthAndWordSpacing) {
+        return (float)(((double)widthAndWordSpacing[0] * (double)gs.getFontSize() + (double)gs.getCharSpacing()
+                + (double)widthAndWordSpacing[1]) * (double)gs.getHorizontalScaling() / 100f);
     }
 
     /**
@@ -520,7 +615,7 @@ public class TextRenderInfo extends AbstractRenderInfo {
         if (font instanceof PdfType0Font) {
             // Number of bytes forming one glyph can be arbitrary from [1; 4] range
             List<PdfString> strings = new ArrayList<>();
-            GlyphLine glyphLine = gs.getFont().decodeIntoGlyphLine(string);
+            GlyphLine glyphLine = string == this.string ? getGlyphLine() : font.decodeIntoGlyphLine(string);
             for (int i = glyphLine.start; i < glyphLine.end; i++) {
                 strings.add(new PdfString(gs.getFont().convertToBytes(glyphLine.get(i))));
             }
@@ -537,17 +632,6 @@ public class TextRenderInfo extends AbstractRenderInfo {
 
     private float[] getAscentDescent() {
         checkGraphicsState();
-        float ascent = gs.getFont().getFontProgram().getFontMetrics().getTypoAscender();
-        float descent = gs.getFont().getFontProgram().getFontMetrics().getTypoDescender();
-
-        // If descent is positive, we consider it a bug and fix it
-        if (descent > 0) {
-            descent = -descent;
-        }
-
-        final float scale = (ascent - descent < 700) ? (ascent - descent) : FontProgram.UNITS_NORMALIZATION;
-        descent = descent / scale * gs.getFontSize();
-        ascent = ascent / scale * gs.getFontSize();
-        return new float[]{ascent, descent};
+        return calculateAscentDescent(gs.getFont(), gs.getFontSize());
     }
 }
@@ -0,0 +1,337 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.io.font.CMapEncoding;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfType0Font;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the glyphs of the processed content into columns of primitive arrays: the unicode code point,
+ * the bounding box in user space, the index of the font and the index of the fill color of each glyph.
+ * <p>
+ * Unlike {@link GlyphEventListener}, which creates a {@link TextRenderInfo} with its own matrices and line
+ * segments for every glyph, the glyph positions are calculated directly from the text render operations,
+ * so no objects are created per glyph. The positions match the ones of
+ * {@link TextRenderInfo#getCharacterRenderInfos()}: the bounding box of a glyph is formed by its
+ * {@link TextRenderInfo#getDescentLine() descent} and {@link TextRenderInfo#getAscentLine() ascent} lines.
+ * <p>
+ * Glyphs which could not be decoded by the font are skipped. A glyph which maps to several characters,
+ * e.g. a ligature, is represented by the first code point; glyphs without unicode mapping have code point -1.
+ * The listener can be reused for the next page after {@link #clear() clearing} it.
+ */
+public class GlyphColumnsEventListener implements IEventListener {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int glyphCount;
+    private int[] codePoints = new int[INITIAL_CAPACITY];
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] widths = new float[INITIAL_CAPACITY];
+    private float[] heights = new float[INITIAL_CAPACITY];
+    private int[] fontIndices = new int[INITIAL_CAPACITY];
+    private int[] fillColorIndices = new int[INITIAL_CAPACITY];
+
+    private final List<PdfFont> fonts = new ArrayList<>();
+    private final Map<PdfFont, Integer> fontIndexMap = new IdentityHashMap<>();
+    private final List<Color> fillColors = new ArrayList<>();
+    private final Map<Color, Integer> fillColorIndexMap = new HashMap<>();
+
+    /**
+     * Reused buffer for the character codes of {@link PdfType0Font} glyphs.
+     */
+    private final byte[] codeBytes = new byte[4];
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type == EventType.RENDER_TEXT) {
+            addGlyphs((TextRenderInfo) data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT)));
+    }
+
+    /**
+     * Gets the number of collected glyphs.
+     *
+     * @return the number of glyphs
+     */
+    public int getGlyphCount() {
+        return glyphCount;
+    }
+
+    /**
+     * Gets the unicode code points of the glyphs, -1 for glyphs without unicode mapping.
+     *
+     * @return the array of {@link #getGlyphCount()} code points
+     */
+    public int[] getCodePoints() {
+        return Arrays.copyOf(codePoints, glyphCount);
+    }
+
+    /**
+     * Gets the x coordinates of the lower left corners of the glyph bounding boxes in user space.
+     *
+     * @return the array of {@link #getGlyphCount()} x coordinates
+     */
+    public float[] getX() {
+        return Arrays.copyOf(x, glyphCount);
+    }
+
+    /**
+     * Gets the y coordinates of the lower left corners of the glyph bounding boxes in user space.
+     *
+     * @return the array of {@link #getGlyphCount()} y coordinates
+     */
+    public float[] getY() {
+        return Arrays.copyOf(y, glyphCount);
+    }
+
+    /**
+     * Gets the widths of the glyph bounding boxes in user space.
+     *
+     * @return the array of {@link #getGlyphCount()} widths
+     */
+    public float[] getWidths() {
+        return Arrays.copyOf(widths, glyphCount);
+    }
+
+    /**
+     * Gets the heights of the glyph bounding boxes in user space.
+     *
+     * @return the array of {@link #getGlyphCount()} heights
+     */
+    public float[] getHeights() {
+        return Arrays.copyOf(heights, glyphCount);
+    }
+
+    /**
+     * Gets the indices of the glyph fonts in the list returned by {@link #getFonts()}.
+     *
+     * @return the array of {@link #getGlyphCount()} font indices
+     */
+    public int[] getFontIndices() {
+        return Arrays.copyOf(fontIndices, glyphCount);
+    }
+
+    /**
+     * Gets the indices of the glyph fill colors in the list returned by {@link #getFillColors()}.
+     *
+     * @return the array of {@link #getGlyphCount()} fill color indices
+     */
+    public int[] getFillColorIndices() {
+        return Arrays.copyOf(fillColorIndices, glyphCount);
+    }
+
+    /**
+     * Gets the distinct fonts of the glyphs.
+     *
+     * @return the list of fonts
+     */
+    public List<PdfFont> getFonts() {
+        return Collections.unmodifiableList(fonts);
+    }
+
+    /**
+     * Gets the distinct fill colors of the glyphs.
+     *
+     * @return the list of fill colors
+     */
+    public List<Color> getFillColors() {
+        return Collections.unmodifiableList(fillColors);
+    }
+
+    /**
+     * Removes all the collected glyphs, fonts and colors, keeping the allocated arrays for the next page.
+     */
+    public void clear() {
+        glyphCount = 0;
+        fonts.clear();
+        fontIndexMap.clear();
+        fillColors.clear();
+        fillColorIndexMap.clear();
+    }
+
+    private void addGlyphs(TextRenderInfo renderInfo) {
+        CanvasGraphicsState gs = renderInfo.getGraphicsState();
+        PdfFont font = gs.getFont();
+        float fontSize = gs.getFontSize();
+        float horizontalScaling = gs.getHorizontalScaling() / 100f;
+        float rise = gs.getTextRise();
+        float[] ascentDescent = TextRenderInfo.calculateAscentDescent(font, fontSize);
+        float top = ascentDescent[0] + rise;
+        float bottom = ascentDescent[1] + rise;
+
+        Matrix matrix = renderInfo.getTextMatrix().multiply(gs.getCtm());
+        float a = matrix.get(Matrix.I11);
+        float b = matrix.get(Matrix.I12);
+        float c = matrix.get(Matrix.I21);
+        float d = matrix.get(Matrix.I22);
+        float e = matrix.get(Matrix.I31);
+        float f = matrix.get(Matrix.I32);
+
+        int fontIndex = getFontIndex(font);
+        int fillColorIndex = getFillColorIndex(gs.getFillColor());
+
+        PdfString string = renderInfo.getPdfString();
+        GlyphLine glyphLine = font.decodeIntoGlyphLine(string);
+        byte[] stringBytes = string.getValueBytes();
+        boolean simpleFont = !(font instanceof PdfType0Font);
+        if (simpleFont && glyphLine.end - glyphLine.start != stringBytes.length) {
+            // some codes haven't been decoded, so that glyphs don't correspond to the bytes anymore
+            if (stringBytes.length > 1) {
+                addGlyphsOneByOne(renderInfo);
+            }
+            return;
+        }
+
+        float offset = 0;
+        for (int i = glyphLine.start; i < glyphLine.end; i++) {
+            Glyph glyph = glyphLine.get(i);
+            boolean isSpace = simpleFont ? stringBytes[i - glyphLine.start] == ' '
+                    : isSingleByteSpace((PdfType0Font) font, glyph);
+            float width = FontProgram.convertTextSpaceToGlyphSpace(glyph.getWidth());
+            // the baseline of a character doesn't include the spacing after it
+            float right = offset + width * fontSize * horizontalScaling;
+
+            float minX = Float.MAX_VALUE;
+            float minY = Float.MAX_VALUE;
+            float maxX = -Float.MAX_VALUE;
+            float maxY = -Float.MAX_VALUE;
+            for (int corner = 0; corner < 4; corner++) {
+                float px = corner < 2 ? offset : right;
+                float py = corner % 2 == 0 ? bottom : top;
+                float ux = px * a + py * c + e;
+                float uy = px * b + py * d + f;
+                minX = Math.min(minX, ux);
+                maxX = Math.max(maxX, ux);
+                minY = Math.min(minY, uy);
+                maxY = Math.max(maxY, uy);
+            }
+            ensureCapacity(glyphCount + 1);
+            codePoints[glyphCount] = getCodePoint(glyph);
+            x[glyphCount] = minX;
+            y[glyphCount] = minY;
+            widths[glyphCount] = maxX - minX;
+            heights[glyphCount] = maxY - minY;
+            fontIndices[glyphCount] = fontIndex;
+            fillColorIndices[glyphCount] = fillColorIndex;
+            glyphCount++;
+
+            offset += TextRenderInfo.calculateCharacterAdvance(gs, width, isSpace);
+        }
+    }
+
+    /**
+     * Handles the rare case of a simple font string with undecodable codes via the character render infos,
+     * so that the positions of the glyphs following the undecodable ones are still correct.
+     */
+    private void addGlyphsOneByOne(TextRenderInfo renderInfo) {
+        for (TextRenderInfo characterInfo : renderInfo.getCharacterRenderInfos()) {
+            addGlyphs(characterInfo);
+        }
+    }
+
+    private boolean isSingleByteSpace(PdfType0Font font, Glyph glyph) {
+        CMapEncoding cmap = font.getCmap();
+        if (cmap.getCmapBytesLength(glyph.getCode()) != 1) {
+            return false;
+        }
+        cmap.fillCmapBytes(glyph.getCode(), codeBytes, 0);
+        return codeBytes[0] == ' ';
+    }
+
+    private int getFontIndex(PdfFont font) {
+        Integer index = fontIndexMap.get(font);
+        if (index == null) {
+            index = fonts.size();
+            fonts.add(font);
+            fontIndexMap.put(font, index);
+        }
+        return (int) index;
+    }
+
+    private int getFillColorIndex(Color color) {
+        if (color == null) {
+            return -1;
+        }
+        Integer index = fillColorIndexMap.get(color);
+        if (index == null) {
+            index = fillColors.size();
+            fillColors.add(color);
+            fillColorIndexMap.put(color, index);
+        }
+        return (int) index;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > codePoints.length) {
+            int newCapacity = Math.max(capacity, codePoints.length * 2);
+            codePoints = Arrays.copyOf(codePoints, newCapacity);
+            x = Arrays.copyOf(x, newCapacity);
+            y = Arrays.copyOf(y, newCapacity);
+            widths = Arrays.copyOf(widths, newCapacity);
+            heights = Arrays.copyOf(heights, newCapacity);
+            fontIndices = Arrays.copyOf(fontIndices, newCapacity);
+            fillColorIndices = Arrays.copyOf(fillColorIndices, newCapacity);
+        }
+    }
+
+    private static int getCodePoint(Glyph glyph) {
+        char[] chars = glyph.getChars();
+        if (chars != null && chars.length > 0) {
+            return Character.codePointAt(chars, 0);
+        }
+        return glyph.getUnicode();
+    }
+}
@@ -57,7 +57,7 @@ public class RegexBasedLocationExtractionStrategy implements ILocationExtraction
     @Override
     public Collection<IPdfTextLocation> getResultantLocations() {
         // align characters in "logical" order
-        Collections.sort(parseResult, new TextChunkLocationBasedComparator(new DefaultTextChunkLocationComparator()));
+        TextChunkSpatialIndex.sortInReadingOrder(parseResult);
 
         // process parse results
         List<IPdfTextLocation> retval = new ArrayList<>();
@@ -89,15 +89,16 @@ public class RegexBasedLocationExtractionStrategy implements ILocationExtraction
     }
 
     private void removeDuplicates(List<IPdfTextLocation> sortedList) {
-        IPdfTextLocation lastItem = null;
-        int orgSize = sortedList.size();
-        for (int i = orgSize - 1; i >= 0; i--) {
-            IPdfTextLocation currItem = sortedList.get(i);
-            Rectangle currRect = currItem.getRectangle();
-            if (lastItem != null && currRect.equalsWithEpsilon(lastItem.getRectangle())) {
-                sortedList.remove(currItem);
+        List<IPdfTextLocation> uniqueList = new ArrayList<>(sortedList.size());
+        for (int i = 0; i < sortedList.size(); i++) {
+            Rectangle currRect = sortedList.get(i).getRectangle();
+            if (i == sortedList.size() - 1 || !currRect.equalsWithEpsilon(sortedList.get(i + 1).getRectangle())) {
+                uniqueList.add(sortedList.get(i));
             }
-            lastItem = currItem;
+        }
+        if (uniqueList.size() != sortedList.size()) {
+            sortedList.clear();
+            sortedList.addAll(uniqueList);
         }
     }
 
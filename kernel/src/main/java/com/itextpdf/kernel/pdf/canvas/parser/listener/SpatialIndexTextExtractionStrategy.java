@@ -0,0 +1,79 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Text extraction strategy which collects the text chunks of a page into a {@link TextChunkSpatialIndex}.
+ * The index allows to query the text of the page by region and by line without sorting or scanning all
+ * the chunks of the page for every query, which matters for dense pages like big tables.
+ *
+ * <p>
+ * An instance of the strategy is supposed to be used for a single page.
+ */
+public class SpatialIndexTextExtractionStrategy implements ITextExtractionStrategy {
+
+    private final List<CharacterRenderInfo> chunks = new ArrayList<>();
+
+    private TextChunkSpatialIndex index;
+
+    /**
+     * Gets the spatial index over the text chunks collected so far. The index is built on the first
+     * call and is reused until new text is processed.
+     *
+     * @return the spatial index of the text chunks
+     */
+    public TextChunkSpatialIndex getIndex() {
+        if (index == null) {
+            index = new TextChunkSpatialIndex(chunks);
+        }
+        return index;
+    }
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type.equals(EventType.RENDER_TEXT)) {
+            chunks.add(new CharacterRenderInfo((TextRenderInfo) data));
+            index = null;
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT)));
+    }
+
+    @Override
+    public String getResultantText() {
+        return getIndex().getText();
+    }
+}
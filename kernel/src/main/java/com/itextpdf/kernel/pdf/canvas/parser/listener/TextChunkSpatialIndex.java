@@ -0,0 +1,410 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index over the text chunks of a single page.
+ *
+ * <p>
+ * The chunks are ordered in the same way as the left to right {@link LocationTextExtractionStrategy}
+ * orders them: the chunks are grouped by their orientation and perpendicular distance, and the diacritical
+ * marks, i.e. chunks of zero length, are placed next to the chunks which contain them. Grouping is done
+ * with hashing, so only the groups and the chunks inside each group are sorted instead of all the chunks
+ * of the page. The lines and the spaces between the chunks are detected in the same way as in
+ * {@link LocationTextExtractionStrategy#getResultantText()} as well. In addition, the bounding boxes of the chunks are put into
+ * a uniform grid, so that chunks in a given region can be found without scanning the whole page.
+ *
+ * <p>
+ * The index is immutable and can be reused for any number of queries over the same page.
+ */
+public class TextChunkSpatialIndex {
+
+    private static final int CHUNKS_PER_CELL = 4;
+
+    private static final int MAX_CELLS_PER_SIDE = 256;
+
+    /**
+     * Chunks in reading order.
+     */
+    private final List<CharacterRenderInfo> chunks;
+
+    /**
+     * Start indices of the lines in {@link #chunks}, the last element is the number of chunks.
+     */
+    private final int[] lineStarts;
+
+    private float gridLeft;
+    private float gridBottom;
+    private float cellWidth;
+    private float cellHeight;
+    private int columns;
+    private int rows;
+
+    /**
+     * Indices of the chunks (in reading order) which bounding boxes intersect the grid cell.
+     */
+    private int[][] cells;
+
+    /**
+     * Creates a new index over the passed chunks.
+     *
+     * @param chunks the chunks of the page
+     */
+    public TextChunkSpatialIndex(List<? extends CharacterRenderInfo> chunks) {
+        this.chunks = sortWithMarks(chunks);
+        this.lineStarts = findLineStarts(this.chunks);
+        buildGrid();
+    }
+
+    /**
+     * Gets all the chunks of the page in reading order.
+     *
+     * @return unmodifiable list of chunks
+     */
+    public List<CharacterRenderInfo> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * Gets the lines of the page in reading order. Each line contains its chunks in reading order.
+     *
+     * @return unmodifiable list of lines
+     */
+    public List<List<CharacterRenderInfo>> getLines() {
+        List<List<CharacterRenderInfo>> lines = new ArrayList<>(lineStarts.length - 1);
+        for (int i = 0; i < lineStarts.length - 1; i++) {
+            lines.add(Collections.unmodifiableList(chunks.subList(lineStarts[i], lineStarts[i + 1])));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * Gets the chunks which bounding boxes intersect the passed region.
+     *
+     * @param region the region to search the chunks in
+     * @return list of the found chunks in reading order
+     */
+    public List<CharacterRenderInfo> getChunksInRegion(Rectangle region) {
+        int[] found = findChunksInRegion(region);
+        List<CharacterRenderInfo> result = new ArrayList<>(found.length);
+        for (int index : found) {
+            result.add(chunks.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the text of the whole page.
+     *
+     * @return the text, lines are separated with the new line character
+     */
+    public String getText() {
+        int[] all = new int[chunks.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        return buildText(all);
+    }
+
+    /**
+     * Gets the text of the chunks which bounding boxes intersect the passed region.
+     *
+     * @param region the region to get the text from
+     * @return the text, lines are separated with the new line character
+     */
+    public String getTextInRegion(Rectangle region) {
+        return buildText(findChunksInRegion(region));
+    }
+
+    /**
+     * Sorts the chunks in the same order as {@link TextChunkLocationBasedComparator} with
+     * the left to right {@link DefaultTextChunkLocationComparator} does, but without comparing
+     * chunks which are located on different lines.
+     *
+     * @param chunks the chunks to sort
+     * @param <T> the type of the chunks
+     */
+    static <T extends TextChunk> void sortInReadingOrder(List<T> chunks) {
+        List<List<T>> lines = groupIntoLines(chunks);
+        chunks.clear();
+        for (List<T> line : lines) {
+            chunks.addAll(line);
+        }
+    }
+
+    private static <T extends TextChunk> List<List<T>> groupIntoLines(List<? extends T> chunks) {
+        Map<Long, List<T>> lines = new HashMap<>();
+        for (T chunk : chunks) {
+            ITextChunkLocation location = chunk.getLocation();
+            // orientation is compared first, so it occupies the high bits of the key
+            Long key = ((long) location.orientationMagnitude() << 32) + location.distPerpendicular();
+            List<T> line = lines.get(key);
+            if (line == null) {
+                line = new ArrayList<>();
+                lines.put(key, line);
+            }
+            line.add(chunk);
+        }
+        List<Long> keys = new ArrayList<>(lines.keySet());
+        Collections.sort(keys);
+        TextChunkLocationBasedComparator comparator =
+                new TextChunkLocationBasedComparator(new DefaultTextChunkLocationComparator());
+        List<List<T>> sortedLines = new ArrayList<>(keys.size());
+        for (Long key : keys) {
+            List<T> line = lines.get(key);
+            Collections.sort(line, comparator);
+            sortedLines.add(line);
+        }
+        return sortedLines;
+    }
+
+    /**
+     * Orders the chunks in the same way as {@link LocationTextExtractionStrategy} does. Each diacritical mark
+     * is attached to the first chunk which contains it and is put before or after this chunk depending on
+     * their original order, the rest of the chunks are sorted group by group.
+     */
+    private static List<CharacterRenderInfo> sortWithMarks(List<? extends CharacterRenderInfo> chunks) {
+        List<CharacterRenderInfo> result = new ArrayList<>(chunks.size());
+        boolean hasMarks = false;
+        for (CharacterRenderInfo chunk : chunks) {
+            if (isMark(chunk)) {
+                hasMarks = true;
+                break;
+            }
+        }
+        if (!hasMarks) {
+            for (List<CharacterRenderInfo> line : TextChunkSpatialIndex.<CharacterRenderInfo>groupIntoLines(chunks)) {
+                result.addAll(line);
+            }
+            return result;
+        }
+
+        // The chunks which can contain marks by their perpendicular distance, in the original order
+        Map<Integer, List<Integer>> bases = new HashMap<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (!isMark(chunks.get(i))) {
+                Integer distPerpendicular = chunks.get(i).getLocation().distPerpendicular();
+                List<Integer> sameDistance = bases.get(distPerpendicular);
+                if (sameDistance == null) {
+                    sameDistance = new ArrayList<>();
+                    bases.put(distPerpendicular, sameDistance);
+                }
+                sameDistance.add(i);
+            }
+        }
+        int maxDeviation = (int) Math.ceil(TextChunkLocationDefaultImp.DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION);
+        Map<CharacterRenderInfo, List<CharacterRenderInfo>> precedingMarks = new IdentityHashMap<>();
+        Map<CharacterRenderInfo, List<CharacterRenderInfo>> succeedingMarks = new IdentityHashMap<>();
+        List<CharacterRenderInfo> toSort = new ArrayList<>(chunks.size());
+        for (int markIndex = 0; markIndex < chunks.size(); markIndex++) {
+            CharacterRenderInfo mark = chunks.get(markIndex);
+            if (!isMark(mark)) {
+                toSort.add(mark);
+                continue;
+            }
+            int distPerpendicular = mark.getLocation().distPerpendicular();
+            int baseIndex = -1;
+            for (int distance = distPerpendicular - maxDeviation; distance <= distPerpendicular + maxDeviation;
+                    distance++) {
+                List<Integer> sameDistance = bases.get(distance);
+                if (sameDistance == null) {
+                    continue;
+                }
+                for (int index : sameDistance) {
+                    if (baseIndex != -1 && index > baseIndex) {
+                        break;
+                    }
+                    if (TextChunkLocationDefaultImp.containsMark(chunks.get(index).getLocation(), mark.getLocation())) {
+                        baseIndex = index;
+                        break;
+                    }
+                }
+            }
+            if (baseIndex == -1) {
+                toSort.add(mark);
+                continue;
+            }
+            Map<CharacterRenderInfo, List<CharacterRenderInfo>> marks =
+                    markIndex < baseIndex ? precedingMarks : succeedingMarks;
+            List<CharacterRenderInfo> baseMarks = marks.get(chunks.get(baseIndex));
+            if (baseMarks == null) {
+                baseMarks = new ArrayList<>();
+                marks.put(chunks.get(baseIndex), baseMarks);
+            }
+            baseMarks.add(mark);
+        }
+
+        for (List<CharacterRenderInfo> line : TextChunkSpatialIndex.<CharacterRenderInfo>groupIntoLines(toSort)) {
+            for (CharacterRenderInfo chunk : line) {
+                List<CharacterRenderInfo> preceding = precedingMarks.get(chunk);
+                if (preceding != null) {
+                    result.addAll(preceding);
+                }
+                result.add(chunk);
+                List<CharacterRenderInfo> succeeding = succeedingMarks.get(chunk);
+                if (succeeding != null) {
+                    result.addAll(succeeding);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isMark(TextChunk chunk) {
+        ITextChunkLocation location = chunk.getLocation();
+        return location.getStartLocation().equals(location.getEndLocation());
+    }
+
+    /**
+     * Finds the indices of the chunks which start new lines, a chunk continues the line of the previous chunk
+     * if they are on the same line in terms of {@link ITextChunkLocation#sameLine(ITextChunkLocation)}.
+     *
+     * @return the start indices of the lines followed by the number of chunks
+     */
+    private static int[] findLineStarts(List<CharacterRenderInfo> chunks) {
+        int[] lineStarts = new int[chunks.size() + 1];
+        int lineCount = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            if (i == 0 || !chunks.get(i).sameLine(chunks.get(i - 1))) {
+                lineStarts[lineCount++] = i;
+            }
+        }
+        lineStarts[lineCount] = chunks.size();
+        return Arrays.copyOf(lineStarts, lineCount + 1);
+    }
+
+    private void buildGrid() {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        float left = Float.MAX_VALUE;
+        float bottom = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE;
+        float top = -Float.MAX_VALUE;
+        for (CharacterRenderInfo chunk : chunks) {
+            Rectangle box = chunk.getBoundingBox();
+            left = Math.min(left, box.getLeft());
+            bottom = Math.min(bottom, box.getBottom());
+            right = Math.max(right, box.getRight());
+            top = Math.max(top, box.getTop());
+        }
+        int cellsPerSide = (int) Math.sqrt((double) chunks.size() / CHUNKS_PER_CELL);
+        cellsPerSide = Math.max(1, Math.min(cellsPerSide, MAX_CELLS_PER_SIDE));
+        gridLeft = left;
+        gridBottom = bottom;
+        columns = cellsPerSide;
+        rows = cellsPerSide;
+        cellWidth = right > left ? (right - left) / columns : 1;
+        cellHeight = top > bottom ? (top - bottom) / rows : 1;
+
+        int[] counts = new int[columns * rows];
+        for (CharacterRenderInfo chunk : chunks) {
+            Rectangle box = chunk.getBoundingBox();
+            for (int row = getRow(box.getBottom()); row <= getRow(box.getTop()); row++) {
+                for (int column = getColumn(box.getLeft()); column <= getColumn(box.getRight()); column++) {
+                    counts[row * columns + column]++;
+                }
+            }
+        }
+        cells = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            cells[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            Rectangle box = chunks.get(i).getBoundingBox();
+            for (int row = getRow(box.getBottom()); row <= getRow(box.getTop()); row++) {
+                for (int column = getColumn(box.getLeft()); column <= getColumn(box.getRight()); column++) {
+                    int cell = row * columns + column;
+                    cells[cell][counts[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    private int[] findChunksInRegion(Rectangle region) {
+        if (cells == null) {
+            return new int[0];
+        }
+        int[] found = new int[16];
+        int foundCount = 0;
+        for (int row = getRow(region.getBottom()); row <= getRow(region.getTop()); row++) {
+            for (int column = getColumn(region.getLeft()); column <= getColumn(region.getRight()); column++) {
+                for (int index : cells[row * columns + column]) {
+                    if (region.overlaps(chunks.get(index).getBoundingBox(), 0)) {
+                        if (foundCount == found.length) {
+                            found = Arrays.copyOf(found, found.length * 2);
+                        }
+                        found[foundCount++] = index;
+                    }
+                }
+            }
+        }
+        // a chunk is present in every cell it intersects, so sort the indices and drop the repeated ones
+        Arrays.sort(found, 0, foundCount);
+        int uniqueCount = 0;
+        for (int i = 0; i < foundCount; i++) {
+            if (uniqueCount == 0 || found[uniqueCount - 1] != found[i]) {
+                found[uniqueCount++] = found[i];
+            }
+        }
+        return Arrays.copyOf(found, uniqueCount);
+    }
+
+    private String buildText(int[] indices) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < indices.length; i++) {
+            CharacterRenderInfo chunk = chunks.get(indices[i]);
+            if (i > 0) {
+                CharacterRenderInfo lastChunk = chunks.get(indices[i - 1]);
+                if (!chunk.sameLine(lastChunk)) {
+                    sb.append('\n');
+                } else if (chunk.getLocation().isAtWordBoundary(lastChunk.getLocation())
+                        && !chunk.getText().startsWith(" ") && !lastChunk.getText().endsWith(" ")) {
+                    // we only insert a blank space if the trailing character of the previous string wasn't a space, and the leading character of the current string isn't a space
+                    sb.append(' ');
+                }
+            }
+            sb.append(chunk.getText());
+        }
+        return sb.toString();
+    }
+
+    private int getColumn(float x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - gridLeft) / cellWidth)));
+    }
+
+    private int getRow(float y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - gridBottom) / cellHeight)));
+    }
+}
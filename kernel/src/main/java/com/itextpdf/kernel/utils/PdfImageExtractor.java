@@ -0,0 +1,349 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.logs.KernelLogMessageConstant;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Extracts the image XObjects of a {@link PdfDocument}.
+ * <p>
+ * The images are found in the resources of the pages and of the Form XObjects used by them. Each image
+ * XObject is extracted only once, even if it is referenced from several pages, and is identified by
+ * the number of its indirect object, so the images which are direct objects are not extracted. This can
+ * only be the case for the images of a document which is being created and hasn't been flushed yet.
+ * Both the search of the images and their decoding are done by several worker threads. The decoded
+ * images are passed to the {@link IImageConsumer consumer} one by one, so that at most one decoded image
+ * per worker thread is kept in memory at any time. An image which cannot be decoded is logged and skipped.
+ * <p>
+ * {@link PdfDocument} is not thread-safe, so each worker thread opens its own instance of the document
+ * (see {@link #getSourcePdfReader(IRandomAccessSource)}) which shares the bytes of the original document.
+ * Therefore, the changes made to the document which haven't been saved yet are not taken into account.
+ * If the document has not been opened for reading, the images are extracted on the current thread
+ * from the document itself.
+ */
+public class PdfImageExtractor {
+
+    private final PdfDocument pdfDocument;
+
+    /**
+     * Creates a new {@link PdfImageExtractor} instance.
+     *
+     * @param pdfDocument the document to extract the images from
+     */
+    public PdfImageExtractor(PdfDocument pdfDocument) {
+        this.pdfDocument = pdfDocument;
+    }
+
+    /**
+     * Extracts all the image XObjects of the document. Note, that the consumer is called from the worker
+     * threads, so it shall be thread-safe if the parallelism is greater than 1.
+     *
+     * @param consumer    the consumer of the extracted images
+     * @param parallelism the number of worker threads
+     */
+    public void extractImages(final IImageConsumer consumer, int parallelism) {
+        if (parallelism < 1) {
+            throw new PdfException(KernelExceptionMessageConstant.IMAGE_EXTRACTION_PARALLELISM_SHALL_BE_POSITIVE);
+        }
+        if (pdfDocument.getReader() == null) {
+            ImageReferences images = new ImageReferences();
+            Set<Integer> visited = new HashSet<>();
+            for (int pageNumber = 1; pageNumber <= pdfDocument.getNumberOfPages(); pageNumber++) {
+                findImages(pdfDocument, pageNumber, images, visited);
+            }
+            for (int i = 0; i < images.size(); i++) {
+                extractImage(pdfDocument, images, i, consumer, false);
+            }
+            return;
+        }
+        final IRandomAccessSource source = pdfDocument.getReader().getSafeFile().createSourceView();
+        // The images are found on the worker threads, each worker looks through the pages it takes
+        final ImageReferences[] pageImages = new ImageReferences[pdfDocument.getNumberOfPages()];
+        ParallelDocumentProcessor.process(pageImages.length, parallelism, () -> new ImageSearchWorker(source, pageImages),
+                KernelExceptionMessageConstant.IMAGE_EXTRACTION_WAS_INTERRUPTED);
+        final ImageReferences images = new ImageReferences();
+        Set<Integer> found = new HashSet<>();
+        for (int i = 0; i < pageImages.length; i++) {
+            for (int j = 0; j < pageImages[i].size(); j++) {
+                if (found.add(pageImages[i].objectNumbers[j])) {
+                    images.add(pageImages[i].objectNumbers[j], i + 1);
+                }
+            }
+        }
+        ParallelDocumentProcessor.process(images.size(), parallelism,
+                () -> new ImageExtractionWorker(source, images, consumer),
+                KernelExceptionMessageConstant.IMAGE_EXTRACTION_WAS_INTERRUPTED);
+    }
+
+    /**
+     * Creates a reader of the document instance which is opened by a worker thread of
+     * {@link #extractImages(IImageConsumer, int)}. Override this method
+     * if the reader requires specific properties which differ from the ones of the original reader.
+     *
+     * @param source the source of the document bytes
+     * @return the reader of the document
+     * @throws IOException if the reader cannot be created
+     */
+    protected PdfReader getSourcePdfReader(IRandomAccessSource source) throws IOException {
+        return pdfDocument.getReader().createReaderOverSource(source);
+    }
+
+    private static void extractImage(PdfDocument document, ImageReferences images, int index,
+            IImageConsumer consumer, boolean release) {
+        int objectNumber = images.objectNumbers[index];
+        PdfStream imageStream = (PdfStream) document.getPdfObject(objectNumber);
+        ExtractedImage extractedImage;
+        try {
+            PdfImageXObject image = new PdfImageXObject(imageStream);
+            extractedImage = new ExtractedImage(objectNumber, images.pageNumbers[index], image,
+                    image.getImageBytes(true));
+        } catch (RuntimeException e) {
+            // an image which cannot be decoded shall not prevent the extraction of the other ones
+            Logger logger = LoggerFactory.getLogger(PdfImageExtractor.class);
+            logger.warn(MessageFormatUtil.format(KernelLogMessageConstant.IMAGE_XOBJECT_CANNOT_BE_EXTRACTED,
+                    objectNumber), e);
+            extractedImage = null;
+        }
+        if (extractedImage != null) {
+            consumer.imageExtracted(extractedImage);
+        }
+        if (release) {
+            // the worker document is read only, so the image stream can be released to keep the memory bounded
+            imageStream.release();
+        }
+    }
+
+    /**
+     * Finds the image XObjects in the resources of the page and of the nested Form XObjects.
+     */
+    private static void findImages(PdfDocument document, int pageNumber, ImageReferences images,
+            Set<Integer> visited) {
+        PdfResources resources = document.getPage(pageNumber).getResources();
+        findImages(resources.getResource(PdfName.XObject), pageNumber, images, visited);
+    }
+
+    private static void findImages(PdfDictionary xObjects, int pageNumber, ImageReferences images,
+            Set<Integer> visited) {
+        if (xObjects == null) {
+            return;
+        }
+        for (PdfName name : xObjects.keySet()) {
+            PdfObject xObject = xObjects.get(name);
+            if (!(xObject instanceof PdfStream)) {
+                continue;
+            }
+            PdfIndirectReference reference = xObject.getIndirectReference();
+            if (reference == null || !visited.add(reference.getObjNumber())) {
+                continue;
+            }
+            PdfStream stream = (PdfStream) xObject;
+            PdfName subtype = stream.getAsName(PdfName.Subtype);
+            if (PdfName.Image.equals(subtype)) {
+                images.add(reference.getObjNumber(), pageNumber);
+            } else if (PdfName.Form.equals(subtype)) {
+                PdfDictionary resources = stream.getAsDictionary(PdfName.Resources);
+                if (resources != null) {
+                    findImages(resources.getAsDictionary(PdfName.XObject), pageNumber, images, visited);
+                }
+            }
+        }
+    }
+
+    private PdfDocument openDocument(IRandomAccessSource source) throws IOException {
+        return new PdfDocument(getSourcePdfReader(source));
+    }
+
+    /**
+     * Consumer of the images extracted by {@link PdfImageExtractor}.
+     */
+    public interface IImageConsumer {
+
+        /**
+         * Called for each extracted image.
+         *
+         * @param image the extracted image
+         */
+        void imageExtracted(ExtractedImage image);
+    }
+
+    /**
+     * An image extracted by {@link PdfImageExtractor}.
+     */
+    public static class ExtractedImage {
+        private final int objectNumber;
+        private final int pageNumber;
+        private final PdfImageXObject imageXObject;
+        private final byte[] imageBytes;
+
+        ExtractedImage(int objectNumber, int pageNumber, PdfImageXObject imageXObject, byte[] imageBytes) {
+            this.objectNumber = objectNumber;
+            this.pageNumber = pageNumber;
+            this.imageXObject = imageXObject;
+            this.imageBytes = imageBytes;
+        }
+
+        /**
+         * Gets the number of the indirect object of the image XObject.
+         *
+         * @return the object number
+         */
+        public int getObjectNumber() {
+            return objectNumber;
+        }
+
+        /**
+         * Gets the number of the first page which uses the image.
+         *
+         * @return the page number
+         */
+        public int getPageNumber() {
+            return pageNumber;
+        }
+
+        /**
+         * Gets the image XObject. It belongs to the document instance of the worker thread and shall
+         * not be used after {@link IImageConsumer#imageExtracted(ExtractedImage)} returns.
+         *
+         * @return the image XObject
+         */
+        public PdfImageXObject getImageXObject() {
+            return imageXObject;
+        }
+
+        /**
+         * Gets the decoded image bytes, see {@link PdfImageXObject#getImageBytes(boolean)}.
+         *
+         * @return the image bytes
+         */
+        public byte[] getImageBytes() {
+            return imageBytes;
+        }
+
+        /**
+         * Gets the recommended file extension of the image bytes,
+         * see {@link PdfImageXObject#identifyImageFileExtension()}.
+         *
+         * @return the file extension
+         */
+        public String getFileExtension() {
+            return imageXObject.identifyImageFileExtension();
+        }
+    }
+
+    /**
+     * The object numbers of the found images and the numbers of the first pages which use them.
+     */
+    private static final class ImageReferences {
+        private int[] objectNumbers = new int[16];
+        private int[] pageNumbers = new int[16];
+        private int size;
+
+        void add(int objectNumber, int pageNumber) {
+            if (size == objectNumbers.length) {
+                objectNumbers = Arrays.copyOf(objectNumbers, size * 2);
+                pageNumbers = Arrays.copyOf(pageNumbers, size * 2);
+            }
+            objectNumbers[size] = objectNumber;
+            pageNumbers[size] = pageNumber;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Finds the images of the pages taken by a worker thread in its own instance of the document.
+     */
+    private final class ImageSearchWorker implements ParallelDocumentProcessor.IWorker {
+        private final PdfDocument document;
+        private final ImageReferences[] pageImages;
+        // the images found by the worker are reported once, the other workers may report them again
+        private final Set<Integer> visited = new HashSet<>();
+
+        ImageSearchWorker(IRandomAccessSource source, ImageReferences[] pageImages) throws IOException {
+            this.document = openDocument(source);
+            this.pageImages = pageImages;
+        }
+
+        @Override
+        public void process(int index) {
+            ImageReferences images = new ImageReferences();
+            findImages(document, index + 1, images, visited);
+            pageImages[index] = images;
+        }
+
+        @Override
+        public void close() {
+            document.close();
+        }
+    }
+
+    /**
+     * Extracts the images taken by a worker thread from its own instance of the document.
+     */
+    private final class ImageExtractionWorker implements ParallelDocumentProcessor.IWorker {
+        private final PdfDocument document;
+        private final ImageReferences images;
+        private final IImageConsumer consumer;
+
+        ImageExtractionWorker(IRandomAccessSource source, ImageReferences images, IImageConsumer consumer)
+                throws IOException {
+            this.document = openDocument(source);
+            this.images = images;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void process(int index) {
+            extractImage(document, images, index, consumer, true);
+        }
+
+        @Override
+        public void close() {
+            document.close();
+        }
+    }
+}
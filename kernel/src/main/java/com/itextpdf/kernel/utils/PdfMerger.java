@@ -22,10 +22,28 @@
  */
 package com.itextpdf.kernel.utils;
 
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class PdfMerger {
@@ -123,6 +141,66 @@ public class PdfMerger {
         return this;
     }
 
+    /**
+     * This method merges all pages of the source documents to the current one in the order of the list.
+     * <p>
+     * Source documents are opened by the passed {@link Callable} instances and all the objects reachable from
+     * their pages are parsed on a pool of {@code parallelism} threads, while the pages are copied to the current
+     * document on the calling thread, one source document after another. At most {@code 2 * parallelism} source
+     * documents wait to be merged at the same time: the next source document is opened only when the previous one
+     * is merged. As the source documents are opened by this method, each of them is closed right after it is
+     * merged, regardless of the <i>closeSourceDocuments</i> flag (see {@link #setCloseSourceDocuments(boolean)}).
+     * The pages merged from each source document are flushed at the same time, so they cannot be modified
+     * afterwards and the memory consumption stays bounded regardless of the number of sources.
+     * Enable {@link com.itextpdf.kernel.pdf.WriterProperties#setStreamCompressionParallelism(int)} for
+     * the current document to compress the streams of the flushed pages in parallel too.
+     *
+     * @param sources - list of the tasks opening source documents, e.g. {@code () -> new PdfDocument(new PdfReader(path))}
+     * @param parallelism - number of threads which open and parse source documents
+     * @return this {@code PdfMerger} instance
+     */
+    public PdfMerger merge(List<? extends Callable<PdfDocument>> sources, int parallelism) {
+        if (parallelism < 1) {
+            throw new PdfException(KernelExceptionMessageConstant.MERGE_PARALLELISM_SHALL_BE_POSITIVE);
+        }
+        int maxOpenDocuments = 2 * parallelism;
+        final AtomicBoolean aborted = new AtomicBoolean(false);
+        Deque<Future<PdfDocument>> openedDocuments = new ArrayDeque<>(maxOpenDocuments);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, sources.size())));
+        int nextSource = 0;
+        boolean merged = false;
+        try {
+            for (int i = 0; i < sources.size(); i++) {
+                while (nextSource < sources.size() && nextSource - i < maxOpenDocuments) {
+                    final Callable<PdfDocument> source = sources.get(nextSource++);
+                    openedDocuments.add(executor.submit(() -> openSourceDocument(source, aborted)));
+                }
+                PdfDocument from = getOpenedDocument(openedDocuments.poll());
+                int firstMergedPage = pdfDocument.getNumberOfPages() + 1;
+                try {
+                    if (from.getNumberOfPages() > 0) {
+                        merge(from, 1, from.getNumberOfPages());
+                    }
+                } finally {
+                    if (!from.isClosed()) {
+                        from.close();
+                    }
+                }
+                for (int pageNum = firstMergedPage; pageNum <= pdfDocument.getNumberOfPages(); pageNum++) {
+                    pdfDocument.getPage(pageNum).flush();
+                }
+            }
+            merged = true;
+        } finally {
+            if (!merged) {
+                aborted.set(true);
+                closeOpenedDocuments(openedDocuments);
+            }
+            executor.shutdown();
+        }
+        return this;
+    }
+
     /**
      * Closes the current document.
      * <p>
@@ -134,4 +212,84 @@ public class PdfMerger {
     public void close() {
         pdfDocument.close();
     }
+
+    private static PdfDocument getOpenedDocument(Future<PdfDocument> openedDocument) {
+        try {
+            return openedDocument.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.MERGING_WAS_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            // a checked exception can only be thrown by the task opening the document
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e.getCause());
+        }
+    }
+
+    private static PdfDocument openSourceDocument(Callable<PdfDocument> source, AtomicBoolean aborted)
+            throws Exception {
+        if (aborted.get()) {
+            return null;
+        }
+        PdfDocument document = source.call();
+        try {
+            loadPageObjects(document);
+        } catch (RuntimeException e) {
+            document.close();
+            throw e;
+        }
+        return document;
+    }
+
+    /**
+     * Reads all objects reachable from the pages of the document, so that they are parsed
+     * before the pages are copied.
+     */
+    private static void loadPageObjects(PdfDocument document) {
+        Set<PdfObject> visited = Collections.newSetFromMap(new IdentityHashMap<PdfObject, Boolean>());
+        Deque<PdfObject> toVisit = new ArrayDeque<>();
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            toVisit.push(document.getPage(i).getPdfObject());
+        }
+        while (!toVisit.isEmpty()) {
+            PdfObject object = toVisit.pop();
+            if (!visited.add(object)) {
+                continue;
+            }
+            if (object.isDictionary() || object.isStream()) {
+                for (Map.Entry<PdfName, PdfObject> entry : ((PdfDictionary) object).entrySet()) {
+                    if (entry.getValue() != null && !PdfName.Parent.equals(entry.getKey())) {
+                        toVisit.push(entry.getValue());
+                    }
+                }
+            } else if (object.isArray()) {
+                for (PdfObject item : (PdfArray) object) {
+                    if (item != null) {
+                        toVisit.push(item);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void closeOpenedDocuments(Deque<Future<PdfDocument>> openedDocuments) {
+        for (Future<PdfDocument> openedDocument : openedDocuments) {
+            try {
+                PdfDocument document = openedDocument.get();
+                if (document != null) {
+                    document.close();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | RuntimeException ignored) {
+                // the document has not been opened or has been closed already
+            }
+        }
+    }
 }
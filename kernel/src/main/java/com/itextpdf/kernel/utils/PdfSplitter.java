@@ -24,6 +24,7 @@ package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.commons.actions.contexts.IMetaInfo;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.DocumentProperties;
@@ -32,9 +33,12 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfOutline;
 import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -187,6 +191,30 @@ public class PdfSplitter {
         return splitDocuments;
     }
 
+    /**
+     * Splits a document into smaller documents with no more than @pageCount pages each.
+     * The resultant documents are built by {@code parallelism} worker threads.
+     * <p>
+     * Each worker opens its own instance of the source document (see {@link #getSourcePdfReader(IRandomAccessSource)})
+     * which shares the bytes of the original document, so the {@link PdfDocument} passed to the splitter is
+     * not accessed by the workers. Note, that {@link #getNextPdfWriter(PageRange)} and the listener are called
+     * from the worker threads in an arbitrary order, so they shall be thread-safe. The worker instance of the source
+     * document is closed after the worker has processed all its documents, so the resultant document should be
+     * closed in the listener.
+     *
+     * @param pageCount the biggest possible number of pages in a split document.
+     * @param documentReady the event listener which is called when another document is ready.
+     * @param parallelism the number of worker threads.
+     */
+    public void splitByPageCount(int pageCount, IDocumentReadyListener documentReady, int parallelism) {
+        List<PageRange> pageRanges = new ArrayList<>();
+        for (int startPage = 1; startPage <= pdfDocument.getNumberOfPages(); startPage += pageCount) {
+            int endPage = Math.min(startPage + pageCount - 1, pdfDocument.getNumberOfPages());
+            pageRanges.add(new PageRange().addPageSequence(startPage, endPage));
+        }
+        extractPageRanges(pageRanges, documentReady, null, parallelism);
+    }
+
     /**
      * Extracts the specified page ranges from a document.
      *
@@ -207,6 +235,22 @@ public class PdfSplitter {
         return splitDocuments;
     }
 
+    /**
+     * Extracts the specified page ranges from a document. The resultant documents are built by
+     * {@code parallelism} worker threads, see {@link #splitByPageCount(int, IDocumentReadyListener, int)}
+     * for the details.
+     *
+     * @param pageRanges the list of page ranges for each of the resultant document.
+     * @param parallelism the number of worker threads.
+     *
+     * @return the list of the resultant documents in the order of the page ranges. Be warned that they are not closed.
+     */
+    public List<PdfDocument> extractPageRanges(List<PageRange> pageRanges, int parallelism) {
+        PdfDocument[] splitDocuments = new PdfDocument[pageRanges.size()];
+        extractPageRanges(pageRanges, null, splitDocuments, parallelism);
+        return new ArrayList<>(Arrays.asList(splitDocuments));
+    }
+
     /**
      * Extracts the specified page ranges from a document.
      *
@@ -236,15 +280,82 @@ public class PdfSplitter {
         return new PdfWriter(new ByteArrayOutputStream());
     }
 
+    /**
+     * This method is called by the worker threads of the concurrent splitting to open their own instances
+     * of the source document. The passed source shares the bytes of the original document and can be read
+     * concurrently. You can override this method and return your own {@link PdfReader}, e.g. to provide
+     * the password of an encrypted document.
+     *
+     * @param source the source of the bytes of the original document
+     *
+     * @return the PdfReader instance for the source document of a worker.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    protected PdfReader getSourcePdfReader(IRandomAccessSource source) throws IOException {
+        return pdfDocument.getReader().createReaderOverSource(source);
+    }
+
     private PdfDocument createPdfDocument(PageRange currentPageRange) {
+        return createPdfDocument(currentPageRange, pdfDocument);
+    }
+
+    private PdfDocument createPdfDocument(PageRange currentPageRange, PdfDocument sourceDocument) {
         PdfDocument newDocument = new PdfDocument(getNextPdfWriter(currentPageRange), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
-        if (pdfDocument.isTagged() && preserveTagged)
+        if (sourceDocument.isTagged() && preserveTagged)
             newDocument.setTagged();
-        if (pdfDocument.hasOutlines() && preserveOutlines)
+        if (sourceDocument.hasOutlines() && preserveOutlines)
             newDocument.initializeOutlines();
         return newDocument;
     }
 
+    private void extractPageRanges(final List<PageRange> pageRanges, final IDocumentReadyListener documentReady,
+            final PdfDocument[] splitDocuments, int parallelism) {
+        if (parallelism < 1) {
+            throw new PdfException(KernelExceptionMessageConstant.SPLIT_PARALLELISM_SHALL_BE_POSITIVE);
+        }
+        if (pdfDocument.getReader() == null) {
+            // there are no document bytes to share with the workers
+            for (int i = 0; i < pageRanges.size(); i++) {
+                PdfDocument splitDocument = extractPageRange(pdfDocument, pageRanges.get(i));
+                if (splitDocuments != null) {
+                    splitDocuments[i] = splitDocument;
+                } else {
+                    documentReady.documentReady(splitDocument, pageRanges.get(i));
+                }
+            }
+            return;
+        }
+        final IRandomAccessSource source = pdfDocument.getReader().getSafeFile().createSourceView();
+        try {
+            ParallelDocumentProcessor.process(pageRanges.size(), parallelism,
+                    () -> new SplitWorker(source, pageRanges, documentReady, splitDocuments),
+                    KernelExceptionMessageConstant.SPLITTING_WAS_INTERRUPTED);
+        } catch (RuntimeException | Error e) {
+            if (splitDocuments != null) {
+                // the documents which have already been split are not returned to the caller
+                for (PdfDocument splitDocument : splitDocuments) {
+                    if (splitDocument != null && !splitDocument.isClosed()) {
+                        splitDocument.close();
+                    }
+                }
+            }
+            throw e;
+        }
+    }
+
+    private PdfDocument extractPageRange(PdfDocument sourceDocument, PageRange pageRange) {
+        PdfDocument splitDocument = createPdfDocument(pageRange, sourceDocument);
+        try {
+            sourceDocument.copyPagesTo(pageRange.getQualifyingPageNums(sourceDocument.getNumberOfPages()),
+                    splitDocument);
+        } catch (RuntimeException e) {
+            splitDocument.close();
+            throw e;
+        }
+        return splitDocument;
+    }
+
     public interface IDocumentReadyListener {
         void documentReady(PdfDocument pdfDocument, PageRange pageRange);
     }
@@ -398,4 +509,36 @@ public class PdfSplitter {
             splitDocuments.add(pdfDocument);
         }
     }
+
+    private final class SplitWorker implements ParallelDocumentProcessor.IWorker {
+        private final PdfDocument sourceDocument;
+        private final List<PageRange> pageRanges;
+        private final IDocumentReadyListener documentReady;
+        private final PdfDocument[] splitDocuments;
+
+        SplitWorker(IRandomAccessSource source, List<PageRange> pageRanges, IDocumentReadyListener documentReady,
+                PdfDocument[] splitDocuments) throws IOException {
+            this.sourceDocument = new PdfDocument(getSourcePdfReader(source),
+                    new DocumentProperties().setEventCountingMetaInfo(metaInfo));
+            this.pageRanges = pageRanges;
+            this.documentReady = documentReady;
+            this.splitDocuments = splitDocuments;
+        }
+
+        @Override
+        public void process(int index) {
+            PageRange pageRange = pageRanges.get(index);
+            PdfDocument splitDocument = extractPageRange(sourceDocument, pageRange);
+            if (splitDocuments != null) {
+                splitDocuments[index] = splitDocument;
+            } else {
+                documentReady.documentReady(splitDocument, pageRange);
+            }
+        }
+
+        @Override
+        public void close() {
+            sourceDocument.close();
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfDocumentContentParser;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfFontCacheTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FILE =
+            "./src/test/resources/com/itextpdf/kernel/parser/LocationExtractionTest/aliceInWonderland.pdf";
+
+    @Test
+    public void fontsAreSharedBetweenPagesTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            PdfDocumentContentParser parser = new PdfDocumentContentParser(pdfDocument);
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                parser.processContent(i, new LocationTextExtractionStrategy());
+            }
+            PdfFontCache fontCache = parser.getFontCache();
+            Assert.assertTrue(fontCache.getHitCount() > 0);
+            Assert.assertEquals(fontCache.size(), fontCache.getMissCount());
+            Assert.assertEquals(0, fontCache.getEvictionCount());
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedFontIsEvictedTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            List<PdfDictionary> fontDictionaries = new ArrayList<>();
+            PdfDictionary fonts = pdfDocument.getPage(1).getResources().getResource(PdfName.Font);
+            for (PdfName name : fonts.keySet()) {
+                fontDictionaries.add(fonts.getAsDictionary(name));
+            }
+            Assert.assertTrue(fontDictionaries.size() > 1);
+
+            PdfFontCache fontCache = new PdfFontCache(1);
+            PdfFont font = fontCache.getFont(fontDictionaries.get(0));
+            Assert.assertSame(font, fontCache.getFont(fontDictionaries.get(0)));
+            fontCache.getFont(fontDictionaries.get(1));
+            Assert.assertEquals(1, fontCache.size());
+            Assert.assertEquals(1, fontCache.getEvictionCount());
+            Assert.assertNotSame(font, fontCache.getFont(fontDictionaries.get(0)));
+            Assert.assertEquals(1, fontCache.getHitCount());
+            Assert.assertEquals(3, fontCache.getMissCount());
+        }
+    }
+
+    @Test
+    public void nonPositiveFontCacheSizeTest() {
+        Exception e = Assert.assertThrows(PdfException.class, () -> new PdfFontCache(0));
+        Assert.assertEquals(KernelExceptionMessageConstant.FONT_CACHE_SIZE_SHALL_BE_POSITIVE, e.getMessage());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ObjectStreamCacheUnitTest extends ExtendedITextTest {
+
+    @Test
+    public void hitAndMissCountersTest() {
+        ObjectStreamCache cache = new ObjectStreamCache(1000);
+        Assert.assertNull(cache.get(1));
+        cache.put(1, createDecodedObjectStream(100));
+        Assert.assertNotNull(cache.get(1));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvictedTest() {
+        ObjectStreamCache cache = new ObjectStreamCache(300);
+        cache.put(1, createDecodedObjectStream(92));
+        cache.put(2, createDecodedObjectStream(92));
+        cache.put(3, createDecodedObjectStream(92));
+        // make the first entry the most recently used one
+        Assert.assertNotNull(cache.get(1));
+
+        cache.put(4, createDecodedObjectStream(92));
+        Assert.assertNull(cache.get(2));
+        Assert.assertNotNull(cache.get(1));
+        Assert.assertNotNull(cache.get(3));
+        Assert.assertNotNull(cache.get(4));
+        Assert.assertEquals(300, cache.getSize());
+    }
+
+    @Test
+    public void tooLargeEntryIsNotCachedTest() {
+        ObjectStreamCache cache = new ObjectStreamCache(100);
+        cache.put(1, createDecodedObjectStream(200));
+        Assert.assertNull(cache.get(1));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    private static ObjectStreamCache.DecodedObjectStream createDecodedObjectStream(int length) {
+        return new ObjectStreamCache.DecodedObjectStream(new byte[length], new int[] {1}, new int[] {0});
+    }
+}
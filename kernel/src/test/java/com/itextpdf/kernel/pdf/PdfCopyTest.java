@@ -377,6 +377,83 @@ public class PdfCopyTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder));
     }
 
+    @Test
+    public void copyPagesWithStreamCopyThroughTest() throws IOException, InterruptedException {
+        String srcFileName = sourceFolder + "sameDocWithBookmarksPdf.pdf";
+        String cmpFileName = destinationFolder + "cmp_copyPagesWithStreamCopyThrough.pdf";
+        String outFileName = destinationFolder + "copyPagesWithStreamCopyThrough.pdf";
+
+        try (PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFileName));
+                PdfDocument cmpDoc = new PdfDocument(new PdfWriter(cmpFileName))) {
+            srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), cmpDoc);
+        }
+
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFileName));
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFileName,
+                new WriterProperties().setStreamCopyThrough(true)));
+        srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), outDoc);
+        PdfStream contentStream = outDoc.getPage(1).getFirstContentStream();
+        Assert.assertNotNull(contentStream.getCopyThroughSource());
+        outDoc.close();
+        srcDoc.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder));
+    }
+
+    @Test
+    public void closeSourceBeforeStreamCopyThroughTest() throws IOException, InterruptedException {
+        String srcFileName = sourceFolder + "sameDocWithBookmarksPdf.pdf";
+        String cmpFileName = destinationFolder + "cmp_closeSourceBeforeStreamCopyThrough.pdf";
+        String outFileName = destinationFolder + "closeSourceBeforeStreamCopyThrough.pdf";
+
+        try (PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFileName));
+                PdfDocument cmpDoc = new PdfDocument(new PdfWriter(cmpFileName))) {
+            srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), cmpDoc);
+        }
+
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFileName));
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFileName,
+                new WriterProperties().setStreamCopyThrough(true)));
+        srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), outDoc);
+        PdfStream contentStream = outDoc.getPage(1).getFirstContentStream();
+        srcDoc.close();
+        // the stream is written to the output on closing the source document
+        Assert.assertTrue(contentStream.isFlushed());
+        outDoc.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder));
+    }
+
+    @Test
+    public void mergeClosingSourcesWithStreamCopyThroughTest() throws IOException {
+        String srcFileName = sourceFolder + "sameDocWithBookmarksPdf.pdf";
+        String outFileName = destinationFolder + "mergeClosingSourcesWithStreamCopyThrough.pdf";
+
+        PdfDocument outDoc = new PdfDocument(new PdfWriter(outFileName,
+                new WriterProperties().setStreamCopyThrough(true)));
+        for (int i = 0; i < 3; i++) {
+            PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFileName));
+            int firstCopiedPage = outDoc.getNumberOfPages() + 1;
+            srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), outDoc);
+            srcDoc.close();
+            for (int j = firstCopiedPage; j <= outDoc.getNumberOfPages(); j++) {
+                Assert.assertTrue(outDoc.getPage(j).getFirstContentStream().isFlushed());
+            }
+        }
+        outDoc.close();
+
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFileName));
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        int srcPages = srcDoc.getNumberOfPages();
+        Assert.assertEquals(srcPages * 3, resultDoc.getNumberOfPages());
+        for (int i = 1; i <= resultDoc.getNumberOfPages(); i++) {
+            Assert.assertArrayEquals(srcDoc.getPage((i - 1) % srcPages + 1).getContentBytes(),
+                    resultDoc.getPage(i).getContentBytes());
+        }
+        resultDoc.close();
+        srcDoc.close();
+    }
+
     private List<PdfAnnotation> getPdfAnnotations(PdfDocument pdfDoc) {
         int number = pdfDoc.getNumberOfPages();
         ArrayList<PdfAnnotation> annotations = new ArrayList<>();
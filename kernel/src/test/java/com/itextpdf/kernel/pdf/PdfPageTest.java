@@ -23,6 +23,8 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.MemoryLimitsAwareException;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.annot.PdfAnnotation;
 import com.itextpdf.kernel.utils.CompareTool;
@@ -30,8 +32,11 @@ import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.zip.DeflaterOutputStream;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -169,6 +174,102 @@ public class PdfPageTest extends ExtendedITextTest {
         Assert.assertTrue(pageDictionary.isModified());
     }
 
+    @Test
+    public void contentInputStreamTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfPage page = pdfDocument.addNewPage();
+            page.getFirstContentStream().getOutputStream().writeBytes("q 1 0 0 1 10 10 cm".getBytes());
+            PdfStream uncompressedStream = page.newContentStreamAfter();
+            uncompressedStream.setCompressionLevel(CompressionConstants.NO_COMPRESSION);
+            uncompressedStream.getOutputStream().writeBytes("0 0 m 10 10 l S\n".getBytes());
+            page.newContentStreamAfter();
+            page.newContentStreamAfter().getOutputStream().writeBytes("Q".getBytes());
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(
+                new java.io.ByteArrayInputStream(baos.toByteArray())))) {
+            PdfPage page = pdfDocument.getFirstPage();
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try (InputStream contentStream = page.getContentInputStream()) {
+                byte[] buffer = new byte[5];
+                int count;
+                while ((count = contentStream.read(buffer)) != -1) {
+                    content.write(buffer, 0, count);
+                }
+            }
+
+            Assert.assertArrayEquals(page.getContentBytes(), content.toByteArray());
+            Assert.assertEquals("q 1 0 0 1 10 10 cm\n0 0 m 10 10 l S\nQ\n", new String(content.toByteArray()));
+        }
+    }
+
+    @Test
+    public void contentInputStreamOfCorruptedFlateStreamTest() throws IOException {
+        StringBuilder operators = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            operators.append(i).append(" 0 m ").append(i).append(" 10 l S\n");
+        }
+        java.io.ByteArrayOutputStream compressed = new java.io.ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(operators.toString().getBytes(StandardCharsets.ISO_8859_1));
+        }
+        byte[] corrupted = compressed.toByteArray();
+        Arrays.fill(corrupted, corrupted.length / 2, corrupted.length / 2 + 16, (byte) 0xff);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfStream contentStream = pdfDocument.addNewPage().getFirstContentStream();
+            contentStream.setData(corrupted);
+            contentStream.put(PdfName.Filter, PdfName.FlateDecode);
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(
+                new java.io.ByteArrayInputStream(baos.toByteArray())))) {
+            PdfPage page = pdfDocument.getFirstPage();
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try (InputStream contentStream = page.getContentInputStream()) {
+                byte[] buffer = new byte[4096];
+                int count;
+                while ((count = contentStream.read(buffer)) != -1) {
+                    content.write(buffer, 0, count);
+                }
+            }
+
+            byte[] expected = page.getContentBytes();
+            // only the bytes before the corrupted data can be inflated
+            Assert.assertTrue(expected.length > 0 && expected.length < operators.length());
+            Assert.assertArrayEquals(expected, content.toByteArray());
+        }
+    }
+
+    @Test
+    public void contentInputStreamRespectsMemoryLimitsTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            byte[] operators = new byte[10000];
+            Arrays.fill(operators, (byte) ' ');
+            pdfDocument.addNewPage().getFirstContentStream().getOutputStream().writeBytes(operators);
+        }
+
+        MemoryLimitsAwareHandler handler = new MemoryLimitsAwareHandler().setMaxSizeOfSingleDecompressedPdfStream(1000);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(
+                new java.io.ByteArrayInputStream(baos.toByteArray()),
+                new ReaderProperties().setMemoryLimitsAwareHandler(handler)))) {
+            PdfPage page = pdfDocument.getFirstPage();
+            try (InputStream contentStream = page.getContentInputStream()) {
+                byte[] buffer = new byte[512];
+                Exception e = Assert.assertThrows(MemoryLimitsAwareException.class, () -> {
+                    while (contentStream.read(buffer) != -1) {
+                        // the bytes are skipped
+                    }
+                });
+                Assert.assertEquals(KernelExceptionMessageConstant
+                        .DURING_DECOMPRESSION_SINGLE_STREAM_OCCUPIED_MORE_MEMORY_THAN_ALLOWED, e.getMessage());
+            }
+        }
+    }
+
     /**
      * Simulates indirect state of object making sure it is not marked as modified.
      *
@@ -84,6 +84,44 @@ public class PdfReaderTest extends ExtendedITextTest {
         createDestinationFolder(DESTINATION_FOLDER);
     }
 
+    @Test
+    public void lazyXrefLoadingTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocument.pdf";
+        checkLazyXrefLoading(filename);
+    }
+
+    @Test
+    public void lazyXrefLoadingWithXrefStreamTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+        checkLazyXrefLoading(filename);
+    }
+
+    @Test
+    public void objectStreamCacheTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+
+        PdfReader reader = new PdfReader(filename).setObjectStreamCacheSize(1024 * 1024);
+        PdfDocument document = new PdfDocument(reader);
+        PdfIndirectReference reference = null;
+        for (int i = 1; i < document.getNumberOfPdfObjects() && reference == null; i++) {
+            PdfIndirectReference candidate = document.getXref().get(i);
+            if (candidate != null && candidate.getObjStreamNumber() > 0 && candidate.refersTo == null) {
+                reference = candidate;
+            }
+        }
+        Assert.assertNotNull(reference);
+        PdfObject object = reference.getRefersTo();
+        long missCount = reader.getObjectStreamCacheMissCount();
+        Assert.assertTrue(missCount > 0);
+
+        object.release();
+        Assert.assertNull(reference.refersTo);
+        Assert.assertNotNull(reference.getRefersTo());
+        Assert.assertEquals(missCount, reader.getObjectStreamCacheMissCount());
+        Assert.assertEquals(1, reader.getObjectStreamCacheHitCount());
+        document.close();
+    }
+
     @Test
     public void openSimpleDoc() throws IOException {
         String filename = DESTINATION_FOLDER + "openSimpleDoc.pdf";
@@ -2753,4 +2791,38 @@ public class PdfReaderTest extends ExtendedITextTest {
             return getXmpMetadataCounter;
         }
     }
+
+    private static void checkLazyXrefLoading(String filename) throws IOException {
+        PdfDocument eagerDocument = new PdfDocument(new PdfReader(filename));
+        PdfReader reader = new PdfReader(filename).setLazyXrefLoading(true);
+        PdfDocument lazyDocument = new PdfDocument(reader);
+        Assert.assertEquals(eagerDocument.getNumberOfPdfObjects(), lazyDocument.getNumberOfPdfObjects());
+
+        PdfXrefTable xref = lazyDocument.getXref();
+        int createdReferences = 0;
+        for (int i = 0; i < xref.size(); i++) {
+            if (xref.getCreated(i) != null) {
+                createdReferences++;
+            }
+        }
+        Assert.assertTrue(createdReferences < xref.size() / 2);
+
+        String content = new String(lazyDocument.getPage(3).getContentStream(0).getBytes());
+        Assert.assertTrue(content.contains("(3)"));
+        Assert.assertEquals(eagerDocument.getXref().getCountOfIndirectObjects(), xref.getCountOfIndirectObjects());
+        for (int i = 0; i < xref.size(); i++) {
+            PdfIndirectReference expected = eagerDocument.getXref().get(i);
+            PdfIndirectReference actual = xref.get(i);
+            Assert.assertEquals(expected == null, actual == null);
+            if (expected != null) {
+                Assert.assertEquals(expected.getOffset(), actual.getOffset());
+                Assert.assertEquals(expected.getGenNumber(), actual.getGenNumber());
+                Assert.assertEquals(expected.getObjStreamNumber(), actual.getObjStreamNumber());
+                Assert.assertEquals(expected.isFree(), actual.isFree());
+            }
+        }
+        Assert.assertFalse(reader.hasRebuiltXref());
+        lazyDocument.close();
+        eagerDocument.close();
+    }
 }
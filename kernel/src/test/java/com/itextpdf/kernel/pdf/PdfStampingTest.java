@@ -45,6 +45,8 @@ import com.itextpdf.test.annotations.type.IntegrationTest;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Calendar;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -855,6 +857,75 @@ public class PdfStampingTest extends ExtendedITextTest {
         pdfDocument.close();
     }
 
+    @Test
+    public void stampingIncrementalUpdateOnlyTest() throws IOException {
+        String filename1 = destinationFolder + "stampingIncrementalUpdateOnly_1.pdf";
+
+        PdfDocument pdfDoc1 = new PdfDocument(new PdfWriter(filename1));
+        PdfPage page1 = pdfDoc1.addNewPage();
+        page1.getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes("%page 1\n"));
+        page1.flush();
+        // the update shall be smaller than the original document, so the original shall not be tiny
+        for (int i = 0; i < 20; i++) {
+            pdfDoc1.addNewPage().flush();
+        }
+        pdfDoc1.close();
+
+        ByteArrayOutputStream update = new ByteArrayOutputStream();
+        PdfDocument pdfDoc2 = new PdfDocument(new PdfReader(filename1), new PdfWriter(update),
+                new StampingProperties().useIncrementalUpdateOnly());
+        Assert.assertTrue(pdfDoc2.isAppendMode());
+        PdfPage page2 = pdfDoc2.addNewPage();
+        page2.getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes("%page 2\n"));
+        pdfDoc2.close();
+
+        byte[] original = Files.readAllBytes(Paths.get(filename1));
+        byte[] delta = update.toByteArray();
+        Assert.assertTrue(delta.length < original.length);
+        byte[] result = new byte[original.length + delta.length];
+        System.arraycopy(original, 0, result, 0, original.length);
+        System.arraycopy(delta, 0, result, original.length, delta.length);
+
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(result));
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        assertEquals("Rebuilt", false, reader.hasRebuiltXref());
+        assertEquals("Fixed", false, reader.hasFixedXref());
+        assertEquals(22, pdfDocument.getNumberOfPages());
+        assertEquals("%page 1\n", new String(pdfDocument.getPage(1).getContentBytes()));
+        assertEquals("%page 2\n", new String(pdfDocument.getPage(22).getContentBytes()));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void stampingIncrementalUpdateOnlyWithLeadingJunkTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(ByteUtils.getIsoBytes("leading junk\n"));
+        PdfDocument pdfDoc1 = new PdfDocument(new PdfWriter(baos));
+        pdfDoc1.addNewPage().getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes("%page 1\n"));
+        pdfDoc1.close();
+        byte[] original = baos.toByteArray();
+
+        ByteArrayOutputStream update = new ByteArrayOutputStream();
+        PdfDocument pdfDoc2 = new PdfDocument(new PdfReader(new ByteArrayInputStream(original)),
+                new PdfWriter(update), new StampingProperties().useIncrementalUpdateOnly());
+        pdfDoc2.addNewPage().getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes("%page 2\n"));
+        pdfDoc2.close();
+
+        byte[] delta = update.toByteArray();
+        byte[] result = new byte[original.length + delta.length];
+        System.arraycopy(original, 0, result, 0, original.length);
+        System.arraycopy(delta, 0, result, original.length, delta.length);
+
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(result));
+        PdfDocument pdfDocument = new PdfDocument(reader);
+        assertEquals("Rebuilt", false, reader.hasRebuiltXref());
+        assertEquals("Fixed", false, reader.hasFixedXref());
+        assertEquals(2, pdfDocument.getNumberOfPages());
+        assertEquals("%page 1\n", new String(pdfDocument.getPage(1).getContentBytes()));
+        assertEquals("%page 2\n", new String(pdfDocument.getPage(2).getContentBytes()));
+        pdfDocument.close();
+    }
+
     @Test
     public void stampingAppend2() throws IOException {
         String filename1 = destinationFolder + "stampingAppend2_1.pdf";
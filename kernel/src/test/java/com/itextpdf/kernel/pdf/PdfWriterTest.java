@@ -26,6 +26,7 @@ import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.commons.utils.DateTimeUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -34,6 +35,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -609,4 +611,140 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void parallelStreamCompressionProducesSameStreamsTest() throws IOException {
+        byte[] sequential = createDocumentWithContentStreams(new WriterProperties());
+        byte[] parallel = createDocumentWithContentStreams(new WriterProperties().setStreamCompressionParallelism(4));
+        assertSameStreams(sequential, parallel);
+    }
+
+    @Test
+    public void parallelStreamCompressionOfFlushedPagesTest() throws IOException {
+        byte[] sequential = createDocumentWithContentStreams(new WriterProperties(), true);
+        byte[] parallel = createDocumentWithContentStreams(
+                new WriterProperties().setStreamCompressionParallelism(4), true);
+        assertSameStreams(sequential, parallel);
+    }
+
+    @Test
+    public void streamModifiedAfterParallelCompressionTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos,
+                new WriterProperties().setStreamCompressionParallelism(4)));
+        for (int i = 0; i < 4; i++) {
+            document.addNewPage().getFirstContentStream().setData(ByteUtils.getIsoBytes("0 0 m 1 1 l S\n"));
+        }
+        // Pages are flushed on closing after the pending streams have been compressed
+        document.addEventHandler(PdfDocumentEvent.END_PAGE, event -> {
+            PdfPage page = ((PdfDocumentEvent) event).getPage();
+            if (document.getPageNumber(page) == 2) {
+                com.itextpdf.io.source.ByteArrayOutputStream body = (com.itextpdf.io.source.ByteArrayOutputStream)
+                        page.getFirstContentStream().getOutputStream().getOutputStream();
+                // The body is changed in place keeping its length
+                body.assignBytes(ByteUtils.getIsoBytes("2 2 m 3 3 l S\n"));
+            }
+        });
+        document.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertEquals("0 0 m 1 1 l S\n", new String(resultDoc.getPage(1).getContentBytes()));
+        Assert.assertEquals("2 2 m 3 3 l S\n", new String(resultDoc.getPage(2).getContentBytes()));
+        resultDoc.close();
+    }
+
+    @Test
+    public void streamWrittenThroughKeptOutputStreamAfterParallelCompressionTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos,
+                new WriterProperties().setStreamCompressionParallelism(4)));
+        for (int i = 0; i < 4; i++) {
+            document.addNewPage().getFirstContentStream().setData(ByteUtils.getIsoBytes("0 0 m 1 1 l S\n"));
+        }
+        // The output stream is obtained before the pending streams are compressed
+        PdfOutputStream keptOutputStream = document.getPage(2).getFirstContentStream().getOutputStream();
+        document.addEventHandler(PdfDocumentEvent.END_PAGE, event -> {
+            PdfPage page = ((PdfDocumentEvent) event).getPage();
+            if (document.getPageNumber(page) == 2) {
+                keptOutputStream.writeString("2 2 m 3 3 l S\n");
+            }
+        });
+        document.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertEquals("0 0 m 1 1 l S\n", new String(resultDoc.getPage(1).getContentBytes()));
+        Assert.assertEquals("0 0 m 1 1 l S\n2 2 m 3 3 l S\n", new String(resultDoc.getPage(2).getContentBytes()));
+        resultDoc.close();
+    }
+
+    @Test
+    public void parallelStreamCompressionWithTempFileStreamStorageTest() throws IOException {
+        byte[] onHeap = createDocumentWithContentStreams(new WriterProperties());
+        byte[] withStorage = createDocumentWithContentStreams(new WriterProperties().setStreamCompressionParallelism(4)
+                .setStreamStorage(new TempFilePdfStreamStorage(1024, null)));
+        assertSameStreams(onHeap, withStorage);
+    }
+
+    @Test
+    public void nonPositiveStreamCompressionParallelismTest() {
+        Exception e = Assert.assertThrows(PdfException.class,
+                () -> new WriterProperties().setStreamCompressionParallelism(0));
+        Assert.assertEquals(KernelExceptionMessageConstant.STREAM_COMPRESSION_PARALLELISM_SHALL_BE_POSITIVE,
+                e.getMessage());
+    }
+
+    @Test
+    public void tempFileStreamStorageTest() throws IOException {
+        byte[] onHeap = createDocumentWithContentStreams(new WriterProperties());
+        byte[] withStorage = createDocumentWithContentStreams(new WriterProperties()
+                .setStreamStorage(new TempFilePdfStreamStorage(1024, null)));
+        Assert.assertEquals(onHeap.length, withStorage.length);
+
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(withStorage)));
+        Assert.assertEquals(20, document.getNumberOfPages());
+        Assert.assertTrue(new String(document.getPage(20).getContentBytes()).startsWith("19 0 m 0 19 l S"));
+        document.close();
+    }
+
+    private static byte[] createDocumentWithContentStreams(WriterProperties properties) {
+        return createDocumentWithContentStreams(properties, false);
+    }
+
+    private static byte[] createDocumentWithContentStreams(WriterProperties properties, boolean flushPages) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos, properties));
+        for (int i = 0; i < 20; i++) {
+            PdfPage page = document.addNewPage();
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j < 1000; j++) {
+                content.append(i).append(' ').append(j).append(" m ").append(j).append(' ').append(i).append(" l S\n");
+            }
+            page.getFirstContentStream().setData(ByteUtils.getIsoBytes(content.toString()));
+            if (flushPages) {
+                // streams are compressed in parallel on page flushing only if the page has several of them
+                page.newContentStreamAfter().setData(ByteUtils.getIsoBytes(content.reverse().toString()));
+                page.flush();
+            }
+        }
+        document.close();
+        return baos.toByteArray();
+    }
+
+    private static void assertSameStreams(byte[] sequential, byte[] parallel) throws IOException {
+        Assert.assertEquals(sequential.length, parallel.length);
+
+        PdfDocument sequentialDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sequential)));
+        PdfDocument parallelDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(parallel)));
+        Assert.assertEquals(sequentialDoc.getNumberOfPdfObjects(), parallelDoc.getNumberOfPdfObjects());
+        for (int i = 1; i < sequentialDoc.getNumberOfPdfObjects(); i++) {
+            PdfObject expected = sequentialDoc.getPdfObject(i);
+            if (expected instanceof PdfStream && !PdfName.Metadata.equals(((PdfStream) expected).getAsName(PdfName.Type))) {
+                Assert.assertEquals(PdfName.FlateDecode, ((PdfStream) expected).getAsName(PdfName.Filter));
+                Assert.assertArrayEquals(((PdfStream) expected).getBytes(false),
+                        ((PdfStream) parallelDoc.getPdfObject(i)).getBytes(false));
+            }
+        }
+        sequentialDoc.close();
+        parallelDoc.close();
+    }
 }
@@ -0,0 +1,137 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class SortedPdfNameMapUnitTest extends ExtendedITextTest {
+
+    @Test
+    public void iterationOrderIsTheSameAsForTreeMapTest() {
+        SortedPdfNameMap map = new SortedPdfNameMap();
+        Map<PdfName, PdfObject> treeMap = new TreeMap<>();
+        PdfName[] names = {PdfName.Type, PdfName.Contents, new PdfName("Zeta"), PdfName.Resources,
+                new PdfName("Alpha"), PdfName.MediaBox, PdfName.Parent};
+        for (int i = 0; i < names.length; i++) {
+            map.put(names[i], new PdfNumber(i));
+            treeMap.put(names[i], new PdfNumber(i));
+        }
+        Assert.assertEquals(new ArrayList<>(treeMap.keySet()), new ArrayList<>(map.keySet()));
+        Assert.assertEquals(treeMap, map);
+    }
+
+    @Test
+    public void lookupByEqualNameTest() {
+        SortedPdfNameMap map = new SortedPdfNameMap();
+        map.put(PdfName.Type, PdfName.Page);
+        Assert.assertEquals(PdfName.Page, map.get(new PdfName("Type")));
+        Assert.assertTrue(map.containsKey(new PdfName("Type")));
+        Assert.assertNull(map.get(PdfName.Subtype));
+        Assert.assertNull(map.get("Type"));
+    }
+
+    @Test
+    public void putReplacesValueTest() {
+        SortedPdfNameMap map = new SortedPdfNameMap();
+        Assert.assertNull(map.put(PdfName.Count, new PdfNumber(1)));
+        PdfObject previous = map.put(new PdfName("Count"), new PdfNumber(2));
+        Assert.assertEquals(1, ((PdfNumber) previous).intValue());
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(2, ((PdfNumber) map.get(PdfName.Count)).intValue());
+    }
+
+    @Test
+    public void removeTest() {
+        SortedPdfNameMap map = createMap(10);
+        Assert.assertNotNull(map.remove(new PdfName("Key5")));
+        Assert.assertNull(map.remove(new PdfName("Key5")));
+        Assert.assertEquals(9, map.size());
+        Assert.assertFalse(map.containsKey(new PdfName("Key5")));
+        Assert.assertTrue(map.containsKey(new PdfName("Key6")));
+    }
+
+    @Test
+    public void iteratorRemoveTest() {
+        SortedPdfNameMap map = createMap(10);
+        Iterator<Map.Entry<PdfName, PdfObject>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (((PdfNumber) iterator.next().getValue()).intValue() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(5, map.size());
+        for (PdfObject value : map.values()) {
+            Assert.assertEquals(1, ((PdfNumber) value).intValue() % 2);
+        }
+    }
+
+    @Test
+    public void entrySetValueTest() {
+        SortedPdfNameMap map = createMap(3);
+        for (Map.Entry<PdfName, PdfObject> entry : map.entrySet()) {
+            entry.setValue(PdfNull.PDF_NULL);
+        }
+        for (PdfObject value : map.values()) {
+            Assert.assertEquals(PdfNull.PDF_NULL, value);
+        }
+    }
+
+    @Test
+    public void entryFollowsShiftedIndexTest() {
+        SortedPdfNameMap map = createMap(3);
+        Map.Entry<PdfName, PdfObject> lastEntry = null;
+        for (Map.Entry<PdfName, PdfObject> entry : map.entrySet()) {
+            lastEntry = entry;
+        }
+        map.put(new PdfName("A"), PdfNull.PDF_NULL);
+        Assert.assertEquals(new PdfName("Key2"), lastEntry.getKey());
+        Assert.assertEquals(2, ((PdfNumber) lastEntry.getValue()).intValue());
+    }
+
+    @Test
+    public void clearTest() {
+        SortedPdfNameMap map = createMap(5);
+        map.entrySet().clear();
+        Assert.assertTrue(map.isEmpty());
+        map.put(PdfName.Type, PdfName.Page);
+        Assert.assertEquals(1, map.size());
+    }
+
+    private static SortedPdfNameMap createMap(int size) {
+        SortedPdfNameMap map = new SortedPdfNameMap();
+        for (int i = size - 1; i >= 0; i--) {
+            map.put(new PdfName("Key" + i), new PdfNumber(i));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class FormXObjectContentCacheTest extends ExtendedITextTest {
+
+    private static final int PAGE_COUNT = 3;
+
+    @Test
+    public void formIsParsedOnceTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(
+                new ByteArrayInputStream(createDocumentWithStampedForm())))) {
+            PdfDocumentContentParser parser = new PdfDocumentContentParser(pdfDocument);
+            FormXObjectContentCache cache = new FormXObjectContentCache();
+            parser.setFormXObjectContentCache(cache);
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i),
+                        new LocationTextExtractionStrategy());
+                LocationTextExtractionStrategy strategy = parser.processContent(i,
+                        new LocationTextExtractionStrategy());
+                Assert.assertEquals(expected, strategy.getResultantText());
+                Assert.assertTrue(expected.contains("Header " + i));
+                Assert.assertTrue(expected.contains("Stamped logo"));
+            }
+            Assert.assertEquals(1, cache.size());
+            Assert.assertEquals(1, cache.getMissCount());
+            Assert.assertEquals(2 * PAGE_COUNT - 1, cache.getHitCount());
+        }
+    }
+
+    @Test
+    public void formWithTooManyOperationsIsNotCachedTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(
+                new ByteArrayInputStream(createDocumentWithStampedForm())))) {
+            FormXObjectContentCache cache = new FormXObjectContentCache(1, 2);
+            LocationTextExtractionStrategy strategy = new LocationTextExtractionStrategy();
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(strategy);
+            processor.setFormXObjectContentCache(cache);
+            processor.processPageContent(pdfDocument.getPage(1));
+
+            Assert.assertTrue(strategy.getResultantText().contains("Stamped logo"));
+            Assert.assertEquals(1, cache.getMissCount());
+            Assert.assertEquals(1, cache.getHitCount());
+        }
+    }
+
+    @Test
+    public void formsAreEvictedWhenTotalOperationsExceedLimitTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            for (int i = 0; i < 3; i++) {
+                PdfFormXObject form = new PdfFormXObject(new Rectangle(200, 50));
+                new PdfCanvas(form, pdfDocument)
+                        .beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                        .moveText(10, 20)
+                        .showText("Form " + i)
+                        .endText();
+                canvas.addXObjectAt(form, 36, 36 + 100 * i);
+            }
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(
+                new ByteArrayInputStream(baos.toByteArray())))) {
+            // each form has 5 operations, so only two of them fit into the cache
+            FormXObjectContentCache cache = new FormXObjectContentCache(10, 100, 12);
+            LocationTextExtractionStrategy strategy = new LocationTextExtractionStrategy();
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(strategy);
+            processor.setFormXObjectContentCache(cache);
+            processor.processPageContent(pdfDocument.getPage(1));
+
+            Assert.assertTrue(strategy.getResultantText().contains("Form 2"));
+            Assert.assertEquals(3, cache.getMissCount());
+            Assert.assertEquals(2, cache.size());
+            Assert.assertEquals(10, cache.getTotalOperations());
+            Assert.assertEquals(1, cache.getEvictionCount());
+        }
+    }
+
+    @Test
+    public void nonPositiveCacheSizeTest() {
+        Exception e = Assert.assertThrows(PdfException.class, () -> new FormXObjectContentCache(0, 10));
+        Assert.assertEquals(KernelExceptionMessageConstant.FORM_XOBJECT_CACHE_SIZE_SHALL_BE_POSITIVE,
+                e.getMessage());
+    }
+
+    private static byte[] createDocumentWithStampedForm() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFormXObject form = new PdfFormXObject(new Rectangle(200, 50));
+            new PdfCanvas(form, pdfDocument)
+                    .beginText()
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                    .moveText(10, 20)
+                    .showText("Stamped logo")
+                    .endText();
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+                canvas.addXObjectAt(form, 36, 750);
+                canvas.beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.COURIER), 12)
+                        .moveText(36, 700)
+                        .showText("Header " + i)
+                        .endText();
+                canvas.addXObjectAt(form, 36, 36);
+            }
+        }
+        return baos.toByteArray();
+    }
+}
@@ -51,6 +51,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -231,6 +232,28 @@ public class PdfCanvasProcessorIntegrationTest extends ExtendedITextTest {
         Assert.assertEquals(5, imageRenderInfo.getMcid());
     }
 
+    @Test
+    public void clipPathEventsAreSkippedForTextListenersTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(SOURCE_FOLDER + "tableWithImageAndText.pdf"));
+
+        List<EventType> textEvents = new ArrayList<>();
+        PdfCanvasProcessor textProcessor = new PdfCanvasProcessor(
+                new RecordEventTypesListener(textEvents, EventType.RENDER_TEXT));
+        textProcessor.processPageContent(document.getPage(1));
+        Assert.assertFalse(textEvents.isEmpty());
+        Assert.assertFalse(textEvents.contains(EventType.CLIP_PATH_CHANGED));
+        // the clipping path is still tracked, so that it is available in the graphics state of the text events
+        Assert.assertNotNull(textProcessor.getGraphicsState().getClippingPath());
+
+        List<EventType> clipEvents = new ArrayList<>();
+        PdfCanvasProcessor clipProcessor = new PdfCanvasProcessor(
+                new RecordEventTypesListener(clipEvents, EventType.CLIP_PATH_CHANGED));
+        clipProcessor.processPageContent(document.getPage(1));
+        Assert.assertFalse(clipEvents.isEmpty());
+        Assert.assertNotNull(clipProcessor.getGraphicsState().getClippingPath());
+        document.close();
+    }
+
     private static class ColorParsingEventListener implements IEventListener {
         private List<IEventData> content = new ArrayList<>();
         private static final String pathDataExpected = "Path data expected.";
@@ -369,6 +392,26 @@ public class PdfCanvasProcessorIntegrationTest extends ExtendedITextTest {
         }
     }
 
+    private static class RecordEventTypesListener implements IEventListener {
+        private final List<EventType> events;
+        private final Set<EventType> supportedEvents;
+
+        RecordEventTypesListener(List<EventType> events, EventType supportedEvent) {
+            this.events = events;
+            this.supportedEvents = Collections.singleton(supportedEvent);
+        }
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            events.add(type);
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return supportedEvents;
+        }
+    }
+
     private static class RecordEveryTextRenderEvent implements IEventListener {
         private Map<String, Object> map;
 
@@ -25,6 +25,7 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredEventListener;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
@@ -32,7 +33,9 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 @Category(UnitTest.class)
 public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
@@ -49,4 +52,23 @@ public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
         processor.registerContentOperator("BMC", contentOperator);
         contentOperator.invoke(processor, null, Collections.singletonList((PdfObject) null));
     }
+
+    @Test
+    public void registeredOperatorsAreDispatchedTest() {
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new FilteredEventListener());
+        final List<String> invoked = new ArrayList<>();
+        processor.registerContentOperator("custom",
+                (p, operator, operands) -> invoked.add(operator + " " + operands.size()));
+        processor.registerContentOperator(PdfCanvasProcessor.DEFAULT_OPERATOR,
+                (p, operator, operands) -> invoked.add("default " + operator));
+        processor.registerContentOperator("q", null);
+
+        processor.processContent("1 2 custom q custom unknown".getBytes(), new PdfResources());
+
+        Assert.assertEquals(4, invoked.size());
+        Assert.assertEquals("custom 3", invoked.get(0));
+        Assert.assertEquals("default q", invoked.get(1));
+        Assert.assertEquals("custom 1", invoked.get(2));
+        Assert.assertEquals("default unknown", invoked.get(3));
+    }
 }
@@ -23,6 +23,8 @@
 package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.test.ExtendedITextTest;
@@ -34,6 +36,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.util.List;
 
 @Category(IntegrationTest.class)
 public class PdfTextExtractorTest extends ExtendedITextTest {
@@ -116,4 +119,27 @@ public class PdfTextExtractorTest extends ExtendedITextTest {
             Assert.assertEquals(expected, PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1)));
         }
     }
+
+    @Test
+    public void getTextFromPagesConcurrentlyTest() throws IOException {
+        String inFile = "./src/test/resources/com/itextpdf/kernel/parser/LocationExtractionTest/aliceInWonderland.pdf";
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(inFile))) {
+            List<String> texts = PdfTextExtractor.getTextFromPages(pdfDocument, 4);
+            Assert.assertEquals(pdfDocument.getNumberOfPages(), texts.size());
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)), texts.get(i - 1));
+            }
+        }
+    }
+
+    @Test
+    public void nonPositiveContentProcessingParallelismTest() throws IOException {
+        String inFile = sourceFolder + "noBaseEncoding.pdf";
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(inFile))) {
+            Exception e = Assert.assertThrows(PdfException.class,
+                    () -> PdfTextExtractor.getTextFromPages(pdfDocument, 0));
+            Assert.assertEquals(KernelExceptionMessageConstant.CONTENT_PROCESSING_PARALLELISM_SHALL_BE_POSITIVE,
+                    e.getMessage());
+        }
+    }
 }
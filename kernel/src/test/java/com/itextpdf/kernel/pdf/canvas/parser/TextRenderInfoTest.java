@@ -58,6 +58,38 @@ public class TextRenderInfoTest extends ExtendedITextTest {
         parser.processPageContent(new PdfDocument(new PdfReader(SOURCE_FOLDER + "simple_text.pdf")).getPage(FIRST_PAGE));
     }
 
+    @Test
+    public void characterRenderInfosAfterParentReleaseTest() throws Exception {
+        final List<TextRenderInfo> characterInfos = new ArrayList<>();
+        final List<Float> widths = new ArrayList<>();
+        IEventListener listener = new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                TextRenderInfo renderInfo = (TextRenderInfo) data;
+                float totalWidth = 0;
+                for (TextRenderInfo characterInfo : renderInfo.getCharacterRenderInfos()) {
+                    totalWidth += characterInfo.getUnscaledWidth();
+                    characterInfos.add(characterInfo);
+                }
+                Assert.assertEquals(renderInfo.getUnscaledWidth(), totalWidth, 1e-3f);
+                widths.add(totalWidth);
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT));
+            }
+        };
+        PdfCanvasProcessor parser = new PdfCanvasProcessor(listener);
+        parser.processPageContent(new PdfDocument(new PdfReader(SOURCE_FOLDER + "simple_text.pdf")).getPage(FIRST_PAGE));
+
+        Assert.assertFalse(widths.isEmpty());
+        // character infos keep the graphics state of the parent info, which is released after the event
+        for (TextRenderInfo characterInfo : characterInfos) {
+            Assert.assertNotNull(characterInfo.getBaseline());
+        }
+    }
+
     /**
      * Test introduced to exclude a bug related to a Unicode quirk for
      * Japanese. TextRenderInfo threw an AIOOBE for some characters.
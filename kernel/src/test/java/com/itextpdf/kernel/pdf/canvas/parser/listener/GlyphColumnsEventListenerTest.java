@@ -0,0 +1,140 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class GlyphColumnsEventListenerTest extends ExtendedITextTest {
+
+    @Test
+    public void glyphColumnsTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            GlyphColumnsEventListener listener = new GlyphColumnsEventListener();
+            new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getFirstPage());
+
+            Assert.assertEquals(8, listener.getGlyphCount());
+            Assert.assertArrayEquals(new int[] {'H', 'e', 'l', 'l', 'o', ' ', 'A', 'B'}, listener.getCodePoints());
+            Assert.assertArrayEquals(new int[] {0, 0, 0, 0, 0, 0, 1, 1}, listener.getFontIndices());
+            Assert.assertArrayEquals(new int[] {0, 0, 0, 0, 0, 0, 1, 1}, listener.getFillColorIndices());
+            Assert.assertEquals(2, listener.getFonts().size());
+            Assert.assertEquals(ColorConstants.RED, listener.getFillColors().get(0));
+            Assert.assertEquals(ColorConstants.BLUE, listener.getFillColors().get(1));
+            Assert.assertEquals(36, listener.getX()[0], 1e-4);
+            // width of 'H' in Helvetica is 722 glyph space units
+            Assert.assertEquals(722 * 12 / 1000f, listener.getWidths()[0], 1e-4);
+        }
+    }
+
+    @Test
+    public void positionsMatchCharacterRenderInfosTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            GlyphColumnsEventListener listener = new GlyphColumnsEventListener();
+            new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getFirstPage());
+            final List<TextRenderInfo> characterInfos = new ArrayList<>();
+            new PdfCanvasProcessor(new GlyphEventListener(new IEventListener() {
+                @Override
+                public void eventOccurred(IEventData data, EventType type) {
+                    if (type == EventType.RENDER_TEXT) {
+                        ((TextRenderInfo) data).preserveGraphicsState();
+                        characterInfos.add((TextRenderInfo) data);
+                    }
+                }
+
+                @Override
+                public Set<EventType> getSupportedEvents() {
+                    return null;
+                }
+            })).processPageContent(pdfDocument.getFirstPage());
+
+            Assert.assertEquals(characterInfos.size(), listener.getGlyphCount());
+            for (int i = 0; i < characterInfos.size(); i++) {
+                LineSegment ascentLine = characterInfos.get(i).getAscentLine();
+                LineSegment descentLine = characterInfos.get(i).getDescentLine();
+                Assert.assertEquals(descentLine.getStartPoint().get(0), listener.getX()[i], 1e-4);
+                Assert.assertEquals(descentLine.getStartPoint().get(1), listener.getY()[i], 1e-4);
+                Assert.assertEquals(ascentLine.getEndPoint().get(0) - descentLine.getStartPoint().get(0),
+                        listener.getWidths()[i], 1e-4);
+                Assert.assertEquals(ascentLine.getEndPoint().get(1) - descentLine.getStartPoint().get(1),
+                        listener.getHeights()[i], 1e-4);
+            }
+        }
+    }
+
+    @Test
+    public void clearTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            GlyphColumnsEventListener listener = new GlyphColumnsEventListener();
+            new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getFirstPage());
+            listener.clear();
+
+            Assert.assertEquals(0, listener.getGlyphCount());
+            Assert.assertEquals(0, listener.getCodePoints().length);
+            Assert.assertTrue(listener.getFonts().isEmpty());
+            Assert.assertTrue(listener.getFillColors().isEmpty());
+        }
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .beginText()
+                    .setFillColor(ColorConstants.RED)
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                    .setCharacterSpacing(1)
+                    .setWordSpacing(5)
+                    .moveText(36, 700)
+                    .showText("Hello ")
+                    .setFillColor(ColorConstants.BLUE)
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.COURIER), 10)
+                    .setTextRise(3)
+                    .showText("AB")
+                    .endText();
+        }
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class SpatialIndexTextExtractionStrategyTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FILE =
+            "./src/test/resources/com/itextpdf/kernel/parser/LocationExtractionTest/aliceInWonderland.pdf";
+
+    private static final String DIACRITICS_SOURCE_FOLDER =
+            "./src/test/resources/com/itextpdf/kernel/parser/PdfTextExtractorTest/";
+
+    @Test
+    public void chunksInRegionTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            PdfPage page = pdfDocument.getPage(1);
+            SpatialIndexTextExtractionStrategy strategy = new SpatialIndexTextExtractionStrategy();
+            new PdfCanvasProcessor(strategy).processPageContent(page);
+            TextChunkSpatialIndex index = strategy.getIndex();
+
+            Rectangle pageSize = page.getPageSize();
+            Rectangle region = new Rectangle(pageSize.getLeft(), pageSize.getBottom() + pageSize.getHeight() / 2,
+                    pageSize.getWidth() / 2, pageSize.getHeight() / 4);
+            List<CharacterRenderInfo> expected = new ArrayList<>();
+            for (CharacterRenderInfo chunk : index.getChunks()) {
+                if (region.overlaps(chunk.getBoundingBox(), 0)) {
+                    expected.add(chunk);
+                }
+            }
+            Assert.assertFalse(expected.isEmpty());
+            Assert.assertEquals(expected, index.getChunksInRegion(region));
+            Assert.assertEquals(index.getText(), index.getTextInRegion(pageSize));
+            Assert.assertSame(index, strategy.getIndex());
+        }
+    }
+
+    @Test
+    public void linesInReadingOrderTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            SpatialIndexTextExtractionStrategy strategy = new SpatialIndexTextExtractionStrategy();
+            new PdfCanvasProcessor(strategy).processPageContent(pdfDocument.getPage(1));
+            TextChunkSpatialIndex index = strategy.getIndex();
+
+            List<List<CharacterRenderInfo>> lines = index.getLines();
+            Assert.assertTrue(lines.size() > 1);
+            List<CharacterRenderInfo> chunks = new ArrayList<>();
+            for (List<CharacterRenderInfo> line : lines) {
+                for (CharacterRenderInfo chunk : line) {
+                    Assert.assertTrue(chunk.sameLine(line.get(0)));
+                }
+                chunks.addAll(line);
+            }
+            Assert.assertEquals(index.getChunks(), chunks);
+            Assert.assertTrue(strategy.getResultantText().startsWith("CHAPTER I. Down the Rabbit-\nHole"));
+        }
+    }
+
+    @Test
+    public void diacriticShiftedLessThanTwoTest() throws IOException {
+        // संस्कृत म्
+        assertDiacriticsText("\u0938\u0902\u0938\u094d\u0915\u0943\u0924 \u092e\u094d",
+                DIACRITICS_SOURCE_FOLDER + "diacriticShiftedLessThanTwo.pdf");
+    }
+
+    @Test
+    public void diacriticShiftedMoreThanTwoTest() throws IOException {
+        // ृ
+        //संस्कृत म्
+        assertDiacriticsText("\u0943\n\u0938\u0902\u0938\u094d\u0915\u0943\u0924 \u092e\u094d",
+                DIACRITICS_SOURCE_FOLDER + "diacriticShiftedMoreThanTwo.pdf");
+    }
+
+    private static void assertDiacriticsText(String expected, String file) throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(file))) {
+            SpatialIndexTextExtractionStrategy strategy = new SpatialIndexTextExtractionStrategy();
+            new PdfCanvasProcessor(strategy).processPageContent(pdfDocument.getPage(1));
+            TextChunkSpatialIndex index = strategy.getIndex();
+            Assert.assertEquals(expected, index.getText());
+            Assert.assertEquals(expected, index.getTextInRegion(pdfDocument.getPage(1).getPageSize()));
+        }
+    }
+}
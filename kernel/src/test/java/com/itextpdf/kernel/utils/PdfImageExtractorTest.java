@@ -0,0 +1,173 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.logs.KernelLogMessageConstant;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
+import com.itextpdf.kernel.utils.PdfImageExtractor.ExtractedImage;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfImageExtractorTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/kernel/";
+
+    @Test
+    public void extractImagesInParallelTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            List<ExtractedImage> images = extractImages(pdfDocument, 4);
+
+            Assert.assertEquals(2, images.size());
+            Assert.assertEquals("jpg", images.get(0).getFileExtension());
+            Assert.assertEquals(1, images.get(0).getPageNumber());
+            Assert.assertEquals("png", images.get(1).getFileExtension());
+            Assert.assertEquals(2, images.get(1).getPageNumber());
+            Assert.assertTrue(images.get(0).getImageBytes().length > 0);
+            Assert.assertTrue(images.get(1).getImageBytes().length > 0);
+        }
+    }
+
+    @Test
+    public void parallelAndSequentialExtractionAreEqualTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            List<ExtractedImage> parallel = extractImages(pdfDocument, 2);
+            List<ExtractedImage> sequential = extractImages(pdfDocument, 1);
+
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                Assert.assertEquals(sequential.get(i).getObjectNumber(), parallel.get(i).getObjectNumber());
+                Assert.assertArrayEquals(sequential.get(i).getImageBytes(), parallel.get(i).getImageBytes());
+            }
+        }
+    }
+
+    @Test
+    public void extractImagesFromDocumentWithoutReaderTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            PdfImageXObject image = new PdfImageXObject(ImageDataFactory.create(
+                    SOURCE_FOLDER + "pdf/PdfDocumentTest/berlin2013.jpg"));
+            image.makeIndirect(pdfDocument);
+            new PdfCanvas(pdfDocument.addNewPage()).addXObjectFittedIntoRectangle(image, new Rectangle(100, 100));
+
+            List<ExtractedImage> images = extractImages(pdfDocument, 2);
+            Assert.assertEquals(1, images.size());
+            Assert.assertEquals(image.getPdfObject().getIndirectReference().getObjNumber(),
+                    images.get(0).getObjectNumber());
+        }
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = KernelLogMessageConstant.IMAGE_XOBJECT_CANNOT_BE_EXTRACTED))
+    public void imageWhichCannotBeDecodedIsSkippedTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfStream brokenImageStream = new PdfStream(new byte[] {1, 2, 3});
+            brokenImageStream.put(PdfName.Type, PdfName.XObject);
+            brokenImageStream.put(PdfName.Subtype, PdfName.Image);
+            brokenImageStream.put(PdfName.Width, new PdfNumber(1));
+            brokenImageStream.put(PdfName.Height, new PdfNumber(1));
+            brokenImageStream.put(PdfName.BitsPerComponent, new PdfNumber(8));
+            brokenImageStream.put(PdfName.ColorSpace, PdfName.DeviceGray);
+            brokenImageStream.put(PdfName.Filter, new PdfName("UnknownFilter"));
+            PdfImageXObject brokenImage = new PdfImageXObject(brokenImageStream);
+            PdfImageXObject jpeg = new PdfImageXObject(ImageDataFactory.create(
+                    SOURCE_FOLDER + "pdf/PdfDocumentTest/berlin2013.jpg"));
+
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .addXObjectFittedIntoRectangle(brokenImage, new Rectangle(100, 100));
+            new PdfCanvas(pdfDocument.addNewPage()).addXObjectFittedIntoRectangle(jpeg, new Rectangle(100, 100));
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            List<ExtractedImage> images = extractImages(pdfDocument, 2);
+
+            Assert.assertEquals(1, images.size());
+            Assert.assertEquals("jpg", images.get(0).getFileExtension());
+            Assert.assertEquals(2, images.get(0).getPageNumber());
+        }
+    }
+
+    @Test
+    public void nonPositiveParallelismTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            Exception e = Assert.assertThrows(PdfException.class,
+                    () -> new PdfImageExtractor(pdfDocument).extractImages(image -> { }, 0));
+            Assert.assertEquals(KernelExceptionMessageConstant.IMAGE_EXTRACTION_PARALLELISM_SHALL_BE_POSITIVE,
+                    e.getMessage());
+        }
+    }
+
+    private static List<ExtractedImage> extractImages(PdfDocument pdfDocument, int parallelism) {
+        final List<ExtractedImage> images = Collections.synchronizedList(new ArrayList<ExtractedImage>());
+        new PdfImageExtractor(pdfDocument).extractImages(image -> {
+            // the image XObject is not used after the call, so only the extension is requested here
+            image.getFileExtension();
+            images.add(image);
+        }, parallelism);
+        images.sort(Comparator.comparingInt(ExtractedImage::getObjectNumber));
+        return images;
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfImageXObject jpeg = new PdfImageXObject(ImageDataFactory.create(
+                    SOURCE_FOLDER + "pdf/PdfDocumentTest/berlin2013.jpg"));
+            PdfImageXObject png = new PdfImageXObject(ImageDataFactory.create(
+                    SOURCE_FOLDER + "font/Type3GlyphUnitTest/imageTest.png"));
+            PdfFormXObject form = new PdfFormXObject(new Rectangle(100, 100));
+            new PdfCanvas(form, pdfDocument).addXObjectFittedIntoRectangle(png, new Rectangle(100, 100));
+
+            new PdfCanvas(pdfDocument.addNewPage()).addXObjectFittedIntoRectangle(jpeg, new Rectangle(100, 100));
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .addXObjectFittedIntoRectangle(jpeg, new Rectangle(100, 100))
+                    .addXObjectAt(form, 200, 200);
+        }
+        return baos.toByteArray();
+    }
+}
@@ -23,6 +23,9 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
@@ -38,6 +41,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import javax.xml.parsers.ParserConfigurationException;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -85,6 +89,90 @@ public class PdfMergerTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(resultFile, sourceFolder + "cmp_mergedResult01.pdf", destinationFolder, "diff_"));
     }
 
+    @Test
+    public void mergeDocumentsConcurrentlyTest() throws IOException, InterruptedException {
+        String resultFile = destinationFolder + "mergedConcurrentlyResult01.pdf";
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        for (String name : new String[] {"courierTest.pdf", "helveticaTest.pdf", "timesRomanTest.pdf"}) {
+            final String filename = sourceFolder + name;
+            sources.add(() -> new PdfDocument(new PdfReader(filename)));
+        }
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(resultFile));
+        new PdfMerger(pdfDoc).setCloseSourceDocuments(true).merge(sources, 2).close();
+
+        Assert.assertNull(new CompareTool().compareByContent(resultFile, sourceFolder + "cmp_mergedResult01.pdf",
+                destinationFolder, "diff_"));
+    }
+
+    @Test
+    public void mergeDocumentsConcurrentlyWithFailedSourceTest() throws IOException {
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        sources.add(() -> new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf")));
+        sources.add(() -> new PdfDocument(new PdfReader(sourceFolder + "notExistingFile.pdf")));
+        sources.add(() -> new PdfDocument(new PdfReader(sourceFolder + "timesRomanTest.pdf")));
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfMerger merger = new PdfMerger(pdfDoc).setCloseSourceDocuments(true);
+        Exception e = Assert.assertThrows(PdfException.class, () -> merger.merge(sources, 2));
+        Assert.assertEquals(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e.getMessage());
+        Assert.assertEquals(1, pdfDoc.getNumberOfPages());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void mergeDocumentsConcurrentlyRethrowsRuntimeExceptionTest() {
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        sources.add(() -> new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf")));
+        sources.add(() -> {
+            throw new PdfException("Custom failure.");
+        });
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfMerger merger = new PdfMerger(pdfDoc).setCloseSourceDocuments(true);
+        Exception e = Assert.assertThrows(PdfException.class, () -> merger.merge(sources, 2));
+        Assert.assertEquals("Custom failure.", e.getMessage());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void mergeDocumentsConcurrentlyClosesSourcesTest() throws IOException {
+        final List<PdfDocument> openedSources = new ArrayList<>();
+        List<Callable<PdfDocument>> sources = new ArrayList<>();
+        for (String name : new String[] {"courierTest.pdf", "helveticaTest.pdf"}) {
+            final String filename = sourceFolder + name;
+            sources.add(() -> {
+                PdfDocument document = new PdfDocument(new PdfReader(filename));
+                synchronized (openedSources) {
+                    openedSources.add(document);
+                }
+                return document;
+            });
+        }
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        new PdfMerger(pdfDoc).merge(sources, 2);
+        Assert.assertEquals(2, openedSources.size());
+        // the source documents opened by the merger are closed even if closeSourceDocuments flag is not set
+        for (PdfDocument source : openedSources) {
+            Assert.assertTrue(source.isClosed());
+        }
+        Assert.assertEquals(2, pdfDoc.getNumberOfPages());
+        // merged pages are flushed as soon as their source is merged
+        Assert.assertTrue(pdfDoc.getPage(1).isFlushed());
+        Assert.assertTrue(pdfDoc.getPage(2).isFlushed());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void nonPositiveMergeParallelismTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfMerger merger = new PdfMerger(pdfDoc);
+        Exception e = Assert.assertThrows(PdfException.class,
+                () -> merger.merge(new ArrayList<Callable<PdfDocument>>(), 0));
+        Assert.assertEquals(KernelExceptionMessageConstant.MERGE_PARALLELISM_SHALL_BE_POSITIVE, e.getMessage());
+    }
+
     @Test
     @LogMessages(messages = {
             @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY)
@@ -23,9 +23,14 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.EncryptionConstants;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.WriterProperties;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
@@ -35,8 +40,11 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -258,4 +266,122 @@ public class PdfSplitterTest extends ExtendedITextTest{
             Assert.assertEquals(pagesCount / pagesCountInSplitDoc, splitDocuments.size());
         }
     }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 3)
+    })
+    public void splitDocumentByPageCountConcurrentlyTest() throws IOException, InterruptedException {
+        String inputFileName =  sourceFolder + "iphone_user_guide.pdf";
+        try (PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName))) {
+            new PdfSplitter(inputPdfDoc) {
+                @Override
+                protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                    int partNumber = (documentPageRange.getQualifyingPageNums(Integer.MAX_VALUE).get(0) - 1) / 60 + 1;
+                    try {
+                        return new PdfWriter(destinationFolder + "splitDocumentConcurrently_" + partNumber + ".pdf");
+                    } catch (FileNotFoundException e) {
+                        throw new RuntimeException();
+                    }
+                }
+            }.splitByPageCount(60, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    if (new PageRange("61-120").equals(pageRange)) {
+                        pdfDocument.getDocumentInfo().setAuthor("Modified Author");
+                    }
+
+                    pdfDocument.close();
+                }
+            }, 2);
+        }
+
+        for (int i = 1; i <= 3; i++) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitDocumentConcurrently_" + i + ".pdf",
+                    sourceFolder + "cmp/" + "cmp_splitDocument2_" + String.valueOf(i) + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 3)
+    })
+    public void extractPageRangesConcurrentlyTest() throws IOException {
+        String inputFileName =  sourceFolder + "iphone_user_guide.pdf";
+        try (PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName))) {
+            PdfSplitter splitter = new PdfSplitter(inputPdfDoc);
+            List<PageRange> pageRanges = Arrays.asList(new PageRange("1-3"), new PageRange("10"),
+                    new PageRange("5-7, 20"));
+
+            List<PdfDocument> splitDocuments = splitter.extractPageRanges(pageRanges, 2);
+
+            Assert.assertEquals(3, splitDocuments.size());
+            Assert.assertEquals(3, splitDocuments.get(0).getNumberOfPages());
+            Assert.assertEquals(1, splitDocuments.get(1).getNumberOfPages());
+            Assert.assertEquals(4, splitDocuments.get(2).getNumberOfPages());
+            for (PdfDocument doc : splitDocuments) {
+                doc.close();
+            }
+        }
+    }
+
+    @Test
+    public void extractPageRangesOfEncryptedDocumentConcurrentlyTest() throws IOException {
+        byte[] password = "password".getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties writerProperties = new WriterProperties().setStandardEncryption(password, password,
+                EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.STANDARD_ENCRYPTION_128);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, writerProperties))) {
+            for (int i = 0; i < 4; i++) {
+                pdfDocument.addNewPage();
+            }
+        }
+        ReaderProperties readerProperties = new ReaderProperties().setPassword(password);
+        try (PdfDocument inputPdfDoc = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(baos.toByteArray()), readerProperties))) {
+            PdfSplitter splitter = new PdfSplitter(inputPdfDoc);
+            List<PageRange> pageRanges = Arrays.asList(new PageRange("1-2"), new PageRange("3"),
+                    new PageRange("4"));
+
+            List<PdfDocument> splitDocuments = splitter.extractPageRanges(pageRanges, 2);
+
+            Assert.assertEquals(3, splitDocuments.size());
+            Assert.assertEquals(2, splitDocuments.get(0).getNumberOfPages());
+            Assert.assertEquals(1, splitDocuments.get(1).getNumberOfPages());
+            Assert.assertEquals(1, splitDocuments.get(2).getNumberOfPages());
+            for (PdfDocument doc : splitDocuments) {
+                doc.close();
+            }
+        }
+    }
+
+    @Test
+    public void extractPageRangesConcurrentlyRethrowsRuntimeExceptionTest() throws IOException {
+        try (PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"))) {
+            PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+                @Override
+                protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                    if (documentPageRange.isPageInRange(10)) {
+                        throw new IllegalStateException("Custom failure.");
+                    }
+                    return super.getNextPdfWriter(documentPageRange);
+                }
+            };
+            List<PageRange> pageRanges = Arrays.asList(new PageRange("1-3"), new PageRange("10"),
+                    new PageRange("5-7"));
+            Exception e = Assert.assertThrows(IllegalStateException.class,
+                    () -> splitter.extractPageRanges(pageRanges, 2));
+            Assert.assertEquals("Custom failure.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void nonPositiveSplitParallelismTest() throws IOException {
+        try (PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"))) {
+            PdfSplitter splitter = new PdfSplitter(inputPdfDoc);
+            List<PageRange> pageRanges = Arrays.asList(new PageRange("1-3"));
+            Exception e = Assert.assertThrows(PdfException.class, () -> splitter.extractPageRanges(pageRanges, 0));
+            Assert.assertEquals(KernelExceptionMessageConstant.SPLIT_PARALLELISM_SHALL_BE_POSITIVE, e.getMessage());
+        }
+    }
 }
@@ -27,12 +27,11 @@ import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramDescriptor;
 import com.itextpdf.io.font.FontProgramDescriptorFactory;
 import com.itextpdf.io.util.ArrayUtil;
+import com.itextpdf.io.util.LruCache;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.kernel.font.PdfFont;
 
 import java.util.Arrays;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Contains all font related data to create {@link FontProgram} and {@link PdfFont}.
@@ -47,7 +46,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public final class FontInfo {
 
-    private static final Map<FontCacheKey, FontProgramDescriptor> fontNamesCache = new ConcurrentHashMap<>();
+    private static final LruCache<FontCacheKey, FontProgramDescriptor> fontNamesCache = new LruCache<>();
 
     private final String fontName;
     private final byte[] fontData;
@@ -106,6 +105,53 @@ public final class FontInfo {
         return descriptor != null ? new FontInfo(null, fontProgram, encoding, descriptor, range, alias) : null;
     }
 
+    /**
+     * Sets the maximum number of font descriptors which are cached by the font names or bytes for creating
+     * {@link FontInfo} instances. When the limit is exceeded, the least recently used descriptors are evicted.
+     * By default the number of cached descriptors is not limited.
+     *
+     * @param maxSize the maximum number of cached font descriptors
+     */
+    public static void setFontNamesCacheMaxSize(int maxSize) {
+        fontNamesCache.setLimits(maxSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the number of cached font descriptors.
+     *
+     * @return the number of cached font descriptors
+     */
+    public static int getFontNamesCacheSize() {
+        return fontNamesCache.size();
+    }
+
+    /**
+     * Gets the number of font descriptor lookups which have been served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public static long getFontNamesCacheHitCount() {
+        return fontNamesCache.getHitCount();
+    }
+
+    /**
+     * Gets the number of font descriptor lookups which have required fetching the descriptor.
+     *
+     * @return the number of cache misses
+     */
+    public static long getFontNamesCacheMissCount() {
+        return fontNamesCache.getMissCount();
+    }
+
+    /**
+     * Gets the number of font descriptors which have been evicted from the cache due to the size limit.
+     *
+     * @return the number of evicted font descriptors
+     */
+    public static long getFontNamesCacheEvictionCount() {
+        return fontNamesCache.getEvictionCount();
+    }
+
     public FontProgramDescriptor getDescriptor() {
         return descriptor;
     }
@@ -191,7 +237,7 @@ public final class FontInfo {
 
     private static void putFontNamesToCache(FontCacheKey key, FontProgramDescriptor descriptor) {
         if (descriptor != null) {
-            fontNamesCache.put(key, descriptor);
+            fontNamesCache.putIfAbsent(key, descriptor, 1, false);
         }
     }
 }
@@ -213,7 +213,9 @@ public class PdfSigner {
      * @param reader       PdfReader that reads the PDF file
      * @param outputStream OutputStream to write the signed PDF file
      * @param properties   {@link StampingProperties} for the signing document. Note that encryption will be
-     *                     preserved regardless of what is set in properties.
+     *                     preserved regardless of what is set in properties. The properties shall not enable
+     *                     {@link StampingProperties#useIncrementalUpdateOnly()}, since the signed document
+     *                     is always written completely.
      * @throws IOException if some I/O problem occurs
      */
     public PdfSigner(PdfReader reader, OutputStream outputStream, StampingProperties properties) throws IOException {
@@ -227,7 +229,9 @@ public class PdfSigner {
      * @param outputStream OutputStream to write the signed PDF file
      * @param path         File to which the output is temporarily written
      * @param properties   {@link StampingProperties} for the signing document. Note that encryption will be
-     *                     preserved regardless of what is set in properties.
+     *                     preserved regardless of what is set in properties. The properties shall not enable
+     *                     {@link StampingProperties#useIncrementalUpdateOnly()}, since the signed document
+     *                     is always written completely.
      * @throws IOException if some I/O problem occurs
      */
     public PdfSigner(PdfReader reader, OutputStream outputStream, String path, StampingProperties properties)
@@ -240,6 +244,14 @@ public class PdfSigner {
             this.tempFile = FileUtil.createTempFile(path);
             document = initDocument(reader, new PdfWriter(FileUtil.getFileOutputStream(tempFile)), localProps);
         }
+        if (document.isIncrementalUpdateOnly()) {
+            // Nothing has been written yet, so it's enough to release the temporary output
+            document.getWriter().close();
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+            throw new IllegalArgumentException(SignExceptionMessageConstant.INCREMENTAL_UPDATE_ONLY_IS_NOT_SUPPORTED);
+        }
 
         originalOS = outputStream;
         signDate = DateTimeUtil.getCurrentTimeCalendar();
@@ -433,6 +445,9 @@ public class PdfSigner {
         if (null == document.getReader()) {
             throw new IllegalArgumentException(SignExceptionMessageConstant.DOCUMENT_MUST_HAVE_READER);
         }
+        if (document.isIncrementalUpdateOnly()) {
+            throw new IllegalArgumentException(SignExceptionMessageConstant.INCREMENTAL_UPDATE_ONLY_IS_NOT_SUPPORTED);
+        }
         this.document = document;
     }
 
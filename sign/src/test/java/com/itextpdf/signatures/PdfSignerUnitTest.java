@@ -266,6 +266,14 @@ public class PdfSignerUnitTest extends ExtendedITextTest {
         Assert.assertNull(signer.temporaryOS);
     }
 
+    @Test
+    public void incrementalUpdateOnlyIsNotSupportedTest() throws IOException {
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(createSimpleDocument()));
+        Exception e = Assert.assertThrows(IllegalArgumentException.class, () -> new PdfSigner(reader,
+                new ByteArrayOutputStream(), new StampingProperties().useIncrementalUpdateOnly()));
+        Assert.assertEquals(SignExceptionMessageConstant.INCREMENTAL_UPDATE_ONLY_IS_NOT_SUPPORTED, e.getMessage());
+    }
+
     // Android-Conversion-Skip-Block-Start (TODO DEVSIX-7372 investigate why a few tests related to PdfA in PdfSignerUnitTest were cut)
     @Test
     public void initPdfaDocumentTest() throws IOException {